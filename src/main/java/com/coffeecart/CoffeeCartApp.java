@@ -1,16 +1,39 @@
 package com.coffeecart;
 
+import java.io.File;
 import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
 import java.util.Scanner;
 
+import org.apache.commons.io.FileUtils;
+
+import com.coffeecart.managers.DriverManager;
+
 //Provides a user-friendly menu system to execute different test suites and generate reports.
+//Started with the test classes on the classpath (mvn test-compile exec:java -P app), suites run inside this JVM and
+//browsers are kept between runs. Otherwise each option runs Maven as a separate process.
 
 public class CoffeeCartApp {
 
+    //The in-process runner lives with the tests under src/test, so it is looked up by name
+    private static final String RUNNER_CLASS = "com.coffeecart.runner.InProcessRunner";
+    private static final String ALL_BROWSERS_SUITE = "testng-optimized.xml";
+    private static final String CHROME_SUITE = "testng-chrome-only.xml";
+    private static final String FIREFOX_SUITE = "testng-firefox-only.xml";
+    private static final String ALLURE_RESULTS = "target/allure-results";
+
+    private static Method runSuite;
+    private static Method shutdown;
+
     //Users can choose to run specific test suites, select browsers, or generate reports.
     public static void main(String[] args) {
         Scanner scanner = new Scanner(System.in);
         boolean running = true;
+        if (loadRunner()) {
+            DriverManager.setPooling(true);
+            Runtime.getRuntime().addShutdownHook(new Thread(CoffeeCartApp::shutdownRunner));
+        }
 
         while (running) {
 
@@ -65,50 +88,100 @@ public class CoffeeCartApp {
         }
 
         scanner.close();
+        shutdownRunner();
     }
 
 
     private static void runAllTestsInBothBrowsers() {
         System.out.println("\nRunning all tests in Chrome and Firefox browsers");
-        executeCommand("mvn clean test");
+        runSuite(ALL_BROWSERS_SUITE, "mvn clean test");
     }
 
     private static void runTestInChrome() {
         System.out.println("\nRunning tests in Chrome browser only");
-        executeCommand("mvn test -P chrome-only");
+        runSuite(CHROME_SUITE, "mvn test -P chrome-only");
     }
 
     private static void runTestInFirefox() {
         System.out.println("\nRunning tests in Firefox browser only");
-        executeCommand("mvn test -P firefox-only");
+        runSuite(FIREFOX_SUITE, "mvn test -P firefox-only");
     }
 
 
+    //The single class options run in Chrome, like mvn test -Dtest=<class> with the default browser
+
     private static void runMenuTestsOnly() {
         System.out.println("\nRunning menu tests");
-        executeCommand("mvn test -Dtest=MenuTests");
+        runSuite(CHROME_SUITE, "mvn test -Dtest=MenuTests", "MenuTests");
     }
 
     private static void runCartTestsOnly() {
         System.out.println("\nRunning cart tests");
-        executeCommand("mvn test -Dtest=CartTests");
+        runSuite(CHROME_SUITE, "mvn test -Dtest=CartTests", "CartTests");
     }
 
     private static void runCheckoutTestsOnly() {
         System.out.println("\nRunning checkout tests");
-        executeCommand("mvn test -Dtest=CheckoutTests");
+        runSuite(CHROME_SUITE, "mvn test -Dtest=CheckoutTests", "CheckoutTests");
     }
 
 
     private static void runEndToEndTests() {
         System.out.println("\nRunning end to end tests");
-        executeCommand("mvn test -Dtest=EndToEndTests");
+        runSuite(CHROME_SUITE, "mvn test -Dtest=EndToEndTests", "EndToEndTests");
     }
 
 
+    //Results of earlier runs are removed first, as mvn clean did, and the report is served by the Allure Maven plugin
     private static void runTestsWithAllure() {
         System.out.println("\nRunning all tests and generating Allure report");
-        executeCommand("mvn clean test allure:serve");
+        if (runSuite == null) {
+            executeCommand("mvn clean test allure:serve");
+            return;
+        }
+        FileUtils.deleteQuietly(new File(ALLURE_RESULTS));
+        runSuite(ALL_BROWSERS_SUITE, null);
+        executeCommand("mvn allure:serve");
+    }
+
+
+    //Finds the in-process runner; it is missing when the app is started without the test classes
+    private static boolean loadRunner() {
+        try {
+            Class<?> runner = Class.forName(RUNNER_CLASS);
+            runSuite = runner.getMethod("run", String.class, String[].class);
+            shutdown = runner.getMethod("shutdown");
+            return true;
+        } catch (ClassNotFoundException | NoSuchMethodException e) {
+            System.out.println("Test classes not on the classpath, each option runs Maven instead");
+            return false;
+        }
+    }
+
+    //Runs the suite in this JVM, or the Maven command when the in-process runner is not available
+    private static void runSuite(String suiteFile, String mavenCommand, String... testClasses) {
+        if (runSuite == null) {
+            executeCommand(mavenCommand);
+            return;
+        }
+        try {
+            runSuite.invoke(null, suiteFile, testClasses);
+        } catch (IllegalAccessException | InvocationTargetException e) {
+            Throwable cause = e instanceof InvocationTargetException ? e.getCause() : e;
+            System.out.println("Error running " + suiteFile + ": " + cause.getMessage());
+        }
+    }
+
+    //Quits the browsers kept between runs
+    private static void shutdownRunner() {
+        if (shutdown == null) {
+            return;
+        }
+        try {
+            shutdown.invoke(null);
+        } catch (IllegalAccessException | InvocationTargetException e) {
+            System.out.println("Error closing browsers: " + e.getMessage());
+        }
     }
 
 
@@ -0,0 +1,32 @@
+package com.coffeecart.coverage;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.events.WebDriverListener;
+
+/**
+ * Records every locator the current test looks up, including the lazy @FindBy lookups PageFactory makes.
+ */
+public class CoverageListener implements WebDriverListener {
+
+    @Override
+    public void beforeFindElement(WebDriver driver, By locator) {
+        TestCoverage.recordLocator(locator.toString());
+    }
+
+    @Override
+    public void beforeFindElements(WebDriver driver, By locator) {
+        TestCoverage.recordLocator(locator.toString());
+    }
+
+    @Override
+    public void beforeFindElement(WebElement element, By locator) {
+        TestCoverage.recordLocator(locator.toString());
+    }
+
+    @Override
+    public void beforeFindElements(WebElement element, By locator) {
+        TestCoverage.recordLocator(locator.toString());
+    }
+}
@@ -0,0 +1,447 @@
+package com.coffeecart.coverage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Selects the tests a change can affect, from the git diff against a base ref and the recorded page coverage.
+ * Changed lines in a page object map to the method around them (a constructor, or other lines outside any method,
+ * count as the whole page), and the string literals on changed lines are matched against the recorded locators, so editing a
+ * @FindBy or By value selects exactly the tests that looked it up. Edited test classes select their changed @Test
+ * methods, or the whole class for any other change. Any other source, resource or build change cannot be attributed
+ * and selects everything, as does a missing coverage map.
+ */
+public class ImpactAnalysis {
+
+    private static final String PAGE_SOURCES = "src/main/java/com/coffeecart/pages/";
+    private static final String TEST_SOURCES = "src/test/java/com/coffeecart/tests/";
+    private static final String BENCHMARK_SOURCES = "src/test/java/com/coffeecart/benchmarks/";
+    private static final String BASE_TEST = "BaseTest";
+    private static final String CLASS_SETUP = "setupClass";
+
+    private static final Pattern HUNK = Pattern.compile("^@@ -(\\d+)(?:,(\\d+))? \\+(\\d+)(?:,(\\d+))? @@");
+    private static final Pattern STRING_LITERAL = Pattern.compile("\"((?:[^\"\\\\]|\\\\.)*)\"");
+    private static final Pattern THROWS_CLAUSE = Pattern.compile("\\)\\s*throws\\s+[\\w.,\\s]+$");
+    private static final Pattern IDENTIFIER_END = Pattern.compile("(\\w+)\\s*$");
+
+    // Diffs the working tree against the merge base of baseRef and HEAD and selects the affected tests
+    public static Selection select(String baseRef) {
+        try {
+            String mergeBase = git("merge-base", baseRef, "HEAD").trim();
+            return select(parseDiff(git("diff", "-U0", "--no-color", "--no-renames", mergeBase)), TestCoverage.load());
+        } catch (IOException | RuntimeException e) {
+            return Selection.all("git diff against " + baseRef + " failed: " + e.getMessage());
+        }
+    }
+
+    static Selection select(Map<String, List<Hunk>> diff, Map<String, Map<String, Set<String>>> coverage) {
+        if (coverage.isEmpty()) {
+            return Selection.all("no page coverage recorded yet");
+        }
+        Set<String> changedMethods = new TreeSet<>();
+        Set<String> changedLiterals = new TreeSet<>();
+        Selection selection = new Selection(coverage.keySet());
+
+        for (Map.Entry<String, List<Hunk>> file : diff.entrySet()) {
+            String path = file.getKey();
+            String className = Paths.get(path).getFileName().toString().replaceFirst("\\.java$", "");
+            if (path.startsWith(PAGE_SOURCES) && path.endsWith(".java")) {
+                List<Member> members = members(Paths.get(path));
+                for (Hunk hunk : file.getValue()) {
+                    if (hunk.isCommentOnly()) {
+                        continue;
+                    }
+                    changedLiterals.addAll(hunk.literals());
+                    for (String method : hunk.enclosingMethods(members)) {
+                        if (method == null && hunk.isLocatorOnly()) {
+                            // Edited @FindBy or By fields are matched through their literals, not as the whole page
+                            continue;
+                        }
+                        changedMethods.add(className + "." + (method == null || method.equals(className) ? "<init>" : method));
+                    }
+                }
+            } else if (path.startsWith(TEST_SOURCES) && path.endsWith(".java")) {
+                if (BASE_TEST.equals(className)) {
+                    return Selection.all(path + " changed");
+                }
+                List<Member> members = members(Paths.get(path));
+                for (Hunk hunk : file.getValue()) {
+                    if (hunk.isCommentOnly()) {
+                        continue;
+                    }
+                    for (String method : hunk.enclosingTests(members)) {
+                        if (method == null) {
+                            selection.wholeClasses.add(className);
+                        } else {
+                            selection.tests.add(className + "." + method);
+                        }
+                    }
+                }
+            } else if (affectsEverything(path)) {
+                return Selection.all(path + " changed");
+            }
+        }
+
+        coverage.forEach((test, entry) -> {
+            boolean touched = entry.getOrDefault(TestCoverage.METHODS, Set.of()).stream().anyMatch(changedMethods::contains)
+                    || entry.getOrDefault(TestCoverage.LOCATORS, Set.of()).stream().anyMatch(locator -> changedLiterals.contains(locatorValue(locator)));
+            if (touched) {
+                String testClass = test.substring(0, test.lastIndexOf('.'));
+                if (test.endsWith("." + CLASS_SETUP)) {
+                    selection.wholeClasses.add(testClass);
+                } else {
+                    selection.tests.add(test);
+                }
+            }
+        });
+        selection.reason = "changed page members " + changedMethods;
+        return selection;
+    }
+
+    // Sources and resources the coverage cannot attribute; docs and benchmarks do not affect the suite
+    private static boolean affectsEverything(String path) {
+        if (path.startsWith(BENCHMARK_SOURCES)) {
+            return false;
+        }
+        return path.startsWith("src/") || path.startsWith("resources/") || path.equals("pom.xml")
+                || path.matches("testng[^/]*\\.xml");
+    }
+
+    // "By.cssSelector: div.promo" -> "div.promo"
+    private static String locatorValue(String locator) {
+        int separator = locator.indexOf(": ");
+        return separator >= 0 ? locator.substring(separator + 2) : locator;
+    }
+
+    static Map<String, List<Hunk>> parseDiff(String diff) {
+        Map<String, List<Hunk>> files = new LinkedHashMap<>();
+        String oldPath = null;
+        List<Hunk> hunks = null;
+        Hunk hunk = null;
+        for (String line : diff.split("\n")) {
+            // File headers sit between "diff --git" and the first hunk; inside a hunk "---" is a removed line
+            if (line.startsWith("diff --git ")) {
+                hunks = null;
+                hunk = null;
+            } else if (hunk == null && line.startsWith("--- ")) {
+                oldPath = stripPrefix(line.substring(4));
+            } else if (hunk == null && line.startsWith("+++ ")) {
+                String newPath = stripPrefix(line.substring(4));
+                hunks = files.computeIfAbsent(newPath != null ? newPath : oldPath, key -> new ArrayList<>());
+                hunk = null;
+            } else if (line.startsWith("@@") && hunks != null) {
+                Matcher matcher = HUNK.matcher(line);
+                if (matcher.find()) {
+                    hunk = new Hunk(Integer.parseInt(matcher.group(3)), matcher.group(4) == null ? 1 : Integer.parseInt(matcher.group(4)));
+                    hunks.add(hunk);
+                }
+            } else if (hunk != null && (line.startsWith("+") || line.startsWith("-"))) {
+                hunk.lines.add(line.substring(1));
+            }
+        }
+        return files;
+    }
+
+    private static String stripPrefix(String path) {
+        if (path.equals("/dev/null")) {
+            return null;
+        }
+        return path.startsWith("a/") || path.startsWith("b/") ? path.substring(2) : path;
+    }
+
+    // Methods and constructors declared directly in the class body, with their line ranges (annotations included)
+    static List<Member> members(Path source) {
+        if (!Files.isRegularFile(source)) {
+            return List.of();
+        }
+        String text;
+        try {
+            text = new String(Files.readAllBytes(source), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to read " + source, e);
+        }
+        List<Member> members = new ArrayList<>();
+        StringBuilder header = new StringBuilder();
+        int depth = 0;
+        int parens = 0;
+        int line = 1;
+        int headerLine = 0;
+        Member current = null;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            char next = i + 1 < text.length() ? text.charAt(i + 1) : 0;
+            if (c == '/' && next == '/') {
+                while (i + 1 < text.length() && text.charAt(i + 1) != '\n') {
+                    i++;
+                }
+                continue;
+            }
+            if (c == '/' && next == '*') {
+                int end = text.indexOf("*/", i + 2);
+                end = end < 0 ? text.length() : end + 2;
+                line += countNewlines(text, i, end);
+                i = end - 1;
+                continue;
+            }
+            if (c == '"' || c == '\'') {
+                int end = i + 1;
+                while (end < text.length() && text.charAt(end) != c) {
+                    end += text.charAt(end) == '\\' ? 2 : 1;
+                }
+                if (depth == 1) {
+                    if (header.length() == 0) {
+                        headerLine = line;
+                    }
+                    header.append(text, i, Math.min(end + 1, text.length()));
+                }
+                i = end;
+                continue;
+            }
+            if (c == '\n') {
+                line++;
+            }
+            if (depth == 1 && parens > 0 && (c == '{' || c == '}')) {
+                // Braces inside annotation values, e.g. groups = {"smoke"}
+                header.append(c);
+                continue;
+            }
+            if (depth == 1 && (c == '(' || c == ')')) {
+                parens += c == '(' ? 1 : -1;
+            }
+            if (c == '{') {
+                if (depth == 1) {
+                    String name = methodName(header.toString().trim());
+                    if (name != null) {
+                        current = new Member(name, headerLine, header.indexOf("@Test") >= 0);
+                    }
+                }
+                depth++;
+            } else if (c == '}') {
+                depth--;
+                if (depth == 1) {
+                    if (current != null) {
+                        current.endLine = line;
+                        members.add(current);
+                        current = null;
+                    }
+                    header.setLength(0);
+                    parens = 0;
+                }
+            } else if (c == ';' && depth == 1) {
+                header.setLength(0);
+                parens = 0;
+            } else if (depth == 1 && !Character.isWhitespace(c)) {
+                if (header.length() == 0) {
+                    headerLine = line;
+                }
+                header.append(c);
+            } else if (depth == 1 && header.length() > 0) {
+                header.append(' ');
+            }
+        }
+        return members;
+    }
+
+    // Name of the method or constructor a member header declares, or null for a nested type or initializer:
+    // the identifier before the last parenthesised group, which the header has to end with
+    private static String methodName(String header) {
+        String declaration = THROWS_CLAUSE.matcher(header).replaceFirst(")");
+        if (!declaration.endsWith(")")) {
+            return null;
+        }
+        int depth = 0;
+        for (int i = declaration.length() - 1; i >= 0; i--) {
+            char c = declaration.charAt(i);
+            depth += c == ')' ? 1 : c == '(' ? -1 : 0;
+            if (depth == 0) {
+                Matcher matcher = IDENTIFIER_END.matcher(declaration.substring(0, i));
+                return matcher.find() ? matcher.group(1) : null;
+            }
+        }
+        return null;
+    }
+
+    private static int countNewlines(String text, int from, int to) {
+        int count = 0;
+        for (int i = from; i < to; i++) {
+            if (text.charAt(i) == '\n') {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static String git(String... args) throws IOException {
+        List<String> command = new ArrayList<>();
+        command.add("git");
+        command.addAll(List.of(args));
+        Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+        try (InputStream output = process.getInputStream()) {
+            String text = new String(output.readAllBytes(), StandardCharsets.UTF_8);
+            if (!process.waitFor(60, TimeUnit.SECONDS) || process.exitValue() != 0) {
+                throw new IOException(String.join(" ", command) + ": " + text.trim());
+            }
+            return text;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while running git", e);
+        }
+    }
+
+    /**
+     * One hunk of a -U0 diff: where it sits in the new file and its added and removed lines.
+     */
+    static final class Hunk {
+        final int newStart;
+        final int newLength;
+        final List<String> lines = new ArrayList<>();
+
+        Hunk(int newStart, int newLength) {
+            this.newStart = newStart;
+            this.newLength = newLength;
+        }
+
+        // New-file lines the hunk covers; a pure deletion covers the line it was removed after
+        private int firstLine() {
+            return Math.max(1, newStart);
+        }
+
+        private int lastLine() {
+            return Math.max(firstLine(), newStart + newLength - 1);
+        }
+
+        // Blank and comment lines only; such hunks change nothing a test can observe
+        boolean isCommentOnly() {
+            for (String line : lines) {
+                String code = line.trim();
+                if (!code.isEmpty() && !code.startsWith("//") && !code.startsWith("/*") && !code.startsWith("*")) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        // Every code line declares or annotates a locator: it holds a string literal or is a @FindBy-style annotation
+        boolean isLocatorOnly() {
+            for (String line : lines) {
+                String code = line.trim();
+                if (!code.isEmpty() && !code.startsWith("//") && !code.startsWith("@Find")
+                        && !STRING_LITERAL.matcher(code).find()) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        Set<String> literals() {
+            Set<String> literals = new LinkedHashSet<>();
+            for (String line : lines) {
+                Matcher matcher = STRING_LITERAL.matcher(line);
+                while (matcher.find()) {
+                    literals.add(matcher.group(1).replace("\\\"", "\"").replace("\\\\", "\\"));
+                }
+            }
+            return literals;
+        }
+
+        // Names of the methods the hunk touches; null stands for lines outside any method
+        Set<String> enclosingMethods(List<Member> members) {
+            Set<String> methods = new LinkedHashSet<>();
+            for (int line = firstLine(); line <= lastLine(); line++) {
+                methods.add(memberAt(members, line) == null ? null : memberAt(members, line).name);
+            }
+            return methods;
+        }
+
+        // Like enclosingMethods, but anything that is not a @Test method counts as null (the whole class)
+        Set<String> enclosingTests(List<Member> members) {
+            Set<String> tests = new LinkedHashSet<>();
+            for (int line = firstLine(); line <= lastLine(); line++) {
+                Member member = memberAt(members, line);
+                tests.add(member != null && member.test ? member.name : null);
+            }
+            return tests;
+        }
+
+        private static Member memberAt(List<Member> members, int line) {
+            for (Member member : members) {
+                if (line >= member.startLine && line <= member.endLine) {
+                    return member;
+                }
+            }
+            return null;
+        }
+    }
+
+    static final class Member {
+        final String name;
+        final int startLine;
+        final boolean test;
+        int endLine;
+
+        Member(String name, int startLine, boolean test) {
+            this.name = name;
+            this.startLine = startLine;
+            this.test = test;
+        }
+    }
+
+    /**
+     * The selected tests (Class.method) and classes to run whole, or everything.
+     */
+    public static final class Selection {
+        private final boolean all;
+        private final Set<String> recorded;
+        private final Set<String> tests = new TreeSet<>();
+        private final Set<String> wholeClasses = new TreeSet<>();
+        private String reason;
+
+        private Selection(Set<String> recorded) {
+            this.all = false;
+            this.recorded = recorded;
+        }
+
+        private Selection(String reason) {
+            this.all = true;
+            this.recorded = Set.of();
+            this.reason = reason;
+        }
+
+        static Selection all(String reason) {
+            return new Selection(reason);
+        }
+
+        public boolean isAll() {
+            return all;
+        }
+
+        public String getReason() {
+            return reason;
+        }
+
+        // Tests never recorded (e.g. new ones) are always selected, since their coverage is unknown
+        public boolean selects(String className, String methodName) {
+            String test = className + "." + methodName;
+            return all || wholeClasses.contains(className) || tests.contains(test) || !recorded.contains(test);
+        }
+
+        @Override
+        public String toString() {
+            return all ? "all tests (" + reason + ")" : "tests " + tests + ", classes " + wholeClasses;
+        }
+    }
+}
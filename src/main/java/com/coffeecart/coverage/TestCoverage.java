@@ -0,0 +1,133 @@
+package com.coffeecart.coverage;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.openqa.selenium.json.Json;
+
+import com.coffeecart.managers.ConfigManager;
+import com.coffeecart.metrics.RunContext;
+import com.coffeecart.utils.LoggerUtil;
+
+/**
+ * Which page methods and locators each test exercised, kept in coverage.path/page-coverage.json between runs for
+ * test impact analysis. Page methods (MenuPage.addItemToCart, BasePage.clickElement) are recorded by the
+ * instrumented page subclasses and locators (By.cssSelector: div.promo) by CoverageListener on the driver.
+ * Tests are keyed Class.method; Class.setupClass holds what the class setup used. A test that ran replaces its
+ * stored entry, the others keep theirs.
+ */
+public class TestCoverage {
+
+    public static final String METHODS = "methods";
+    public static final String LOCATORS = "locators";
+
+    private static final String FILE_NAME = "page-coverage.json";
+
+    private static final Map<String, Set<String>> currentMethods = new ConcurrentHashMap<>();
+    private static final Map<String, Set<String>> currentLocators = new ConcurrentHashMap<>();
+
+    public static boolean isEnabled() {
+        return ConfigManager.snapshot().isCoverageEnabled();
+    }
+
+    public static void recordMethod(String method) {
+        record(currentMethods, method);
+    }
+
+    public static void recordLocator(String locator) {
+        record(currentLocators, locator);
+    }
+
+    // Credits the current test with everything the given test recorded; used when a test starts from application
+    // state that test built, so a change to the steps that built it still selects both
+    public static void inherit(String fromTest) {
+        String test = RunContext.getCurrentTest();
+        if ("unknown".equals(test) || test.equals(fromTest)) {
+            return;
+        }
+        copy(currentMethods, fromTest, test);
+        copy(currentLocators, fromTest, test);
+    }
+
+    private static void copy(Map<String, Set<String>> coverage, String fromTest, String toTest) {
+        Set<String> values = coverage.get(fromTest);
+        if (values != null) {
+            coverage.computeIfAbsent(toTest, key -> ConcurrentHashMap.newKeySet()).addAll(values);
+        }
+    }
+
+    private static void record(Map<String, Set<String>> coverage, String value) {
+        String test = RunContext.getCurrentTest();
+        if (!"unknown".equals(test)) {
+            coverage.computeIfAbsent(test, key -> ConcurrentHashMap.newKeySet()).add(value);
+        }
+    }
+
+    // Replaces the stored entries of the tests that ran in this run and writes the file back
+    public static synchronized void save() {
+        if (currentMethods.isEmpty() && currentLocators.isEmpty()) {
+            return;
+        }
+        Map<String, Map<String, Set<String>>> coverage = load();
+        Set<String> tests = new TreeSet<>(currentMethods.keySet());
+        tests.addAll(currentLocators.keySet());
+        for (String test : tests) {
+            Map<String, Set<String>> entry = new TreeMap<>();
+            entry.put(METHODS, new TreeSet<>(currentMethods.getOrDefault(test, Set.of())));
+            entry.put(LOCATORS, new TreeSet<>(currentLocators.getOrDefault(test, Set.of())));
+            coverage.put(test, entry);
+        }
+        Path file = file();
+        try {
+            Files.createDirectories(file.getParent());
+            Files.write(file, new Json().toJson(coverage).getBytes(StandardCharsets.UTF_8));
+            currentMethods.clear();
+            currentLocators.clear();
+            LoggerUtil.info("Stored page coverage of {} tests in {}", tests.size(), file.toAbsolutePath());
+        } catch (IOException e) {
+            LoggerUtil.error("Failed to store page coverage: " + e.getMessage());
+        }
+    }
+
+    // Stored coverage per test: METHODS and LOCATORS to their values; empty when nothing was recorded yet
+    @SuppressWarnings("unchecked")
+    public static Map<String, Map<String, Set<String>>> load() {
+        Map<String, Map<String, Set<String>>> coverage = new TreeMap<>();
+        Path file = file();
+        if (!Files.isRegularFile(file)) {
+            return coverage;
+        }
+        try {
+            Map<String, Object> stored = new Json().toType(new String(Files.readAllBytes(file), StandardCharsets.UTF_8), Map.class);
+            stored.forEach((test, value) -> {
+                if (value instanceof Map) {
+                    Map<String, Set<String>> entry = new TreeMap<>();
+                    ((Map<String, Object>) value).forEach((kind, values) -> {
+                        if (values instanceof Collection) {
+                            Set<String> strings = new TreeSet<>();
+                            ((Collection<?>) values).forEach(item -> strings.add(String.valueOf(item)));
+                            entry.put(kind, strings);
+                        }
+                    });
+                    coverage.put(test, entry);
+                }
+            });
+        } catch (IOException | RuntimeException e) {
+            LoggerUtil.warn("Ignoring unreadable page coverage in {}: {}", file, e.getMessage());
+        }
+        return coverage;
+    }
+
+    private static Path file() {
+        return Paths.get(ConfigManager.snapshot().getCoveragePath()).resolve(FILE_NAME);
+    }
+}
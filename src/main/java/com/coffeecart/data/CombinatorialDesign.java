@@ -0,0 +1,197 @@
+package com.coffeecart.data;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Locale;
+
+import com.coffeecart.utils.LoggerUtil;
+
+/**
+ * Builds DataProvider rows from parameter domains as a covering array: instead of the full cross product, only
+ * enough rows that every combination of values of any `strength` parameters appears in at least one of them
+ * (strength 2 is pairwise). Interaction bugs mostly involve one or two parameters, so a pairwise set catches
+ * nearly what the cross product does with a fraction of the browser runs.
+ *
+ * Rows are chosen greedily: each new row starts from a combination not yet covered and every other parameter
+ * takes the value covering the most uncovered combinations, first value on ties, so the output is the same on
+ * every run. A domain value can be a whole data row (a customer's name and email), which is spread over
+ * consecutive test arguments.
+ */
+public final class CombinatorialDesign {
+
+    private final String name;
+    private final List<String> parameters = new ArrayList<>();
+    private final List<Object[][]> domains = new ArrayList<>();
+
+    public CombinatorialDesign(String name) {
+        this.name = name;
+    }
+
+    // Adds a parameter whose values are whole rows, e.g. one {name, email} per row of the UserData sheet
+    public CombinatorialDesign rows(String parameter, Object[][] rows) {
+        if (rows.length == 0) {
+            throw new IllegalArgumentException("Parameter " + parameter + " of " + name + " has no values");
+        }
+        parameters.add(parameter);
+        domains.add(rows);
+        return this;
+    }
+
+    // Adds a parameter whose values are single test arguments
+    public CombinatorialDesign values(String parameter, Object... values) {
+        Object[][] rows = new Object[values.length][];
+        for (int i = 0; i < values.length; i++) {
+            rows[i] = new Object[] { values[i] };
+        }
+        return rows(parameter, rows);
+    }
+
+    // Size of the full cross product of all domains
+    public long fullSize() {
+        long size = 1;
+        for (Object[][] domain : domains) {
+            size *= domain.length;
+        }
+        return size;
+    }
+
+    // A strength of at least the parameter count gives the full cross product
+    public Object[][] generate(int strength) {
+        int t = Math.min(strength, parameters.size());
+        List<int[]> design = cover(t);
+        Object[][] rows = new Object[design.size()][];
+        for (int i = 0; i < rows.length; i++) {
+            rows[i] = toArguments(design.get(i));
+        }
+        long full = fullSize();
+        LoggerUtil.info("{}: {} rows cover every {}-way combination of {}, against {} in the full cross product ({}x fewer)",
+                name, rows.length, t, parameters, full, String.format(Locale.ROOT, "%.1f", (double) full / rows.length));
+        return rows;
+    }
+
+    // Each row holds one value index per parameter
+    private List<int[]> cover(int t) {
+        int count = parameters.size();
+        int[] sizes = new int[count];
+        for (int p = 0; p < count; p++) {
+            sizes[p] = domains.get(p).length;
+        }
+        List<int[]> combinations = new ArrayList<>();
+        combinations(count, t, 0, new int[t], 0, combinations);
+
+        // One bit per value combination of each parameter combination, set while it is not covered yet
+        BitSet[] uncovered = new BitSet[combinations.size()];
+        long remaining = 0;
+        for (int c = 0; c < uncovered.length; c++) {
+            int tuples = 1;
+            for (int p : combinations.get(c)) {
+                tuples *= sizes[p];
+            }
+            uncovered[c] = new BitSet(tuples);
+            uncovered[c].set(0, tuples);
+            remaining += tuples;
+        }
+
+        List<int[]> design = new ArrayList<>();
+        while (remaining > 0) {
+            int[] row = new int[count];
+            Arrays.fill(row, -1);
+            seed(combinations, uncovered, sizes, row);
+            for (int p = 0; p < count; p++) {
+                if (row[p] >= 0) {
+                    continue;
+                }
+                int best = 0;
+                int bestGain = -1;
+                for (int value = 0; value < sizes[p]; value++) {
+                    row[p] = value;
+                    int gain = 0;
+                    for (int c = 0; c < uncovered.length; c++) {
+                        if (contains(combinations.get(c), p) && isAssigned(combinations.get(c), row)
+                                && uncovered[c].get(index(combinations.get(c), row, sizes))) {
+                            gain++;
+                        }
+                    }
+                    if (gain > bestGain) {
+                        best = value;
+                        bestGain = gain;
+                    }
+                }
+                row[p] = best;
+            }
+            for (int c = 0; c < uncovered.length; c++) {
+                int index = index(combinations.get(c), row, sizes);
+                if (uncovered[c].get(index)) {
+                    uncovered[c].clear(index);
+                    remaining--;
+                }
+            }
+            design.add(row);
+        }
+        return design;
+    }
+
+    // Starts the row from the first combination still uncovered, which guarantees every row covers something new
+    private static void seed(List<int[]> combinations, BitSet[] uncovered, int[] sizes, int[] row) {
+        for (int c = 0; c < uncovered.length; c++) {
+            int index = uncovered[c].nextSetBit(0);
+            if (index >= 0) {
+                int[] combination = combinations.get(c);
+                for (int i = combination.length - 1; i >= 0; i--) {
+                    row[combination[i]] = index % sizes[combination[i]];
+                    index /= sizes[combination[i]];
+                }
+                return;
+            }
+        }
+    }
+
+    // All ascending t-element subsets of the parameter indices
+    private static void combinations(int count, int t, int start, int[] current, int depth, List<int[]> result) {
+        if (depth == t) {
+            result.add(current.clone());
+            return;
+        }
+        for (int p = start; p < count; p++) {
+            current[depth] = p;
+            combinations(count, t, p + 1, current, depth + 1, result);
+        }
+    }
+
+    // Mixed-radix position of the row's values for the given parameters
+    private static int index(int[] combination, int[] row, int[] sizes) {
+        int index = 0;
+        for (int p : combination) {
+            index = index * sizes[p] + row[p];
+        }
+        return index;
+    }
+
+    private static boolean contains(int[] combination, int parameter) {
+        for (int p : combination) {
+            if (p == parameter) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isAssigned(int[] combination, int[] row) {
+        for (int p : combination) {
+            if (row[p] < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private Object[] toArguments(int[] row) {
+        List<Object> arguments = new ArrayList<>();
+        for (int p = 0; p < row.length; p++) {
+            arguments.addAll(Arrays.asList(domains.get(p)[row[p]]));
+        }
+        return arguments.toArray();
+    }
+}
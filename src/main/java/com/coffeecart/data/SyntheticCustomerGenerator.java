@@ -0,0 +1,195 @@
+package com.coffeecart.data;
+
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Generates unique, reproducible customer names and email addresses for high-volume checkout runs.
+ * Every row is derived from (seed, sequence number), so the same seed always produces the same customer for a
+ * given number. Sequence numbers are handed out in blocks from a counter owned by the generator, so a generator
+ * built from the same seed and partition always starts at the same customer, whatever ran before it in the JVM,
+ * and iterators sharing one generator stay unique without contending on every row. A non-zero partition is part of
+ * every name and email, so shards running side by side never produce the same customer.
+ *
+ * Valid emails follow CheckoutPage's rules: local part of [A-Za-z0-9+_.-], one '@', a domain and a
+ * .com/.org/.net suffix, with the '@' before the last dot. Invalid variants each break one of those rules.
+ */
+public class SyntheticCustomerGenerator {
+
+    private static final String[] FIRST_NAMES = {
+            "Jeevan", "Amit", "Prathap", "Vin", "Priya", "Arjun", "Meera", "Rahul",
+            "Anita", "Karthik", "Divya", "Suresh", "Lakshmi", "Ravi", "Neha", "Vikram",
+            "Sneha", "Arun", "Kavya", "Manoj", "Pooja", "Sanjay", "Deepa", "Naveen",
+            "Asha", "Gopal", "Isha", "Harish", "Nisha", "Rohan", "Swathi", "Tarun"
+    };
+
+    private static final String[] LAST_NAMES = {
+            "Babu", "Kumar", "Diesel", "Sharma", "Reddy", "Iyer", "Nair", "Menon",
+            "Rao", "Patel", "Singh", "Gupta", "Das", "Pillai", "Joshi", "Verma",
+            "Shetty", "Bose", "Mehta", "Kapoor", "Chopra", "Malhotra", "Saxena", "Bhat",
+            "Naidu", "Varma", "Chandra", "Krishnan", "Subramanian", "Ganesh", "Mishra", "Pandey"
+    };
+
+    private static final String[] DOMAINS = { "example", "coffeecart", "test", "mail.example" };
+    private static final String[] VALID_TLDS = { "com", "org", "net" };
+
+    private static final String[] LOWER_FIRST_NAMES = toLowerCase(FIRST_NAMES);
+    private static final String[] LOWER_LAST_NAMES = toLowerCase(LAST_NAMES);
+
+    // Number of sequence numbers an iterator claims at once from the generator's counter
+    private static final int BLOCK_SIZE = 1024;
+
+    private final long seed;
+    private final int partition;
+    private final AtomicLong nextBlock = new AtomicLong();
+
+    // Creates a generator; the partition keeps separate JVMs or shards unique when they share a seed
+    public SyntheticCustomerGenerator(long seed, int partition) {
+        this.seed = seed;
+        this.partition = partition;
+    }
+
+    // Streams valid customers as {name, email} rows, matching the checkout data provider signature
+    public Iterator<Object[]> customers(long count) {
+        return new CustomerIterator(count, 0);
+    }
+
+    /**
+     * Streams {name, email, expectedValid} rows where roughly invalidPercent of the emails are
+     * deliberately malformed, for exercising email validation at volume.
+     */
+    public Iterator<Object[]> emailVariants(long count, int invalidPercent) {
+        return new CustomerIterator(count, invalidPercent);
+    }
+
+    // Builds the customer name for a sequence number; the letter suffix (partition, then sequence) keeps every name unique
+    public String nameFor(long sequence) {
+        long hash = mix(sequence);
+        StringBuilder builder = new StringBuilder(32)
+                .append(FIRST_NAMES[(int) (hash & 31)])
+                .append(' ')
+                .append(LAST_NAMES[(int) ((hash >>> 5) & 31)])
+                .append(' ');
+        if (partition != 0) {
+            appendLetters(builder, partition);
+            builder.append(' ');
+        }
+        appendLetters(builder, sequence);
+        return builder.toString();
+    }
+
+    // Builds a valid email for a sequence number; the base-36 sequence in the local part guarantees uniqueness
+    public String validEmailFor(long sequence) {
+        long hash = mix(sequence);
+        StringBuilder builder = new StringBuilder(48);
+        appendLocalPart(builder, hash, sequence);
+        return builder.append('@')
+                .append(DOMAINS[(int) ((hash >>> 10) & 3)])
+                .append('.')
+                .append(VALID_TLDS[(int) ((hash >>> 12) % VALID_TLDS.length)])
+                .toString();
+    }
+
+    // Builds an email that violates exactly one of the checkout validation rules
+    public String invalidEmailFor(long sequence) {
+        long hash = mix(sequence);
+        StringBuilder builder = new StringBuilder(48);
+        switch ((int) ((hash >>> 20) % 5)) {
+            case 0: // Missing '@'
+                appendLocalPart(builder, hash, sequence);
+                return builder.append('.').append(DOMAINS[0]).append(".com").toString();
+            case 1: // Suffix outside com/org/net
+                appendLocalPart(builder, hash, sequence);
+                return builder.append('@').append(DOMAINS[1]).append(".io").toString();
+            case 2: // No dot after the '@'
+                appendLocalPart(builder, hash, sequence);
+                return builder.append("@localhost").toString();
+            case 3: // Character not allowed in the local part
+                appendLocalPart(builder, hash, sequence);
+                builder.insert(builder.indexOf("."), ' ');
+                return builder.append('@').append(DOMAINS[0]).append(".com").toString();
+            default: // Empty local part
+                return builder.append('@').append(DOMAINS[2]).append('-')
+                        .append(Long.toString(sequence, 36)).append(".com").toString();
+        }
+    }
+
+    private void appendLocalPart(StringBuilder builder, long hash, long sequence) {
+        builder.append(LOWER_FIRST_NAMES[(int) (hash & 31)])
+                .append('.')
+                .append(LOWER_LAST_NAMES[(int) ((hash >>> 5) & 31)])
+                .append('.');
+        if (partition != 0) {
+            builder.append('p').append(partition).append('_');
+        }
+        builder.append(Long.toString(sequence, 36));
+    }
+
+    // Appends the sequence number as capitalised letters (A, B, ..., Z, Ba, Bb, ...) so names stay alphabetic
+    private static void appendLetters(StringBuilder builder, long sequence) {
+        int start = builder.length();
+        long value = sequence;
+        do {
+            builder.insert(start, (char) ('a' + (value % 26)));
+            value /= 26;
+        } while (value > 0);
+        builder.setCharAt(start, Character.toUpperCase(builder.charAt(start)));
+    }
+
+    // SplitMix64 finaliser, so neighbouring sequence numbers get unrelated names and domains
+    private long mix(long sequence) {
+        long z = seed + sequence * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return (z ^ (z >>> 31)) & Long.MAX_VALUE;
+    }
+
+    private static String[] toLowerCase(String[] values) {
+        String[] lower = new String[values.length];
+        for (int i = 0; i < values.length; i++) {
+            lower[i] = values[i].toLowerCase(Locale.ROOT);
+        }
+        return lower;
+    }
+
+    // Hands out rows lazily; sequence numbers are claimed a block at a time from the generator's counter
+    private class CustomerIterator implements Iterator<Object[]> {
+        private final long count;
+        private final int invalidPercent;
+        private long produced = 0;
+        private long sequence = 0;
+        private long blockEnd = 0;
+
+        CustomerIterator(long count, int invalidPercent) {
+            this.count = count;
+            this.invalidPercent = invalidPercent;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return produced < count;
+        }
+
+        @Override
+        public Object[] next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException("Generated all " + count + " customers");
+            }
+            if (sequence == blockEnd) {
+                sequence = nextBlock.getAndIncrement() * BLOCK_SIZE;
+                blockEnd = sequence + BLOCK_SIZE;
+            }
+            long current = sequence++;
+            produced++;
+
+            String name = nameFor(current);
+            if (invalidPercent <= 0) {
+                return new Object[]{ name, validEmailFor(current) };
+            }
+            boolean valid = mix(current) % 100 >= invalidPercent;
+            return new Object[]{ name, valid ? validEmailFor(current) : invalidEmailFor(current), valid };
+        }
+    }
+}
@@ -1,10 +1,12 @@
 package com.coffeecart.data;
 
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 
 import org.testng.annotations.DataProvider;
 
+import com.coffeecart.managers.ConfigManager;
 import com.coffeecart.utils.ExcelReader;
 
 /**
@@ -42,15 +44,58 @@ public class TestDataProvider {
     }
 
     // This method loads coffee data from Excel file for more complex test scenarios
+    // Rows are streamed so the first test starts before the rest of the sheet is read
     @DataProvider(name = "excelCoffeeData")
-    public static Object[][] fetchExcelCoffeeData() {
-        return ExcelReader.getTestdata("CoffeeData");
+    public static Iterator<Object[]> fetchExcelCoffeeData() {
+        return ExcelReader.iterateTestdata("CoffeeData");
     }
 
     // This method retrieves user data from Excel for comprehensive user testing
     @DataProvider(name = "excelUserData")
-    public static Object[][] fetchExcelUserData() {
-        return ExcelReader.getTestdata("UserData");
+    public static Iterator<Object[]> fetchExcelUserData() {
+        return ExcelReader.iterateTestdata("UserData");
+    }
+
+    // Streams unique generated customers as {name, email} for high-volume checkout runs
+    @DataProvider(name = "syntheticUsers")
+    public static Iterator<Object[]> fetchSyntheticUsers() {
+        return syntheticCustomerGenerator().customers(ConfigManager.getSyntheticUserCount());
+    }
+
+    // Same generated customers on parallel worker threads. All synthetic.user.count rows are generated before the
+    // first test starts, as TestNG drains parallel iterators; keep the count modest here and use syntheticUsers to stream
+    @DataProvider(name = "syntheticUsersParallel", parallel = true)
+    public static Iterator<Object[]> fetchSyntheticUsersParallel() {
+        return syntheticCustomerGenerator().customers(ConfigManager.getSyntheticUserCount());
+    }
+
+    // Streams {name, email, expectedValid} rows mixing valid and deliberately malformed emails
+    @DataProvider(name = "syntheticEmailVariants")
+    public static Iterator<Object[]> fetchSyntheticEmailVariants() {
+        return syntheticCustomerGenerator().emailVariants(ConfigManager.getSyntheticUserCount(),
+                ConfigManager.getSyntheticInvalidEmailPercent());
+    }
+
+    // Coffee and unit price x quantity x customer x promo opt-in from the test data sheets, reduced to a covering
+    // set of testdata.combinatorial.strength instead of every combination; rows are {coffee, price, quantity, name, email, promo}
+    @DataProvider(name = "orderCombinations")
+    public static Object[][] fetchOrderCombinations() {
+        Object[][] coffeeRows = ExcelReader.getTestdata("CoffeeData");
+        Object[][] coffees = new Object[coffeeRows.length][];
+        for (int i = 0; i < coffeeRows.length; i++) {
+            coffees[i] = new Object[] { coffeeRows[i][0], coffeeRows[i][2] };
+        }
+        return new CombinatorialDesign("orderCombinations")
+                .rows("coffee", coffees)
+                .rows("quantity", ExcelReader.getTestdata("QuantityData"))
+                .rows("customer", ExcelReader.getTestdata("UserData"))
+                .values("promo", true, false)
+                .generate(ConfigManager.snapshot().getCombinatorialStrength());
+    }
+
+    private static SyntheticCustomerGenerator syntheticCustomerGenerator() {
+        return new SyntheticCustomerGenerator(ConfigManager.getSyntheticUserSeed(),
+                ConfigManager.getSyntheticUserPartition());
     }
 
     // Used for converting Excel data into a more flexible map format for complex data handling
@@ -0,0 +1,134 @@
+package com.coffeecart.journeys;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+import com.coffeecart.managers.ConfigManager;
+import com.coffeecart.pages.CheckoutPage;
+import com.coffeecart.pages.MenuPage;
+import com.coffeecart.pages.Pages;
+
+/**
+ * The order workflow of EndToEndTests.testCompleteOrderWorkflow as named, individually timed steps on the page
+ * objects of one browser lane, for runners that replay it outside TestNG. The checks the test asserts on are kept,
+ * but a failed one throws instead, so a step either completes or reports why it did not. The first step loads the
+ * menu, which also empties the cart (the app keeps its state in memory), so runs can follow each other directly.
+ */
+public class OrderJourney {
+
+    public enum Step {
+        LOAD_MENU("menu load"),
+        ADD_TO_CART("add to cart"),
+        OPEN_CHECKOUT("open checkout"),
+        FILL_DETAILS("fill details"),
+        PLACE_ORDER("place order");
+
+        private final String label;
+
+        Step(String label) {
+            this.label = label;
+        }
+
+        public String getLabel() {
+            return label;
+        }
+
+        // Accepts the enum name (place_order) or the label (place order), in any case
+        public static Step parse(String value) {
+            String key = value.trim();
+            for (Step step : values()) {
+                if (step.name().equalsIgnoreCase(key) || step.label.equalsIgnoreCase(key)) {
+                    return step;
+                }
+            }
+            throw new IllegalArgumentException("Unknown journey step '" + value + "', expected one of "
+                    + Arrays.toString(values()).toLowerCase(Locale.ROOT));
+        }
+    }
+
+    // Told about every step that was attempted; error is null when the step completed
+    public interface StepListener {
+        void onStep(Step step, long nanos, RuntimeException error);
+    }
+
+    private final MenuPage menuPage = Pages.create(MenuPage.class);
+    private final CheckoutPage checkoutPage = Pages.create(CheckoutPage.class);
+    private final String item;
+    private final String name;
+    private final String email;
+
+    // Page objects bind to the calling thread's driver, so create the journey on the thread that runs it
+    public OrderJourney() {
+        this(ConfigManager.getTestCoffeeItem(), ConfigManager.getDefaultTestName(), ConfigManager.getDefaultTestEmail());
+    }
+
+    public OrderJourney(String item, String name, String email) {
+        this.item = item;
+        this.name = name;
+        this.email = email;
+    }
+
+    public void run(StepListener listener) {
+        run(Step.PLACE_ORDER, listener);
+    }
+
+    // Runs the steps up to and including the given one, stopping at the first failure, which is rethrown
+    public void run(Step last, StepListener listener) {
+        for (Step step : Step.values()) {
+            long start = System.nanoTime();
+            try {
+                execute(step);
+            } catch (RuntimeException e) {
+                listener.onStep(step, System.nanoTime() - start, e);
+                throw e;
+            }
+            listener.onStep(step, System.nanoTime() - start, null);
+            if (step == last) {
+                return;
+            }
+        }
+    }
+
+    public MenuPage getMenuPage() {
+        return menuPage;
+    }
+
+    public CheckoutPage getCheckoutPage() {
+        return checkoutPage;
+    }
+
+    private void execute(Step step) {
+        switch (step) {
+            case LOAD_MENU:
+                menuPage.navigateToMenuPage();
+                check(menuPage.isMenuDisplayed(), "Menu page should be loaded");
+                break;
+            case ADD_TO_CART:
+                menuPage.addItemToCart(item, 1);
+                String total = menuPage.getTotalText();
+                check(!total.contains(ConfigManager.getCartEmptyPrice()), "Cart should not be empty after adding items");
+                break;
+            case OPEN_CHECKOUT:
+                menuPage.clickTotalButton();
+                check(checkoutPage.ischeckoutFormdisplayed(), "Checkout form should be displayed");
+                break;
+            case FILL_DETAILS:
+                checkoutPage.enterCustomername(name);
+                checkoutPage.enterEmailid(email);
+                check(checkoutPage.validateForm(name, email), "Form should be valid with proper details");
+                check(checkoutPage.getTotalAmount().contains("$"), "Checkout total should contain currency symbol");
+                break;
+            case PLACE_ORDER:
+                checkoutPage.placeOrder();
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown step " + step);
+        }
+    }
+
+    private static void check(boolean condition, String message) {
+        if (!condition) {
+            throw new IllegalStateException(message);
+        }
+    }
+}
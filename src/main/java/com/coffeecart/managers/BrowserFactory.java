@@ -41,6 +41,9 @@ public class BrowserFactory {
                     if (ConfigManager.isHeadless()) {
                         firefoxOptions.addArguments("--headless");
                     }
+                    for (String option : ConfigManager.getFirefoxOptions()) {
+                        firefoxOptions.addArguments(option);
+                    }
                     WebDriverManager.firefoxdriver().setup();
                     driver = new FirefoxDriver(firefoxOptions);
                     break;
@@ -56,6 +59,11 @@ public class BrowserFactory {
         }
     }
 
+    // Forgets the calling thread's driver without quitting it, once its lifecycle is handed to the driver pool
+    public void releaseDriver() {
+        drivers.remove();
+    }
+
     // Safely closes the browser
     public void quitDriver() {
         try {
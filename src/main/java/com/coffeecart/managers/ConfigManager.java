@@ -2,120 +2,285 @@ package com.coffeecart.managers;
 
 import java.io.FileInputStream;
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Properties;
 import java.util.concurrent.ConcurrentHashMap;
 
 import com.coffeecart.utils.LoggerUtil;
 
 /**
- * Manages all configuration settings from properties file with caching for
- * better performance.
- * Provides easy access to timeouts, URLs, test data, and browser settings
- * throughout the framework.
+ * Manages all configuration settings from properties file.
+ * Values are parsed once into an immutable ConfigSnapshot that is swapped atomically on reload,
+ * so the getters used in wait loops are plain field reads.
+ *
+ * Configuration is layered: config.properties, then resources/profiles/browser/{browser}.properties,
+ * then resources/profiles/env/{environment}.properties, then system properties, then per-test overrides.
+ * A thread that pins a browser (BaseTest/DriverManager do this) sees its own effective configuration,
+ * so Chrome and Firefox workers can run side by side in one JVM with different timeouts and options.
  */
 public class ConfigManager {
-    private static final Properties properties = new Properties();
-    private static final ConcurrentHashMap<String, String> propertyCache = new ConcurrentHashMap<>();
     private static final String CONFIG_FILE = "resources/config.properties";
-    private static volatile boolean isInitialized = false;
+    private static final String BROWSER_PROFILE_DIRECTORY = "resources/profiles/browser";
+    private static final String ENVIRONMENT_PROFILE_DIRECTORY = "resources/profiles/env";
+
+    private static volatile Layers layers;
+    private static final ThreadLocal<ThreadProfile> threadProfile = new ThreadLocal<>();
 
     static {
         loadProperties();
+        if (Boolean.parseBoolean(layers.defaultSnapshot.getProperty("config.hot.reload", "false"))) {
+            ConfigWatcher.start(Arrays.asList(CONFIG_FILE, BROWSER_PROFILE_DIRECTORY, ENVIRONMENT_PROFILE_DIRECTORY));
+        }
     }
 
-    // Loads configuration from properties file with thread-safe initialization
+    // Loads configuration from properties file and publishes it as the current snapshot
     private static void loadProperties() {
-        if (!isInitialized) {
-            synchronized (ConfigManager.class) {
-                if (!isInitialized) {
-                    try (FileInputStream input = new FileInputStream(CONFIG_FILE)) {
-                        properties.load(input);
-                        isInitialized = true;
-                        LoggerUtil.info("Configuration properties loaded successfully");
-                    } catch (IOException e) {
-                        LoggerUtil.error("Failed to load configuration properties", e);
-                        throw new RuntimeException("Failed to load config file: " + CONFIG_FILE, e);
-                    }
-                }
-            }
+        layers = new Layers(readFile(Paths.get(CONFIG_FILE), true), layers == null ? 1 : layers.generation + 1);
+        LoggerUtil.info("Configuration properties loaded successfully");
+    }
+
+    private static Properties readFile(Path path, boolean required) {
+        Properties properties = new Properties();
+        if (!required && !Files.exists(path)) {
+            return properties;
+        }
+        try (FileInputStream input = new FileInputStream(path.toFile())) {
+            properties.load(input);
+        } catch (IOException e) {
+            LoggerUtil.error("Failed to load configuration properties", e);
+            throw new RuntimeException("Failed to load config file: " + path, e);
+        }
+        return properties;
+    }
+
+    /**
+     * Returns the configuration in effect for the calling thread: its pinned browser profile and overrides
+     * if it has any, otherwise the default snapshot. Callers needing several consistent values should hold on to it.
+     */
+    public static ConfigSnapshot snapshot() {
+        ThreadProfile profile = threadProfile.get();
+        if (profile == null) {
+            return layers.defaultSnapshot;
+        }
+        Layers current = layers;
+        if (profile.generation != current.generation) {
+            profile.resolve(current);
+        }
+        return profile.snapshot;
+    }
+
+    // Pins the calling thread to a browser profile; existing per-test overrides are kept
+    public static void useBrowserProfile(String browser) {
+        String normalized = browser.trim().toLowerCase(Locale.ROOT);
+        ThreadProfile current = threadProfile.get();
+        if (current != null && current.browser.equals(normalized)) {
+            return;
+        }
+        setThreadProfile(new ThreadProfile(normalized, current != null ? current.overrides : null));
+    }
+
+    // Applies overrides on top of the calling thread's profile until clearThreadOverrides is called
+    public static void setThreadOverrides(Map<String, String> overrides) {
+        ThreadProfile current = threadProfile.get();
+        String browser = current != null ? current.browser : getBrowser().toLowerCase(Locale.ROOT);
+        setThreadProfile(new ThreadProfile(browser,
+                overrides == null || overrides.isEmpty() ? null : new LinkedHashMap<>(overrides)));
+    }
+
+    // Removes per-test overrides but keeps the thread's browser profile
+    public static void clearThreadOverrides() {
+        ThreadProfile current = threadProfile.get();
+        if (current != null && current.overrides != null) {
+            setThreadProfile(new ThreadProfile(current.browser, null));
         }
     }
 
-    // Gets the property value
-    private static String getPropertyValue(String key) {
-        return propertyCache.computeIfAbsent(key, k -> {
-            String value = System.getProperty(k);
-            if (value == null || value.trim().isEmpty()) {
-                value = properties.getProperty(k);
+    // Detaches the calling thread from its browser profile and overrides
+    public static void clearThreadProfile() {
+        threadProfile.remove();
+    }
+
+    // Returns the active environment profile name, or null when only the base configuration is used
+    public static String getEnvironment() {
+        return layers.environment;
+    }
+
+    private static void setThreadProfile(ThreadProfile profile) {
+        profile.resolve(layers);
+        threadProfile.set(profile);
+    }
+
+    /**
+     * One loaded generation of configuration: the base file, lazily read profile files and the snapshots
+     * resolved from them. Reloads publish a whole new instance, so readers never see a half-updated mix.
+     */
+    private static final class Layers {
+        private final Properties base;
+        private final int generation;
+        private final String environment;
+        private final String defaultBrowser;
+        private final Map<String, Properties> profileFiles = new ConcurrentHashMap<>();
+        private final Map<String, ConfigSnapshot> browserSnapshots = new ConcurrentHashMap<>();
+        private final ConfigSnapshot defaultSnapshot;
+
+        Layers(Properties base, int generation) {
+            this.base = base;
+            this.generation = generation;
+            this.environment = resolveEnvironment(base);
+            this.defaultBrowser = resolveDefaultBrowser(base);
+            this.defaultSnapshot = build(defaultBrowser, null);
+        }
+
+        ConfigSnapshot forBrowser(String browser) {
+            return browserSnapshots.computeIfAbsent(browser, b -> build(b, null));
+        }
+
+        // Merges base, browser and environment layers, then applies system properties and per-test overrides
+        ConfigSnapshot build(String browser, Map<String, String> overrides) {
+            Properties merged = new Properties();
+            merged.putAll(base);
+            merged.putAll(profile(BROWSER_PROFILE_DIRECTORY, browser));
+            if (environment != null) {
+                merged.putAll(profile(ENVIRONMENT_PROFILE_DIRECTORY, environment));
+            }
+            Map<String, String> effectiveOverrides = new LinkedHashMap<>();
+            effectiveOverrides.put("browser", browser);
+            if (overrides != null) {
+                effectiveOverrides.putAll(overrides);
+            }
+            try {
+                return ConfigSnapshot.from(merged, effectiveOverrides);
+            } catch (IllegalStateException e) {
+                LoggerUtil.error(e.getMessage());
+                throw new RuntimeException("Failed to load config file: " + CONFIG_FILE + " (browser: " + browser
+                        + ", environment: " + environment + ")", e);
+            }
+        }
+
+        // Returns a profile layer, reading its file the first time it is needed; missing profiles are empty
+        private Properties profile(String directory, String name) {
+            String fileName = name.toLowerCase(Locale.ROOT) + ".properties";
+            return profileFiles.computeIfAbsent(directory + "/" + fileName,
+                    path -> readFile(Paths.get(directory, fileName), false));
+        }
+
+        private static String resolveDefaultBrowser(Properties base) {
+            String systemBrowser = System.getProperty("browser");
+            if (systemBrowser != null && !systemBrowser.trim().isEmpty()) {
+                return systemBrowser.trim().toLowerCase(Locale.ROOT);
             }
-            if (value == null || value.trim().isEmpty()) {
-                LoggerUtil.error("Missing or empty property: " + k);
-                throw new RuntimeException("Property '" + k + "' not found or empty in config file");
+            String configBrowser = base.getProperty("browser");
+            if (configBrowser == null || configBrowser.trim().isEmpty()) {
+                throw new RuntimeException("Property 'browser' not found or empty in config file");
             }
-            return value.trim();
-        });
+            return configBrowser.trim().toLowerCase(Locale.ROOT);
+        }
+
+        private static String resolveEnvironment(Properties base) {
+            String environment = System.getProperty("environment", base.getProperty("environment", ""));
+            return environment.trim().isEmpty() ? null : environment.trim();
+        }
+    }
+
+    // Per-thread profile; the snapshot is re-resolved lazily when a reload publishes new layers
+    private static final class ThreadProfile {
+        private final String browser;
+        private final Map<String, String> overrides;
+        private ConfigSnapshot snapshot;
+        private int generation;
+
+        ThreadProfile(String browser, Map<String, String> overrides) {
+            this.browser = browser;
+            this.overrides = overrides;
+        }
+
+        void resolve(Layers current) {
+            snapshot = overrides == null ? current.forBrowser(browser) : current.build(browser, overrides);
+            generation = current.generation;
+        }
+    }
+
+    // Fails the same way for optional properties that a caller actually needs
+    private static String requireProperty(String value, String key) {
+        if (value == null) {
+            LoggerUtil.error("Missing or empty property: " + key);
+            throw new RuntimeException("Property '" + key + "' not found or empty in config file");
+        }
+        return value;
     }
 
-    // Returns the browser to use, checking system properties first then config file
+    // Returns the browser to use: the thread's pinned profile first, then system properties, then config file
     public static String getBrowser() {
+        ThreadProfile profile = threadProfile.get();
+        if (profile != null) {
+            return profile.browser;
+        }
         String systemBrowser = System.getProperty("browser");
         if (systemBrowser != null && !systemBrowser.trim().isEmpty()) {
             return systemBrowser.trim();
         }
-        String configBrowser = properties.getProperty("browser");
-        if (configBrowser == null || configBrowser.trim().isEmpty()) {
-            throw new RuntimeException("Property 'browser' not found or empty in config file");
-        }
-        return configBrowser.trim();
+        return layers.defaultSnapshot.getBrowser();
     }
 
     // Gets the application URL
     public static String getBaseUrl() {
-        return getPropertyValue("url");
+        return snapshot().getBaseUrl();
     }
 
     // Returns implicit wait timeout in seconds
     public static int getImplicitWait() {
-        return Integer.parseInt(getPropertyValue("implicit.wait"));
+        return (int) snapshot().getImplicitWait().getSeconds();
     }
 
     // Returns explicit wait timeout for specific conditions
     public static int getExplicitWait() {
-        return Integer.parseInt(getPropertyValue("explicit.wait"));
+        return (int) snapshot().getExplicitWait().getSeconds();
     }
 
     // Gets page load timeout to prevent hanging on slow pages
     public static int getPageLoadTimeout() {
-        return Integer.parseInt(getPropertyValue("page.load.timeout"));
+        return (int) snapshot().getPageLoadTimeout().getSeconds();
     }
 
     // Checks if tests should run in headless mode (no browser UI)
     public static boolean isHeadless() {
-        return Boolean.parseBoolean(getPropertyValue("headless"));
+        return snapshot().isHeadless();
     }
 
     // Returns the screenshot directory path
     public static String getScreenshotPath() {
-        return getPropertyValue("screenshot.path");
+        return snapshot().getScreenshotPath();
+    }
+
+    // Gets the directory where the debug log of a failed test is written
+    public static String getFailureLogPath() {
+        return snapshot().getFailureLogPath();
     }
 
     // Gets the number of times to retry navigation if page fails to load
     public static int getNavigationRetryCount() {
-        return Integer.parseInt(getPropertyValue("navigation.retry.count"));
+        return snapshot().getNavigationRetryCount();
     }
 
     // Returns delay between navigation retry attempts
     public static int getNavigationRetryDelay() {
-        return Integer.parseInt(getPropertyValue("navigation.retry.delay"));
+        return (int) snapshot().getNavigationRetryDelay().toMillis();
     }
 
     // Returns Chrome browser options as an array for custom browser configuration
     public static String[] getChromeOptions() {
-        String options = properties.getProperty("chrome.options");
-        if (options == null || options.trim().isEmpty()) {
-            return new String[0];
-        }
-        return options.split(",");
+        return snapshot().getChromeOptions();
+    }
+
+    // Returns extra Firefox command line arguments from the active profile
+    public static String[] getFirefoxOptions() {
+        return snapshot().getFirefoxOptions();
     }
 
     // Returns the attribute name for element identification
@@ -130,156 +295,177 @@ public class ConfigManager {
 
     // Gets a property value with a fallback default if the key doesn't exist
     public static String getProperty(String key, String defaultValue) {
-        return properties.getProperty(key, defaultValue);
+        return snapshot().getProperty(key, defaultValue);
     }
 
     // Returns wait time for element interactions
     public static int getElementWaitTime() {
-        return Integer.parseInt(getPropertyValue("element.wait.time"));
+        return (int) snapshot().getElementWaitTime().toMillis();
     }
 
     // Gets wait time for promotional offers to appear
     public static int getPromoWaitTime() {
-        return Integer.parseInt(getPropertyValue("promo.wait.time"));
+        return (int) snapshot().getPromoWaitTime().getSeconds();
     }
 
     // Returns wait time for cart updates to complete
     public static int getCartUpdateWait() {
-        return Integer.parseInt(getPropertyValue("cart.update.wait"));
+        return (int) snapshot().getCartUpdateWait().toMillis();
     }
 
     // Gets the expected text when cart is empty
     public static String getCartEmptyText() {
-        return getPropertyValue("cart.empty.text");
+        return snapshot().getCartEmptyText();
     }
 
     // Returns the expected price display when cart is empty
     public static String getCartEmptyPrice() {
-        return getPropertyValue("cart.empty.price");
+        return snapshot().getCartEmptyPrice();
     }
 
     // Gets wait time between quantity increment clicks
     public static int getQuantityIncrementWait() {
-        return Integer.parseInt(getPropertyValue("quantity.increment.wait"));
+        return (int) snapshot().getQuantityIncrementWait().toMillis();
     }
 
     // Returns CSS selector for the total button element
     public static String getTotalButtonSelector() {
-        return getPropertyValue("total.button.selector");
+        return requireProperty(snapshot().getTotalButtonSelector(), "total.button.selector");
     }
 
     // Returns CSS selector for the checkout total amount element
     public static String getCheckoutTotalSelector() {
-        return getPropertyValue("checkout.total.selector");
+        return requireProperty(snapshot().getCheckoutTotalSelector(), "checkout.total.selector");
     }
 
     // Returns wait time for snackbar notifications to appear
     public static int getSnackbarWaitTime() {
-        return Integer.parseInt(getPropertyValue("snackbar.wait.time"));
+        return (int) snapshot().getSnackbarWaitTime().getSeconds();
     }
 
     // Gets wait time in seconds for checkout form to load properly
     public static int getCheckoutFormWait() {
-        return Integer.parseInt(getPropertyValue("checkout.form.wait"));
+        return (int) snapshot().getCheckoutFormWait().getSeconds();
     }
 
     // Gets wait time in milliseconds for DOM to stabilize after dynamic changes
     public static int getDomStabilityWait() {
-        return Integer.parseInt(getPropertyValue("dom.stability.wait"));
+        return (int) snapshot().getDomStabilityWait().toMillis();
     }
 
     // Returns wait time in milliseconds for overlay popups to be dismissed
     public static int getOverlayDismissWait() {
-        return Integer.parseInt(getPropertyValue("overlay.dismiss.wait"));
+        return (int) snapshot().getOverlayDismissWait().getSeconds();
     }
 
     // Returns wait time in milliseconds between element interactions
     public static int getElementInteractionWait() {
-        return Integer.parseInt(getPropertyValue("element.interaction.wait"));
+        return (int) snapshot().getElementInteractionWait().toMillis();
     }
 
     // Gets wait time in milliseconds for page to stabilize after refresh
     public static int getPageRefreshStabilityWait() {
-        return Integer.parseInt(getPropertyValue("page.refresh.stability.wait"));
+        return (int) snapshot().getPageRefreshStabilityWait().toMillis();
     }
 
     // Returns the default coffee item name used in tests
     public static String getTestCoffeeItem() {
-        return getPropertyValue("test.coffee.item");
+        return snapshot().getTestCoffeeItem();
     }
 
     // Gets the default test user name for form filling
     public static String getDefaultTestName() {
-        return getPropertyValue("default.test.name");
+        return snapshot().getDefaultTestName();
     }
 
     // Returns the default test email address for form validation
     public static String getDefaultTestEmail() {
-        return getPropertyValue("default.test.email");
+        return snapshot().getDefaultTestEmail();
     }
 
     // Gets an invalid email format for negative testing scenarios
     public static String getInvalidTestEmail() {
-        return getPropertyValue("invalid.test.email");
+        return snapshot().getInvalidTestEmail();
     }
 
     // Returns the expected price for discounted Mocha in promotional offers
     public static String getDiscountedMochaPrice() {
-        return getPropertyValue("discounted.mocha.price");
+        return snapshot().getDiscountedMochaPrice();
     }
 
     // Gets the maximum number of items allowed in cart
     public static int getMaxCartItems() {
-        return Integer.parseInt(getPropertyValue("max.cart.items"));
+        return snapshot().getMaxCartItems();
     }
 
     // Returns the coffee item that triggers promotional offers
     public static String getPromoTriggerItem() {
-        return getPropertyValue("promo.trigger.item");
+        return snapshot().getPromoTriggerItem();
     }
 
     // Gets the minimum price for valid price range
     public static double getPriceRangeMin() {
-        return Double.parseDouble(getPropertyValue("price.range.min"));
+        return snapshot().getPriceRangeMin();
     }
 
     // Returns the maximum price for valid price range
     public static double getPriceRangeMax() {
-        return Double.parseDouble(getPropertyValue("price.range.max"));
+        return snapshot().getPriceRangeMax();
     }
 
     // Gets the minimum price for invalid range testing (should fail)
     public static double getInvalidPriceRangeMin() {
-        return Double.parseDouble(getPropertyValue("invalid.price.range.min"));
+        return snapshot().getInvalidPriceRangeMin();
     }
 
     // Returns the maximum price for invalid range testing (should fail)
     public static double getInvalidPriceRangeMax() {
-        return Double.parseDouble(getPropertyValue("invalid.price.range.max"));
+        return snapshot().getInvalidPriceRangeMax();
     }
 
     // Gets the price threshold for invalid price testing (should fail)
     public static double getInvalidPriceThreshold() {
-        return Double.parseDouble(getPropertyValue("invalid.price.threshold"));
+        return snapshot().getInvalidPriceThreshold();
     }
 
     // Returns wait time for cart preview to appear on hover
     public static int getCartPreviewWait() {
-        return Integer.parseInt(getPropertyValue("cart.preview.wait"));
+        return (int) snapshot().getCartPreviewWait().getSeconds();
+    }
+
+    // Checks if test data lookups should use the memory-mapped binary cache instead of parsing the CSV
+    public static boolean isTestDataCacheEnabled() {
+        return snapshot().isTestDataCacheEnabled();
+    }
+
+    // Returns how many customers the synthetic user data providers generate
+    public static long getSyntheticUserCount() {
+        return snapshot().getSyntheticUserCount();
+    }
+
+    // Gets the seed that makes synthetic customer data reproducible between runs
+    public static long getSyntheticUserSeed() {
+        return snapshot().getSyntheticUserSeed();
+    }
+
+    // Returns the partition id that keeps synthetic emails unique across separate JVMs or shards
+    public static int getSyntheticUserPartition() {
+        return snapshot().getSyntheticUserPartition();
     }
 
-    // Gets Firefox-specific wait time for cart preview (this is due to browser
-    // interaction differences)
-    public static int getFirefoxCartPreviewWait() {
-        return Integer.parseInt(getPropertyValue("firefox.cart.preview.wait"));
+    // Gets the percentage of synthetic email variants that are deliberately invalid
+    public static int getSyntheticInvalidEmailPercent() {
+        return snapshot().getSyntheticInvalidEmailPercent();
     }
 
-    // Reloads all configuration properties and clears cache [Useful for future]
+    // Reloads every configuration layer; an invalid file keeps the previous values
     public static void refreshConfiguration() {
         synchronized (ConfigManager.class) {
-            propertyCache.clear();
-            isInitialized = false;
-            loadProperties();
+            try {
+                loadProperties();
+            } catch (RuntimeException e) {
+                LoggerUtil.error("Keeping previous configuration, reload failed: " + e.getMessage());
+            }
         }
     }
 }
@@ -0,0 +1,28 @@
+package com.coffeecart.managers;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Repeatable;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Overrides a configuration value for the duration of one test method, on top of the
+ * browser and environment profiles. BaseTest applies it before the test and removes it afterwards.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+@Repeatable(ConfigOverride.List.class)
+public @interface ConfigOverride {
+
+    String key();
+
+    String value();
+
+    // Container that lets several @ConfigOverride annotations be placed on one test
+    @Retention(RetentionPolicy.RUNTIME)
+    @Target(ElementType.METHOD)
+    @interface List {
+        ConfigOverride[] value();
+    }
+}
@@ -0,0 +1,646 @@
+package com.coffeecart.managers;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Immutable, fully parsed view of the configuration. Every value is converted and validated once when the
+ * snapshot is built, so getters used inside wait loops are plain field reads.
+ * System properties override values from the properties file, as they always have in ConfigManager.
+ *
+ * The core settings (browser, URL, waits, test data) are required and a bad one fails the snapshot. Settings of
+ * individual features (metrics, tracing, performance, load, monitor and so on) have built-in defaults, and a bad
+ * value is reported by that feature's getters instead, so it cannot stop runs that never use the feature.
+ */
+public final class ConfigSnapshot {
+
+    // Used when a feature setting is missing or empty in every layer; optional paths and URLs have no default
+    private static final Map<String, String> FEATURE_DEFAULTS = Map.ofEntries(
+            Map.entry("browser.benchmark.iterations", "20"),
+            Map.entry("browser.benchmark.warmup", "3"),
+            Map.entry("coverage.enabled", "true"),
+            Map.entry("coverage.path", "test-output/coverage/"),
+            Map.entry("failure.log.path", "test-output/logs/failures/"),
+            Map.entry("fixtures.parallel.branches", "false"),
+            Map.entry("jfr.enabled", "false"),
+            Map.entry("jfr.path", "test-output/jfr/"),
+            Map.entry("jfr.settings", "default"),
+            Map.entry("load.arrival.rate", "1.0"),
+            Map.entry("load.duration.seconds", "60"),
+            Map.entry("load.model", "closed"),
+            Map.entry("load.ramp.up.seconds", "10"),
+            Map.entry("load.think.time.ms", "1000"),
+            Map.entry("load.users", "4"),
+            Map.entry("metrics.enabled", "true"),
+            Map.entry("metrics.path", "test-output/metrics/"),
+            Map.entry("monitor.interval.seconds", "60"),
+            Map.entry("monitor.journey", "place_order"),
+            Map.entry("monitor.path", "test-output/monitor"),
+            Map.entry("monitor.runs", "0"),
+            Map.entry("monitor.slo.latency.ms", "15000"),
+            Map.entry("monitor.slo.latency.percent", "95"),
+            Map.entry("monitor.slo.success.percent", "99"),
+            Map.entry("monitor.slo.window.minutes", "60"),
+            Map.entry("navigation.timing.enabled", "true"),
+            Map.entry("performance.baseline.enabled", "true"),
+            Map.entry("performance.baseline.min.samples", "5"),
+            Map.entry("performance.baseline.path", "test-output/performance/baseline/"),
+            Map.entry("performance.baseline.runs", "20"),
+            Map.entry("performance.budget.mode", "warn"),
+            Map.entry("performance.path", "test-output/performance/"),
+            Map.entry("performance.regression.alpha", "0.05"),
+            Map.entry("performance.regression.fail", "false"),
+            Map.entry("performance.regression.p95.budget.percent", "20"),
+            Map.entry("scheduling.order", "declared"),
+            Map.entry("screenshot.format", "png"),
+            Map.entry("screenshot.jpeg.quality", "0.8"),
+            Map.entry("screenshot.queue.size", "16"),
+            Map.entry("screenshot.scale", "1.0"),
+            Map.entry("shard.count", "1"),
+            Map.entry("shard.index", "0"),
+            Map.entry("synthetic.invalid.email.percent", "20"),
+            Map.entry("synthetic.user.count", "1000"),
+            Map.entry("synthetic.user.partition", "0"),
+            Map.entry("synthetic.user.seed", "20240601"),
+            Map.entry("testdata.cache.enabled", "true"),
+            Map.entry("testdata.combinatorial.strength", "2"),
+            Map.entry("tracing.enabled", "false"),
+            Map.entry("tracing.max.events", "500000"),
+            Map.entry("tracing.path", "test-output/traces/"));
+
+    private final Properties rawProperties;
+    private final Set<String> overrideKeys;
+    private final Map<String, String> featureErrors = new HashMap<>();
+
+    private final String browser;
+    private final String baseUrl;
+    private final boolean headless;
+    private final String[] chromeOptions;
+    private final String[] firefoxOptions;
+
+    private final Duration implicitWait;
+    private final Duration explicitWait;
+    private final Duration pageLoadTimeout;
+    private final int navigationRetryCount;
+    private final Duration navigationRetryDelay;
+
+    private final Duration elementWaitTime;
+    private final Duration promoWaitTime;
+    private final Duration cartUpdateWait;
+    private final Duration quantityIncrementWait;
+    private final Duration snackbarWaitTime;
+    private final Duration checkoutFormWait;
+    private final Duration domStabilityWait;
+    private final Duration overlayDismissWait;
+    private final Duration elementInteractionWait;
+    private final Duration pageRefreshStabilityWait;
+    private final Duration cartPreviewWait;
+
+    private final String screenshotPath;
+    private final String failureLogPath;
+    private final String screenshotFormat;
+    private final double screenshotScale;
+    private final double screenshotJpegQuality;
+    private final int screenshotQueueSize;
+    private final boolean metricsEnabled;
+    private final String metricsPath;
+    private final boolean tracingEnabled;
+    private final String tracingPath;
+    private final int tracingMaxEvents;
+    private final boolean jfrEnabled;
+    private final String jfrSettings;
+    private final String jfrPath;
+    private final boolean navigationTimingEnabled;
+    private final String performancePath;
+    private final boolean performanceBaselineEnabled;
+    private final String performanceBaselinePath;
+    private final int performanceBaselineRuns;
+    private final int performanceBaselineMinSamples;
+    private final double performanceRegressionAlpha;
+    private final int performanceRegressionBudgetPercent;
+    private final boolean performanceRegressionFail;
+    private final String performanceBudgetMode;
+    private final String schedulingOrder;
+    private final int shardCount;
+    private final int shardIndex;
+    private final boolean coverageEnabled;
+    private final String coveragePath;
+    private final String impactBase;
+    private final boolean fixturesParallelBranches;
+
+    private final boolean testDataCacheEnabled;
+    private final String testCoffeeItem;
+    private final String defaultTestName;
+    private final String defaultTestEmail;
+    private final String invalidTestEmail;
+    private final String discountedMochaPrice;
+    private final int maxCartItems;
+    private final String promoTriggerItem;
+    private final String cartEmptyText;
+    private final String cartEmptyPrice;
+    private final String totalButtonSelector;
+    private final String checkoutTotalSelector;
+
+    private final long syntheticUserCount;
+    private final long syntheticUserSeed;
+    private final int syntheticUserPartition;
+    private final int syntheticInvalidEmailPercent;
+    private final int combinatorialStrength;
+
+    private final int browserBenchmarkWarmup;
+    private final int browserBenchmarkIterations;
+    private final String browserBenchmarkAppDir;
+
+    private final int loadUsers;
+    private final String loadModel;
+    private final Duration loadDuration;
+    private final Duration loadRampUp;
+    private final Duration loadThinkTime;
+    private final double loadArrivalRate;
+    private final String loadAppDir;
+
+    private final String monitorJourney;
+    private final Duration monitorInterval;
+    private final int monitorRuns;
+    private final String monitorPath;
+    private final Duration monitorSloWindow;
+    private final int monitorSloSuccessPercent;
+    private final Duration monitorSloLatency;
+    private final int monitorSloLatencyPercent;
+    private final String monitorAlertWebhook;
+
+    private final double priceRangeMin;
+    private final double priceRangeMax;
+    private final double invalidPriceRangeMin;
+    private final double invalidPriceRangeMax;
+    private final double invalidPriceThreshold;
+
+    private ConfigSnapshot(Properties properties, Set<String> overrideKeys) {
+        this.rawProperties = properties;
+        this.overrideKeys = overrideKeys;
+        Parser parser = new Parser(this::lookup);
+
+        this.browser = parser.string("browser");
+        this.baseUrl = parser.string("url");
+        this.headless = parser.bool("headless");
+        this.chromeOptions = parser.list("chrome.options");
+        this.firefoxOptions = parser.list("firefox.options");
+
+        this.implicitWait = parser.seconds("implicit.wait");
+        this.explicitWait = parser.seconds("explicit.wait");
+        this.pageLoadTimeout = parser.seconds("page.load.timeout");
+        this.navigationRetryCount = parser.positiveInt("navigation.retry.count");
+        this.navigationRetryDelay = parser.millis("navigation.retry.delay");
+
+        this.elementWaitTime = parser.millis("element.wait.time");
+        this.promoWaitTime = parser.seconds("promo.wait.time");
+        this.cartUpdateWait = parser.millis("cart.update.wait");
+        this.quantityIncrementWait = parser.millis("quantity.increment.wait");
+        this.snackbarWaitTime = parser.seconds("snackbar.wait.time");
+        this.checkoutFormWait = parser.seconds("checkout.form.wait");
+        this.domStabilityWait = parser.millis("dom.stability.wait");
+        this.overlayDismissWait = parser.seconds("overlay.dismiss.wait");
+        this.elementInteractionWait = parser.millis("element.interaction.wait");
+        this.pageRefreshStabilityWait = parser.millis("page.refresh.stability.wait");
+        this.cartPreviewWait = parser.seconds("cart.preview.wait");
+
+        this.screenshotPath = parser.string("screenshot.path");
+
+        this.testCoffeeItem = parser.string("test.coffee.item");
+        this.defaultTestName = parser.string("default.test.name");
+        this.defaultTestEmail = parser.string("default.test.email");
+        this.invalidTestEmail = parser.string("invalid.test.email");
+        this.discountedMochaPrice = parser.string("discounted.mocha.price");
+        this.maxCartItems = parser.positiveInt("max.cart.items");
+        this.promoTriggerItem = parser.string("promo.trigger.item");
+        this.cartEmptyText = parser.string("cart.empty.text");
+        this.cartEmptyPrice = parser.string("cart.empty.price");
+        this.totalButtonSelector = parser.optional("total.button.selector");
+        this.checkoutTotalSelector = parser.optional("checkout.total.selector");
+
+        this.priceRangeMin = parser.decimal("price.range.min");
+        this.priceRangeMax = parser.decimal("price.range.max");
+        this.invalidPriceRangeMin = parser.decimal("invalid.price.range.min");
+        this.invalidPriceRangeMax = parser.decimal("invalid.price.range.max");
+        this.invalidPriceThreshold = parser.decimal("invalid.price.threshold");
+
+        // Settings of individual features fall back to built-in defaults; a bad value only fails the feature that uses it
+        Parser failureLogs = feature();
+        this.failureLogPath = failureLogs.string("failure.log.path");
+        defer("failure log", failureLogs);
+
+        Parser screenshots = feature();
+        this.screenshotFormat = screenshots.oneOf("screenshot.format", "png", "jpg");
+        this.screenshotScale = screenshots.fraction("screenshot.scale");
+        this.screenshotJpegQuality = screenshots.fraction("screenshot.jpeg.quality");
+        this.screenshotQueueSize = screenshots.positiveInt("screenshot.queue.size");
+        defer("screenshots", screenshots);
+
+        Parser metrics = feature();
+        this.metricsEnabled = metrics.bool("metrics.enabled");
+        this.metricsPath = metrics.string("metrics.path");
+        this.navigationTimingEnabled = metrics.bool("navigation.timing.enabled");
+        defer("metrics", metrics);
+
+        Parser tracing = feature();
+        this.tracingEnabled = tracing.bool("tracing.enabled");
+        this.tracingPath = tracing.string("tracing.path");
+        this.tracingMaxEvents = tracing.positiveInt("tracing.max.events");
+        defer("tracing", tracing);
+
+        Parser jfr = feature();
+        this.jfrEnabled = jfr.bool("jfr.enabled");
+        this.jfrSettings = jfr.string("jfr.settings");
+        this.jfrPath = jfr.string("jfr.path");
+        defer("jfr", jfr);
+
+        Parser performance = feature();
+        this.performancePath = performance.string("performance.path");
+        this.performanceBaselineEnabled = performance.bool("performance.baseline.enabled");
+        this.performanceBaselinePath = performance.string("performance.baseline.path");
+        this.performanceBaselineRuns = performance.positiveInt("performance.baseline.runs");
+        this.performanceBaselineMinSamples = performance.positiveInt("performance.baseline.min.samples");
+        this.performanceRegressionAlpha = performance.fraction("performance.regression.alpha");
+        this.performanceRegressionBudgetPercent = performance.nonNegativeInt("performance.regression.p95.budget.percent");
+        this.performanceRegressionFail = performance.bool("performance.regression.fail");
+        this.performanceBudgetMode = performance.oneOf("performance.budget.mode", "fail", "warn", "off");
+        defer("performance", performance);
+
+        Parser scheduling = feature();
+        this.schedulingOrder = scheduling.oneOf("scheduling.order", "duration", "declared");
+        this.shardCount = scheduling.positiveInt("shard.count");
+        this.shardIndex = scheduling.nonNegativeInt("shard.index");
+        defer("scheduling", scheduling);
+
+        Parser coverage = feature();
+        this.coverageEnabled = coverage.bool("coverage.enabled");
+        this.coveragePath = coverage.string("coverage.path");
+        this.impactBase = coverage.optional("impact.base");
+        defer("coverage", coverage);
+
+        Parser fixtures = feature();
+        this.fixturesParallelBranches = fixtures.bool("fixtures.parallel.branches");
+        defer("fixtures", fixtures);
+
+        Parser testData = feature();
+        this.testDataCacheEnabled = testData.bool("testdata.cache.enabled");
+        this.combinatorialStrength = testData.positiveInt("testdata.combinatorial.strength");
+        defer("test data", testData);
+
+        Parser synthetic = feature();
+        this.syntheticUserCount = synthetic.positiveLong("synthetic.user.count");
+        this.syntheticUserSeed = synthetic.anyLong("synthetic.user.seed");
+        this.syntheticUserPartition = synthetic.nonNegativeInt("synthetic.user.partition");
+        this.syntheticInvalidEmailPercent = synthetic.percent("synthetic.invalid.email.percent");
+        defer("synthetic users", synthetic);
+
+        Parser benchmark = feature();
+        this.browserBenchmarkWarmup = benchmark.nonNegativeInt("browser.benchmark.warmup");
+        this.browserBenchmarkIterations = benchmark.positiveInt("browser.benchmark.iterations");
+        this.browserBenchmarkAppDir = benchmark.optional("browser.benchmark.app.dir");
+        defer("browser benchmark", benchmark);
+
+        Parser load = feature();
+        this.loadUsers = load.positiveInt("load.users");
+        this.loadModel = load.oneOf("load.model", "closed", "open");
+        this.loadDuration = load.seconds("load.duration.seconds");
+        this.loadRampUp = load.seconds("load.ramp.up.seconds");
+        this.loadThinkTime = load.millis("load.think.time.ms");
+        this.loadArrivalRate = load.decimal("load.arrival.rate");
+        this.loadAppDir = load.optional("load.app.dir");
+        if (loadArrivalRate <= 0) {
+            load.errors.add("load.arrival.rate must be greater than 0");
+        }
+        defer("load", load);
+
+        Parser monitor = feature();
+        this.monitorJourney = monitor.oneOf("monitor.journey", "load_menu", "add_to_cart", "open_checkout", "fill_details", "place_order");
+        this.monitorInterval = Duration.ofSeconds(monitor.positiveInt("monitor.interval.seconds"));
+        this.monitorRuns = monitor.nonNegativeInt("monitor.runs");
+        this.monitorPath = monitor.string("monitor.path");
+        this.monitorSloWindow = Duration.ofMinutes(monitor.positiveInt("monitor.slo.window.minutes"));
+        this.monitorSloSuccessPercent = monitor.percent("monitor.slo.success.percent");
+        this.monitorSloLatency = monitor.millis("monitor.slo.latency.ms");
+        this.monitorSloLatencyPercent = monitor.percent("monitor.slo.latency.percent");
+        this.monitorAlertWebhook = monitor.optional("monitor.alert.webhook");
+        defer("monitor", monitor);
+
+        if (priceRangeMin > priceRangeMax) {
+            parser.errors.add("price.range.min must not be greater than price.range.max");
+        }
+        if (invalidPriceRangeMin > invalidPriceRangeMax) {
+            parser.errors.add("invalid.price.range.min must not be greater than invalid.price.range.max");
+        }
+        if (!parser.errors.isEmpty()) {
+            throw new IllegalStateException("Invalid configuration: " + String.join("; ", parser.errors));
+        }
+    }
+
+    /**
+     * Builds a snapshot from the given properties, applying system property overrides.
+     * Throws IllegalStateException listing every missing or malformed value.
+     */
+    public static ConfigSnapshot from(Properties fileProperties) {
+        return from(fileProperties, null);
+    }
+
+    /**
+     * Builds a snapshot from layered file properties. System properties override the files and the given
+     * overrides (for example per-test values) take precedence over both.
+     */
+    public static ConfigSnapshot from(Properties fileProperties, Map<String, String> overrides) {
+        Properties resolved = new Properties();
+        resolved.putAll(fileProperties);
+        Set<String> overrideKeys = new HashSet<>();
+        if (overrides != null) {
+            resolved.putAll(overrides);
+            overrideKeys.addAll(overrides.keySet());
+        }
+        return new ConfigSnapshot(resolved, overrideKeys);
+    }
+
+    // Returns a raw value after overrides have been applied, or the default when it is missing
+    public String getProperty(String key, String defaultValue) {
+        String value = lookup(key);
+        return value != null ? value : defaultValue;
+    }
+
+    // A -D system property wins for any key, including keys that only have a default in code and appear in no
+    // file; per-test overrides win over both
+    private String lookup(String key) {
+        if (!overrideKeys.contains(key)) {
+            String system = System.getProperty(key);
+            if (system != null && !system.trim().isEmpty()) {
+                return system;
+            }
+        }
+        return rawProperties.getProperty(key);
+    }
+
+    // Returns a copy of the file and per-test values this snapshot was built from; -D values are applied on lookup
+    public Properties getProperties() {
+        Properties copy = new Properties();
+        copy.putAll(rawProperties);
+        return copy;
+    }
+
+    // Parser for one feature's settings, which fall back to FEATURE_DEFAULTS
+    private Parser feature() {
+        return new Parser(key -> {
+            String value = lookup(key);
+            return value == null || value.trim().isEmpty() ? FEATURE_DEFAULTS.get(key) : value;
+        });
+    }
+
+    // Keeps a feature's problems until one of its getters is called
+    private void defer(String feature, Parser parser) {
+        if (!parser.errors.isEmpty()) {
+            featureErrors.put(feature, String.join("; ", parser.errors));
+        }
+    }
+
+    private void require(String feature) {
+        if (!featureErrors.isEmpty() && featureErrors.containsKey(feature)) {
+            throw new IllegalStateException("Invalid " + feature + " configuration: " + featureErrors.get(feature));
+        }
+    }
+
+    public String getBrowser() { return browser; }
+    public String getBaseUrl() { return baseUrl; }
+    public boolean isHeadless() { return headless; }
+    public String[] getChromeOptions() { return chromeOptions.clone(); }
+    public String[] getFirefoxOptions() { return firefoxOptions.clone(); }
+
+    public Duration getImplicitWait() { return implicitWait; }
+    public Duration getExplicitWait() { return explicitWait; }
+    public Duration getPageLoadTimeout() { return pageLoadTimeout; }
+    public int getNavigationRetryCount() { return navigationRetryCount; }
+    public Duration getNavigationRetryDelay() { return navigationRetryDelay; }
+
+    public Duration getElementWaitTime() { return elementWaitTime; }
+    public Duration getPromoWaitTime() { return promoWaitTime; }
+    public Duration getCartUpdateWait() { return cartUpdateWait; }
+    public Duration getQuantityIncrementWait() { return quantityIncrementWait; }
+    public Duration getSnackbarWaitTime() { return snackbarWaitTime; }
+    public Duration getCheckoutFormWait() { return checkoutFormWait; }
+    public Duration getDomStabilityWait() { return domStabilityWait; }
+    public Duration getOverlayDismissWait() { return overlayDismissWait; }
+    public Duration getElementInteractionWait() { return elementInteractionWait; }
+    public Duration getPageRefreshStabilityWait() { return pageRefreshStabilityWait; }
+    public Duration getCartPreviewWait() { return cartPreviewWait; }
+
+    public String getScreenshotPath() { return screenshotPath; }
+    public String getFailureLogPath() { require("failure log"); return failureLogPath; }
+    public String getScreenshotFormat() { require("screenshots"); return screenshotFormat; }
+    public double getScreenshotScale() { require("screenshots"); return screenshotScale; }
+    public double getScreenshotJpegQuality() { require("screenshots"); return screenshotJpegQuality; }
+    public int getScreenshotQueueSize() { require("screenshots"); return screenshotQueueSize; }
+    public boolean isMetricsEnabled() { require("metrics"); return metricsEnabled; }
+    public String getMetricsPath() { require("metrics"); return metricsPath; }
+    public boolean isTracingEnabled() { require("tracing"); return tracingEnabled; }
+    public String getTracingPath() { require("tracing"); return tracingPath; }
+    public int getTracingMaxEvents() { require("tracing"); return tracingMaxEvents; }
+    public boolean isJfrEnabled() { require("jfr"); return jfrEnabled; }
+    public String getJfrSettings() { require("jfr"); return jfrSettings; }
+    public String getJfrPath() { require("jfr"); return jfrPath; }
+    public boolean isNavigationTimingEnabled() { require("metrics"); return navigationTimingEnabled; }
+    public String getPerformancePath() { require("performance"); return performancePath; }
+    public boolean isPerformanceBaselineEnabled() { require("performance"); return performanceBaselineEnabled; }
+    public String getPerformanceBaselinePath() { require("performance"); return performanceBaselinePath; }
+    public int getPerformanceBaselineRuns() { require("performance"); return performanceBaselineRuns; }
+    public int getPerformanceBaselineMinSamples() { require("performance"); return performanceBaselineMinSamples; }
+    public double getPerformanceRegressionAlpha() { require("performance"); return performanceRegressionAlpha; }
+    public int getPerformanceRegressionBudgetPercent() { require("performance"); return performanceRegressionBudgetPercent; }
+    public boolean isPerformanceRegressionFail() { require("performance"); return performanceRegressionFail; }
+    public String getPerformanceBudgetMode() { require("performance"); return performanceBudgetMode; }
+    public String getSchedulingOrder() { require("scheduling"); return schedulingOrder; }
+    public int getShardCount() { require("scheduling"); return shardCount; }
+    public int getShardIndex() { require("scheduling"); return shardIndex; }
+    public boolean isCoverageEnabled() { require("coverage"); return coverageEnabled; }
+    public String getCoveragePath() { require("coverage"); return coveragePath; }
+    public String getImpactBase() { require("coverage"); return impactBase; }
+    public boolean isFixturesParallelBranches() { require("fixtures"); return fixturesParallelBranches; }
+
+    public boolean isTestDataCacheEnabled() { require("test data"); return testDataCacheEnabled; }
+    public String getTestCoffeeItem() { return testCoffeeItem; }
+    public String getDefaultTestName() { return defaultTestName; }
+    public String getDefaultTestEmail() { return defaultTestEmail; }
+    public String getInvalidTestEmail() { return invalidTestEmail; }
+    public String getDiscountedMochaPrice() { return discountedMochaPrice; }
+    public int getMaxCartItems() { return maxCartItems; }
+    public String getPromoTriggerItem() { return promoTriggerItem; }
+    public String getCartEmptyText() { return cartEmptyText; }
+    public String getCartEmptyPrice() { return cartEmptyPrice; }
+    public String getTotalButtonSelector() { return totalButtonSelector; }
+    public String getCheckoutTotalSelector() { return checkoutTotalSelector; }
+
+    public long getSyntheticUserCount() { require("synthetic users"); return syntheticUserCount; }
+    public long getSyntheticUserSeed() { require("synthetic users"); return syntheticUserSeed; }
+    public int getSyntheticUserPartition() { require("synthetic users"); return syntheticUserPartition; }
+    public int getSyntheticInvalidEmailPercent() { require("synthetic users"); return syntheticInvalidEmailPercent; }
+    public int getCombinatorialStrength() { require("test data"); return combinatorialStrength; }
+
+    public int getBrowserBenchmarkWarmup() { require("browser benchmark"); return browserBenchmarkWarmup; }
+    public int getBrowserBenchmarkIterations() { require("browser benchmark"); return browserBenchmarkIterations; }
+    public String getBrowserBenchmarkAppDir() { require("browser benchmark"); return browserBenchmarkAppDir; }
+
+    public int getLoadUsers() { require("load"); return loadUsers; }
+    public String getLoadModel() { require("load"); return loadModel; }
+    public Duration getLoadDuration() { require("load"); return loadDuration; }
+    public Duration getLoadRampUp() { require("load"); return loadRampUp; }
+    public Duration getLoadThinkTime() { require("load"); return loadThinkTime; }
+    public double getLoadArrivalRate() { require("load"); return loadArrivalRate; }
+    public String getLoadAppDir() { require("load"); return loadAppDir; }
+
+    public String getMonitorJourney() { require("monitor"); return monitorJourney; }
+    public Duration getMonitorInterval() { require("monitor"); return monitorInterval; }
+    public int getMonitorRuns() { require("monitor"); return monitorRuns; }
+    public String getMonitorPath() { require("monitor"); return monitorPath; }
+    public Duration getMonitorSloWindow() { require("monitor"); return monitorSloWindow; }
+    public int getMonitorSloSuccessPercent() { require("monitor"); return monitorSloSuccessPercent; }
+    public Duration getMonitorSloLatency() { require("monitor"); return monitorSloLatency; }
+    public int getMonitorSloLatencyPercent() { require("monitor"); return monitorSloLatencyPercent; }
+    public String getMonitorAlertWebhook() { require("monitor"); return monitorAlertWebhook; }
+
+    public double getPriceRangeMin() { return priceRangeMin; }
+    public double getPriceRangeMax() { return priceRangeMax; }
+    public double getInvalidPriceRangeMin() { return invalidPriceRangeMin; }
+    public double getInvalidPriceRangeMax() { return invalidPriceRangeMax; }
+    public double getInvalidPriceThreshold() { return invalidPriceThreshold; }
+
+    // Reads and converts values while collecting every problem, so one reload reports all mistakes at once
+    private static final class Parser {
+        private final Function<String, String> properties;
+        private final List<String> errors = new ArrayList<>();
+
+        Parser(Function<String, String> properties) {
+            this.properties = properties;
+        }
+
+        String optional(String key) {
+            String value = properties.apply(key);
+            return value == null || value.trim().isEmpty() ? null : value.trim();
+        }
+
+        String string(String key) {
+            String value = optional(key);
+            if (value == null) {
+                errors.add("Property '" + key + "' not found or empty in config file");
+            }
+            return value;
+        }
+
+        String[] list(String key) {
+            String value = optional(key);
+            if (value == null) {
+                return new String[0];
+            }
+            List<String> values = new ArrayList<>();
+            for (String option : value.split(",")) {
+                if (!option.trim().isEmpty()) {
+                    values.add(option.trim());
+                }
+            }
+            return values.toArray(new String[0]);
+        }
+
+        boolean bool(String key) {
+            String value = string(key);
+            if (value != null && !value.equalsIgnoreCase("true") && !value.equalsIgnoreCase("false")) {
+                errors.add("Property '" + key + "' must be true or false but was '" + value + "'");
+            }
+            return Boolean.parseBoolean(value);
+        }
+
+        long anyLong(String key) {
+            String value = string(key);
+            if (value == null) {
+                return 0;
+            }
+            try {
+                return Long.parseLong(value);
+            } catch (NumberFormatException e) {
+                errors.add("Property '" + key + "' must be a whole number but was '" + value + "'");
+                return 0;
+            }
+        }
+
+        long positiveLong(String key) {
+            long value = anyLong(key);
+            if (value <= 0 && optional(key) != null) {
+                errors.add("Property '" + key + "' must be greater than zero");
+            }
+            return value;
+        }
+
+        int nonNegativeInt(String key) {
+            long value = anyLong(key);
+            if (value < 0 || value > Integer.MAX_VALUE) {
+                errors.add("Property '" + key + "' must be between 0 and " + Integer.MAX_VALUE);
+            }
+            return (int) value;
+        }
+
+        int positiveInt(String key) {
+            int value = nonNegativeInt(key);
+            if (value == 0 && optional(key) != null) {
+                errors.add("Property '" + key + "' must be greater than zero");
+            }
+            return value;
+        }
+
+        int percent(String key) {
+            int value = nonNegativeInt(key);
+            if (value > 100) {
+                errors.add("Property '" + key + "' must be a percentage between 0 and 100");
+            }
+            return value;
+        }
+
+        double decimal(String key) {
+            String value = string(key);
+            if (value == null) {
+                return 0;
+            }
+            try {
+                return Double.parseDouble(value);
+            } catch (NumberFormatException e) {
+                errors.add("Property '" + key + "' must be a number but was '" + value + "'");
+                return 0;
+            }
+        }
+
+        // A number greater than 0 and at most 1, used for scale factors and quality settings
+        double fraction(String key) {
+            double value = decimal(key);
+            if ((value <= 0 || value > 1) && optional(key) != null) {
+                errors.add("Property '" + key + "' must be greater than 0 and at most 1 but was '" + optional(key) + "'");
+            }
+            return value;
+        }
+
+        String oneOf(String key, String... allowed) {
+            String value = string(key);
+            if (value != null && !Arrays.asList(allowed).contains(value.toLowerCase())) {
+                errors.add("Property '" + key + "' must be one of " + Arrays.toString(allowed) + " but was '" + value + "'");
+            }
+            return value == null ? null : value.toLowerCase();
+        }
+
+        Duration seconds(String key) {
+            return Duration.ofSeconds(nonNegativeInt(key));
+        }
+
+        Duration millis(String key) {
+            return Duration.ofMillis(nonNegativeInt(key));
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.coffeecart.managers;
+
+import java.io.IOException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import com.coffeecart.utils.LoggerUtil;
+
+/**
+ * Watches the configuration file and profile directories and asks ConfigManager to reload when any
+ * .properties file changes, so waits can be tuned during a long run without restarting it.
+ */
+class ConfigWatcher implements Runnable {
+    private static volatile Thread watcherThread;
+
+    private final Set<Path> directories;
+
+    private ConfigWatcher(Set<Path> directories) {
+        this.directories = directories;
+    }
+
+    // Starts a single daemon watcher thread; files are watched through their parent directory
+    static synchronized void start(List<String> paths) {
+        if (watcherThread != null) {
+            return;
+        }
+        Set<Path> directories = new LinkedHashSet<>();
+        for (String path : paths) {
+            Path absolute = Paths.get(path).toAbsolutePath();
+            if (Files.isDirectory(absolute)) {
+                directories.add(absolute);
+            } else if (absolute.getParent() != null && Files.isDirectory(absolute.getParent())) {
+                directories.add(absolute.getParent());
+            }
+        }
+        watcherThread = new Thread(new ConfigWatcher(directories), "config-watcher");
+        watcherThread.setDaemon(true);
+        watcherThread.start();
+        LoggerUtil.info("Watching " + directories + " for configuration changes");
+    }
+
+    @Override
+    public void run() {
+        try (WatchService watchService = FileSystems.getDefault().newWatchService()) {
+            for (Path directory : directories) {
+                directory.register(watchService, StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_CREATE);
+            }
+            while (!Thread.currentThread().isInterrupted()) {
+                WatchKey key = watchService.take();
+                boolean configChanged = false;
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    if (event.context().toString().endsWith(".properties")) {
+                        configChanged = true;
+                    }
+                }
+                if (configChanged) {
+                    // Editors often write the file in several steps; give them a moment to finish
+                    Thread.sleep(200);
+                    ConfigManager.refreshConfiguration();
+                }
+                if (!key.reset()) {
+                    LoggerUtil.warn("Configuration directory is no longer accessible: " + key.watchable());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            LoggerUtil.error("Config watcher stopped: " + e.getMessage());
+        }
+    }
+}
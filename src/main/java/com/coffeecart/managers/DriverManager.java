@@ -1,16 +1,39 @@
 package com.coffeecart.managers;
 
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+
+import org.openqa.selenium.JavascriptExecutor;
 import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.events.EventFiringDecorator;
+import org.openqa.selenium.support.events.WebDriverListener;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.coffeecart.coverage.CoverageListener;
+import com.coffeecart.metrics.CommandMetricsListener;
+import com.coffeecart.tracing.TracingListener;
+
 /**
  * Manages WebDriver instances with thread-safe operations.
+ * With pooling on (the long-lived CoffeeCartApp runner) closed drivers are cleaned and kept per browser
+ * instead of quit, so the next run or test class reuses a started browser.
  */
 public class DriverManager {
     private static final Logger logger = LoggerFactory.getLogger(DriverManager.class);
     private static final ThreadLocal<WebDriver> driverThread = new ThreadLocal<>();
     private static final BrowserFactory browserFactory = new BrowserFactory();
+    private static final CommandMetricsListener commandMetrics = new CommandMetricsListener();
+    private static final TracingListener tracing = new TracingListener();
+    private static final CoverageListener coverage = new CoverageListener();
+    private static final Map<String, Deque<WebDriver>> idleDrivers = new ConcurrentHashMap<>();
+    private static final ThreadLocal<String> driverBrowser = new ThreadLocal<>();
+    private static volatile boolean pooling;
 
     // Gets the current WebDriver instance using the default browser from config
     public static WebDriver getDriver() {
@@ -21,9 +44,22 @@ public class DriverManager {
     public static WebDriver getDriver(String browser) {
         if (driverThread.get() == null) {
             try {
-                WebDriver driver = browserFactory.createDriver(browser);
+                // The thread owning this driver reads the matching browser profile from now on
+                ConfigManager.useBrowserProfile(browser);
+                String key = browser.trim().toLowerCase(Locale.ROOT);
+                WebDriver driver = pooling ? idleDrivers.getOrDefault(key, new ConcurrentLinkedDeque<>()).poll() : null;
+                if (driver != null) {
+                    logger.info("Reusing pooled WebDriver instance for browser: {}", browser);
+                } else {
+                    driver = decorate(browserFactory.createDriver(browser));
+                    if (pooling) {
+                        // The pool owns pooled drivers, which may later be handed to other threads
+                        browserFactory.releaseDriver();
+                    }
+                    logger.info("Successfully created new WebDriver instance for browser: {}", browser);
+                }
                 driverThread.set(driver);
-                logger.info("Successfully created new WebDriver instance for browser: {}", browser);
+                driverBrowser.set(key);
             } catch (Exception e) {
                 logger.error("Failed to create the WebDriver: {}", e.getMessage());
                 throw e;
@@ -33,13 +69,65 @@ public class DriverManager {
     }
 
 
-    // Safely closes the WebDriver
+    // Whether the calling thread (one browser lane) already has a live driver
+    public static boolean hasDriver() {
+        return driverThread.get() != null;
+    }
+
+    // Every command issued through the returned driver is timed into the latency histograms and/or traced as a span;
+    // with coverage on, locator lookups are recorded for the current test
+    private static WebDriver decorate(WebDriver driver) {
+        List<WebDriverListener> listeners = new ArrayList<>();
+        if (ConfigManager.snapshot().isMetricsEnabled()) {
+            listeners.add(commandMetrics);
+        }
+        if (ConfigManager.snapshot().isTracingEnabled()) {
+            listeners.add(tracing);
+        }
+        if (ConfigManager.snapshot().isCoverageEnabled()) {
+            listeners.add(coverage);
+        }
+        if (listeners.isEmpty()) {
+            return driver;
+        }
+        return new EventFiringDecorator<>(listeners.toArray(new WebDriverListener[0])).decorate(driver);
+    }
+
+    // Keeps closed drivers for reuse instead of quitting them; used by the long-lived in-process runner
+    public static void setPooling(boolean enabled) {
+        pooling = enabled;
+    }
+
+    // Quits every pooled browser, called when the runner exits
+    public static void quitPooledDrivers() {
+        for (Deque<WebDriver> drivers : idleDrivers.values()) {
+            WebDriver driver;
+            while ((driver = drivers.poll()) != null) {
+                try {
+                    driver.quit();
+                } catch (Exception e) {
+                    logger.error("Failed to quit pooled WebDriver: {}", e.getMessage());
+                }
+            }
+        }
+    }
+
+    // Safely closes the WebDriver, or returns it to the pool when pooling is on and it could be cleaned
     public static void closeDriver() {
         try {
             WebDriver driver = driverThread.get();
+            if (driver != null && pooling && resetForReuse(driver)) {
+                idleDrivers.computeIfAbsent(driverBrowser.get(), key -> new ConcurrentLinkedDeque<>()).push(driver);
+                driverThread.remove();
+                driverBrowser.remove();
+                logger.info("Returned the driver to the pool");
+                return;
+            }
             if (driver != null) {
-                driver.quit();
+                // Detached first, so a crashed browser that cannot be quit is still replaced by the next getDriver
                 driverThread.remove();
+                driverBrowser.remove();
+                driver.quit();
                 browserFactory.quitDriver();
                 logger.info("Successfully closed the driver");
             }
@@ -49,6 +137,22 @@ public class DriverManager {
         }
     }
 
+    // Clears cookies and storage and leaves the app, so the next user of a pooled browser starts like a fresh one
+    private static boolean resetForReuse(WebDriver driver) {
+        try {
+            driver.manage().deleteAllCookies();
+            if (driver instanceof JavascriptExecutor) {
+                ((JavascriptExecutor) driver).executeScript(
+                        "try { window.localStorage.clear(); window.sessionStorage.clear(); } catch (e) {}");
+            }
+            driver.get("about:blank");
+            return true;
+        } catch (Exception e) {
+            logger.warn("Could not clean the driver for reuse, quitting it instead: {}", e.getMessage());
+            return false;
+        }
+    }
+
     // Resets the driver by closing current instance and clearing thread storage
     public static void resetDriver() {
         closeDriver();
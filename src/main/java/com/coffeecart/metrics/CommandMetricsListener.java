@@ -0,0 +1,102 @@
+package com.coffeecart.metrics;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.decorators.Decorated;
+import org.openqa.selenium.support.events.WebDriverListener;
+
+/**
+ * Times every call made through a driver decorated with EventFiringDecorator and records it in MetricsRegistry.
+ * Element calls are labelled with the locator that found the element, so click and getText times can be traced
+ * back to the page object field that issued them.
+ */
+public class CommandMetricsListener implements WebDriverListener {
+
+    private static final String NO_LOCATOR = "-";
+
+    // Start times of the calls in progress on this thread; a stack because a call can trigger nested calls
+    private final ThreadLocal<Deque<Long>> startTimes = ThreadLocal.withInitial(ArrayDeque::new);
+
+    // Locator each element was found with; weak keys so elements from finished pages can be collected
+    private final Map<WebElement, String> elementLocators = Collections.synchronizedMap(new WeakHashMap<>());
+
+    @Override
+    public void beforeAnyCall(Object target, Method method, Object[] args) {
+        startTimes.get().push(System.nanoTime());
+    }
+
+    @Override
+    public void afterAnyCall(Object target, Method method, Object[] args, Object result) {
+        Long start = startTimes.get().poll();
+        if (start == null) {
+            return;
+        }
+        long elapsed = System.nanoTime() - start;
+        rememberLocators(method, args, result);
+        MetricsRegistry.recordCommand(commandName(target, method), locatorFor(target, args), false, elapsed);
+    }
+
+    @Override
+    public void onError(Object target, Method method, Object[] args, InvocationTargetException e) {
+        Long start = startTimes.get().poll();
+        if (start == null) {
+            return;
+        }
+        MetricsRegistry.recordCommand(commandName(target, method), locatorFor(target, args), true, System.nanoTime() - start);
+    }
+
+    // Navigation calls are reported as navigate.to, navigate.refresh and so on; everything else by method name
+    static String commandName(Object target, Method method) {
+        if (target instanceof WebDriver.Navigation) {
+            return "navigate." + method.getName();
+        }
+        return method.getName();
+    }
+
+    private String locatorFor(Object target, Object[] args) {
+        if (args != null && args.length > 0 && args[0] instanceof By) {
+            return args[0].toString();
+        }
+        if (target instanceof WebElement) {
+            return elementLocators.getOrDefault(target, "unknown");
+        }
+        return NO_LOCATOR;
+    }
+
+    private void rememberLocators(Method method, Object[] args, Object result) {
+        if (args == null || args.length == 0 || !(args[0] instanceof By)) {
+            return;
+        }
+        String locator = args[0].toString();
+        if (result instanceof WebElement) {
+            elementLocators.put(original((WebElement) result), locator);
+        } else if (result instanceof List && "findElements".equals(method.getName())) {
+            for (Object element : (List<?>) result) {
+                if (element instanceof WebElement) {
+                    elementLocators.put(original((WebElement) element), locator);
+                }
+            }
+        }
+    }
+
+    // Results reach the listener already decorated, while later calls report the undecorated element as target
+    private static WebElement original(WebElement element) {
+        if (element instanceof Decorated) {
+            Object original = ((Decorated<?>) element).getOriginal();
+            if (original instanceof WebElement) {
+                return (WebElement) original;
+            }
+        }
+        return element;
+    }
+}
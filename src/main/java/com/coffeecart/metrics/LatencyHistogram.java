@@ -0,0 +1,102 @@
+package com.coffeecart.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free latency histogram with log-linear buckets in the style of HdrHistogram. Every power of two is split
+ * into 32 equal sub-buckets, so any recorded value is reproduced within about 3% at a fixed memory cost
+ * (2048 counters) regardless of how many samples are recorded. Values are nanoseconds.
+ */
+public class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKET_COUNT = (64 - SUB_BUCKET_BITS) * SUB_BUCKET_COUNT;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+    private final LongAdder totalCount = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final AtomicLong minNanos = new AtomicLong(Long.MAX_VALUE);
+    private final AtomicLong maxNanos = new AtomicLong();
+
+    // Records one sample; negative values are treated as zero
+    public void record(long nanos) {
+        long value = Math.max(0, nanos);
+        counts.incrementAndGet(bucketIndex(value));
+        totalCount.increment();
+        totalNanos.add(value);
+        minNanos.accumulateAndGet(value, Math::min);
+        maxNanos.accumulateAndGet(value, Math::max);
+    }
+
+    public long getCount() {
+        return totalCount.sum();
+    }
+
+    public long getTotalNanos() {
+        return totalNanos.sum();
+    }
+
+    public long getMinNanos() {
+        return getCount() == 0 ? 0 : minNanos.get();
+    }
+
+    public long getMaxNanos() {
+        return maxNanos.get();
+    }
+
+    public double getMeanNanos() {
+        long count = getCount();
+        return count == 0 ? 0 : (double) getTotalNanos() / count;
+    }
+
+    // Value at the given percentile (0-100), reported as the midpoint of the bucket it falls in
+    public long getValueAtPercentile(double percentile) {
+        long count = getCount();
+        if (count == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * count));
+        long seen = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            seen += counts.get(i);
+            if (seen >= rank) {
+                long lower = lowerBound(i);
+                long mid = lower + (lowerBound(i + 1) - lower) / 2;
+                return Math.min(Math.max(mid, getMinNanos()), getMaxNanos());
+            }
+        }
+        return getMaxNanos();
+    }
+
+    // Number of samples known to be at or below the given value, for cumulative OpenMetrics buckets
+    public long getCountAtOrBelow(long nanos) {
+        long seen = 0;
+        for (int i = 0; i < BUCKET_COUNT && lowerBound(i + 1) - 1 <= nanos; i++) {
+            seen += counts.get(i);
+        }
+        return seen;
+    }
+
+    static int bucketIndex(long value) {
+        if (value < SUB_BUCKET_COUNT * 2) {
+            return (int) value;
+        }
+        int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        return ((shift + 1) << SUB_BUCKET_BITS) + (int) ((value >>> shift) - SUB_BUCKET_COUNT);
+    }
+
+    // Smallest value that lands in the given bucket
+    static long lowerBound(int index) {
+        if (index < SUB_BUCKET_COUNT * 2) {
+            return index;
+        }
+        if (index >= BUCKET_COUNT) {
+            return Long.MAX_VALUE;
+        }
+        int shift = (index >> SUB_BUCKET_BITS) - 1;
+        return (long) ((index & (SUB_BUCKET_COUNT - 1)) + SUB_BUCKET_COUNT) << shift;
+    }
+}
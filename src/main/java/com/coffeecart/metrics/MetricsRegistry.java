@@ -0,0 +1,188 @@
+package com.coffeecart.metrics;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.openqa.selenium.json.Json;
+
+import com.coffeecart.managers.ConfigManager;
+import com.coffeecart.utils.LoggerUtil;
+
+/**
+ * Process-wide latency histograms for WebDriver commands and whole tests, exported at the end of a suite as
+ * JSON (commands.json) and as OpenMetrics text (metrics.txt) that Prometheus-compatible tooling can scrape or import.
+ */
+public class MetricsRegistry {
+
+    public static final String COMMAND_FAMILY = "webdriver_command_duration_seconds";
+    public static final String TEST_FAMILY = "test_duration_seconds";
+
+    // Cumulative bucket boundaries written to the OpenMetrics histogram, in seconds
+    private static final double[] EXPORT_BUCKETS = { 0.001, 0.005, 0.01, 0.025, 0.05, 0.1, 0.25, 0.5, 1, 2.5, 5, 10, 30, 60 };
+
+    private static final Map<Series, LatencyHistogram> histograms = new ConcurrentHashMap<>();
+
+    // Records one WebDriver command, keyed by the calling thread's browser, command name, locator and whether it threw
+    public static void recordCommand(String command, String locator, boolean failed, long nanos) {
+        histogram(new Series(COMMAND_FAMILY, "browser", ConfigManager.getBrowser(), "command", command, "locator", locator,
+                "outcome", failed ? "error" : "ok")).record(nanos);
+    }
+
+    // Records a finished test method with its browser and TestNG status
+    public static void recordTest(String testName, String status, long nanos) {
+        histogram(new Series(TEST_FAMILY, "browser", ConfigManager.getBrowser(), "test", testName, "status", status)).record(nanos);
+    }
+
+    public static LatencyHistogram histogram(Series series) {
+        return histograms.computeIfAbsent(series, key -> new LatencyHistogram());
+    }
+
+    public static Map<Series, LatencyHistogram> getHistograms() {
+        return histograms;
+    }
+
+    public static void reset() {
+        histograms.clear();
+    }
+
+    // Writes commands.json and metrics.txt into the given directory, replacing earlier exports of the same run
+    public static void export(Path directory) {
+        if (histograms.isEmpty()) {
+            return;
+        }
+        try {
+            Files.createDirectories(directory);
+            Files.write(directory.resolve("commands.json"), toJson().getBytes(StandardCharsets.UTF_8));
+            Files.write(directory.resolve("metrics.txt"), toOpenMetrics().getBytes(StandardCharsets.UTF_8));
+            LoggerUtil.info("Exported {} latency series to {}", histograms.size(), directory.toAbsolutePath());
+        } catch (IOException e) {
+            LoggerUtil.error("Failed to export metrics: " + e.getMessage());
+        }
+    }
+
+    // One object per series with count, total, min, mean, max and percentiles in milliseconds
+    public static String toJson() {
+        List<Map<String, Object>> series = new ArrayList<>();
+        for (Map.Entry<Series, LatencyHistogram> entry : sortedEntries()) {
+            LatencyHistogram histogram = entry.getValue();
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("metric", entry.getKey().family);
+            row.putAll(entry.getKey().labels());
+            row.put("count", histogram.getCount());
+            row.put("totalMs", millis(histogram.getTotalNanos()));
+            row.put("minMs", millis(histogram.getMinNanos()));
+            row.put("meanMs", millis((long) histogram.getMeanNanos()));
+            row.put("p50Ms", millis(histogram.getValueAtPercentile(50)));
+            row.put("p90Ms", millis(histogram.getValueAtPercentile(90)));
+            row.put("p99Ms", millis(histogram.getValueAtPercentile(99)));
+            row.put("maxMs", millis(histogram.getMaxNanos()));
+            series.add(row);
+        }
+        return new Json().toJson(series);
+    }
+
+    public static String toOpenMetrics() {
+        StringBuilder builder = new StringBuilder();
+        String currentFamily = null;
+        for (Map.Entry<Series, LatencyHistogram> entry : sortedEntries()) {
+            Series series = entry.getKey();
+            LatencyHistogram histogram = entry.getValue();
+            if (!series.family.equals(currentFamily)) {
+                currentFamily = series.family;
+                builder.append("# TYPE ").append(currentFamily).append(" histogram\n");
+                builder.append("# UNIT ").append(currentFamily).append(" seconds\n");
+                builder.append("# HELP ").append(currentFamily).append(COMMAND_FAMILY.equals(currentFamily)
+                        ? " Latency of WebDriver commands.\n" : " Duration of test methods.\n");
+            }
+            String labels = series.openMetricsLabels();
+            for (double bucket : EXPORT_BUCKETS) {
+                builder.append(currentFamily).append("_bucket{").append(labels).append(",le=\"").append(bucket).append("\"} ")
+                        .append(histogram.getCountAtOrBelow((long) (bucket * 1_000_000_000L))).append('\n');
+            }
+            builder.append(currentFamily).append("_bucket{").append(labels).append(",le=\"+Inf\"} ").append(histogram.getCount()).append('\n');
+            builder.append(currentFamily).append("_count{").append(labels).append("} ").append(histogram.getCount()).append('\n');
+            builder.append(currentFamily).append("_sum{").append(labels).append("} ").append(histogram.getTotalNanos() / 1e9).append('\n');
+        }
+        return builder.append("# EOF\n").toString();
+    }
+
+    private static List<Map.Entry<Series, LatencyHistogram>> sortedEntries() {
+        List<Map.Entry<Series, LatencyHistogram>> entries = new ArrayList<>(histograms.entrySet());
+        entries.sort((a, b) -> a.getKey().sortKey().compareTo(b.getKey().sortKey()));
+        return entries;
+    }
+
+    private static double millis(long nanos) {
+        return Math.round(nanos / 1_000.0) / 1_000.0;
+    }
+
+    /**
+     * A metric family plus its label values, e.g. webdriver_command_duration_seconds{command="click",locator="..."}.
+     * Labels are given as alternating name/value pairs.
+     */
+    public static final class Series {
+        private final String family;
+        private final String[] labelPairs;
+        private final int hash;
+
+        public Series(String family, String... labelPairs) {
+            this.family = family;
+            this.labelPairs = labelPairs;
+            this.hash = 31 * family.hashCode() + Arrays.hashCode(labelPairs);
+        }
+
+        public String getFamily() {
+            return family;
+        }
+
+        public Map<String, String> labels() {
+            Map<String, String> labels = new LinkedHashMap<>();
+            for (int i = 0; i + 1 < labelPairs.length; i += 2) {
+                labels.put(labelPairs[i], Objects.toString(labelPairs[i + 1], ""));
+            }
+            return labels;
+        }
+
+        String openMetricsLabels() {
+            StringBuilder builder = new StringBuilder();
+            for (Map.Entry<String, String> label : labels().entrySet()) {
+                if (builder.length() > 0) {
+                    builder.append(',');
+                }
+                builder.append(label.getKey()).append("=\"").append(escape(label.getValue())).append('"');
+            }
+            return builder.toString();
+        }
+
+        private String sortKey() {
+            return family + '\u0000' + String.join("\u0000", labels().values());
+        }
+
+        private static String escape(String value) {
+            return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (!(other instanceof Series)) {
+                return false;
+            }
+            Series series = (Series) other;
+            return family.equals(series.family) && Arrays.equals(labelPairs, series.labelPairs);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
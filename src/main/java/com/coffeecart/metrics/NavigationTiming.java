@@ -0,0 +1,106 @@
+package com.coffeecart.metrics;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.json.Json;
+
+import com.coffeecart.managers.ConfigManager;
+import com.coffeecart.managers.ConfigSnapshot;
+import com.coffeecart.utils.LoggerUtil;
+
+/**
+ * Reads the browser's Navigation Timing, Paint Timing and Largest Contentful Paint entries after a page load and
+ * appends one JSON line per navigation to performance.path/navigation-<run>.jsonl. Each record is tagged with the
+ * run, browser and test so application or environment slowdowns can be compared across runs.
+ * Values the browser does not expose (LCP and JS heap in Firefox) are left out of the record.
+ */
+public class NavigationTiming {
+
+    // Navigation entry plus FCP and heap, then LCP through a buffered PerformanceObserver, which is the only way
+    // browsers expose it; the observer is given a short grace period before the script returns without it
+    private static final String TIMING_SCRIPT =
+            "var done = arguments[arguments.length - 1];"
+            + "var result = {}; var finished = false;"
+            + "function finish() { if (!finished) { finished = true; done(result); } }"
+            + "var nav = performance.getEntriesByType ? performance.getEntriesByType('navigation')[0] : null;"
+            + "if (nav) {"
+            + "  result.navigationType = nav.type; result.ttfbMs = nav.responseStart;"
+            + "  result.domContentLoadedMs = nav.domContentLoadedEventEnd; result.loadMs = nav.loadEventEnd;"
+            + "  result.transferBytes = nav.transferSize;"
+            + "} else if (performance.timing) {"
+            + "  var t = performance.timing;"
+            + "  result.ttfbMs = t.responseStart - t.navigationStart;"
+            + "  result.domContentLoadedMs = t.domContentLoadedEventEnd - t.navigationStart;"
+            + "  result.loadMs = t.loadEventEnd - t.navigationStart;"
+            + "}"
+            + "var fcp = performance.getEntriesByName ? performance.getEntriesByName('first-contentful-paint')[0] : null;"
+            + "if (fcp) { result.fcpMs = fcp.startTime; }"
+            + "if (performance.memory) { result.jsHeapUsedBytes = performance.memory.usedJSHeapSize; }"
+            + "try {"
+            + "  if (window.PerformanceObserver && PerformanceObserver.supportedEntryTypes"
+            + "      && PerformanceObserver.supportedEntryTypes.indexOf('largest-contentful-paint') >= 0) {"
+            + "    new PerformanceObserver(function (list, observer) {"
+            + "      var entries = list.getEntries();"
+            + "      if (entries.length) { result.lcpMs = entries[entries.length - 1].startTime; }"
+            + "      observer.disconnect(); finish();"
+            + "    }).observe({ type: 'largest-contentful-paint', buffered: true });"
+            + "    setTimeout(finish, 250);"
+            + "    return;"
+            + "  }"
+            + "} catch (e) {}"
+            + "finish();";
+
+    private static final Object fileLock = new Object();
+
+    // Captures the timings of the page that was just loaded; never fails the calling navigation
+    @SuppressWarnings("unchecked")
+    public static void capture(WebDriver driver, String kind) {
+        ConfigSnapshot config = ConfigManager.snapshot();
+        if (!config.isNavigationTimingEnabled() || !(driver instanceof JavascriptExecutor)) {
+            return;
+        }
+        try {
+            Object timings = ((JavascriptExecutor) driver).executeAsyncScript(TIMING_SCRIPT);
+
+            Map<String, Object> record = new LinkedHashMap<>();
+            record.put("runId", RunContext.getRunId());
+            record.put("timestamp", Instant.now().toString());
+            record.put("browser", ConfigManager.getBrowser());
+            record.put("test", RunContext.getCurrentTest());
+            record.put("kind", kind);
+            record.put("url", driver.getCurrentUrl());
+            if (timings instanceof Map) {
+                record.putAll((Map<String, Object>) timings);
+            }
+            append(Paths.get(config.getPerformancePath()), record);
+            LoggerUtil.debug("Navigation timing for {}: {}", kind, record);
+        } catch (Exception e) {
+            LoggerUtil.warn("Failed to capture navigation timing: {}", e.getMessage());
+        }
+    }
+
+    private static void append(Path directory, Map<String, Object> record) throws IOException {
+        StringBuilder line = new StringBuilder(256);
+        new Json().newOutput(line).setPrettyPrint(false).write(record);
+        line.append('\n');
+        synchronized (fileLock) {
+            Files.createDirectories(directory);
+            Path file = directory.resolve("navigation-" + RunContext.getRunId() + ".jsonl");
+            try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                writer.write(line.toString());
+            }
+        }
+    }
+}
@@ -0,0 +1,314 @@
+package com.coffeecart.metrics;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.openqa.selenium.json.Json;
+
+import com.coffeecart.managers.ConfigManager;
+import com.coffeecart.managers.ConfigSnapshot;
+import com.coffeecart.utils.LoggerUtil;
+
+/**
+ * Keeps the raw durations of passed tests and successful page actions for the current run, compares them with a
+ * rolling baseline made of the previous runs and then stores the run as part of that baseline.
+ *
+ * A series is reported as a regression only when both hold: a one-sided Mann-Whitney U test says the new samples
+ * are slower than the baseline samples (p below performance.regression.alpha), and the p95 grew by more than
+ * performance.regression.p95.budget.percent. The first guards against noise, the second against statistically
+ * real but irrelevant shifts. Series are keyed by kind, browser and name, e.g. "action|chrome|MenuPage.click:.cup-body".
+ */
+public class PerformanceBaseline {
+
+    private static final String RUN_FILE_PREFIX = "run-";
+
+    // Above this many sample pairs the exact U distribution gets costly and the normal approximation is accurate
+    private static final int EXACT_TEST_LIMIT = 10_000;
+
+    private static final Map<String, List<Double>> samples = new ConcurrentHashMap<>();
+
+    // Records a passed test method for the browser it ran on
+    public static void recordTest(String browser, String testName, long nanos) {
+        record("test|" + browser + "|" + testName, nanos);
+    }
+
+    // Records a successful page object action, e.g. MenuPage.click on a given locator
+    public static void recordAction(String browser, String page, String action, String locator, long nanos) {
+        record("action|" + browser + "|" + page + "." + action + ":" + locator, nanos);
+    }
+
+    public static boolean isEnabled() {
+        return ConfigManager.snapshot().isPerformanceBaselineEnabled();
+    }
+
+    public static void reset() {
+        samples.clear();
+    }
+
+    /**
+     * Compares this run with the stored runs, saves it as the newest baseline run and drops runs beyond
+     * performance.baseline.runs. Returns the regressions found, worst p95 change first.
+     */
+    public static List<Regression> evaluate() {
+        if (samples.isEmpty()) {
+            return Collections.emptyList();
+        }
+        ConfigSnapshot config = ConfigManager.snapshot();
+        Path directory = Paths.get(config.getPerformanceBaselinePath());
+        Map<String, List<Double>> current = currentSamples();
+        List<Regression> regressions = new ArrayList<>();
+        try {
+            Map<String, List<Double>> baseline = loadBaseline(directory, config.getPerformanceBaselineRuns());
+            for (Map.Entry<String, List<Double>> entry : current.entrySet()) {
+                List<Double> previous = baseline.get(entry.getKey());
+                if (previous == null || previous.size() < config.getPerformanceBaselineMinSamples()) {
+                    continue;
+                }
+                Regression comparison = compare(entry.getKey(), entry.getValue(), previous);
+                if (comparison.pValue < config.getPerformanceRegressionAlpha()
+                        && comparison.p95ChangePercent > config.getPerformanceRegressionBudgetPercent()) {
+                    regressions.add(comparison);
+                }
+            }
+            saveRun(directory, current);
+            prune(directory, config.getPerformanceBaselineRuns());
+        } catch (IOException | RuntimeException e) {
+            LoggerUtil.error("Failed to compare the run with the performance baseline: " + e.getMessage());
+        }
+        regressions.sort(Comparator.comparingDouble((Regression regression) -> regression.p95ChangePercent).reversed());
+        return regressions;
+    }
+
+    // Compares one series; exposed for callers that keep their own history
+    public static Regression compare(String series, List<Double> current, List<Double> baseline) {
+        double currentP95 = percentile(current, 95);
+        double baselineP95 = percentile(baseline, 95);
+        double change = baselineP95 > 0 ? (currentP95 - baselineP95) / baselineP95 * 100 : 0;
+        return new Regression(series, current.size(), baseline.size(), baselineP95, currentP95, change,
+                mannWhitneyGreaterPValue(current, baseline));
+    }
+
+    // Nearest-rank percentile of the samples in milliseconds
+    static double percentile(List<Double> values, double percentile) {
+        List<Double> sorted = new ArrayList<>(values);
+        Collections.sort(sorted);
+        int rank = (int) Math.ceil(percentile / 100.0 * sorted.size());
+        return sorted.get(Math.max(0, Math.min(sorted.size() - 1, rank - 1)));
+    }
+
+    /**
+     * One-sided Mann-Whitney U test of "current is stochastically greater than baseline". Ties get mid-ranks.
+     * Small samples use the exact distribution of U, which matters because a test method usually contributes a
+     * single sample per run; larger ones use the tie-corrected normal approximation.
+     */
+    static double mannWhitneyGreaterPValue(List<Double> current, List<Double> baseline) {
+        int n1 = current.size();
+        int n2 = baseline.size();
+        if (n1 == 0 || n2 == 0) {
+            return 1.0;
+        }
+        double[][] pooled = new double[n1 + n2][];
+        for (int i = 0; i < n1; i++) {
+            pooled[i] = new double[] { current.get(i), 1 };
+        }
+        for (int i = 0; i < n2; i++) {
+            pooled[n1 + i] = new double[] { baseline.get(i), 0 };
+        }
+        Arrays.sort(pooled, Comparator.comparingDouble(value -> value[0]));
+
+        double rankSum = 0;
+        double tieTerm = 0;
+        for (int i = 0; i < pooled.length;) {
+            int j = i;
+            while (j + 1 < pooled.length && pooled[j + 1][0] == pooled[i][0]) {
+                j++;
+            }
+            double midRank = (i + j + 2) / 2.0;
+            for (int k = i; k <= j; k++) {
+                if (pooled[k][1] == 1) {
+                    rankSum += midRank;
+                }
+            }
+            double ties = j - i + 1;
+            tieTerm += ties * ties * ties - ties;
+            i = j + 1;
+        }
+        double u = rankSum - n1 * (n1 + 1) / 2.0;
+
+        if ((long) n1 * n2 <= EXACT_TEST_LIMIT) {
+            return exactUpperTail(n1, n2, u);
+        }
+        int n = n1 + n2;
+        double mean = n1 * (double) n2 / 2;
+        double variance = n1 * (double) n2 / 12 * ((n + 1) - tieTerm / ((double) n * (n - 1)));
+        if (variance <= 0) {
+            return 1.0;
+        }
+        double z = (u - mean - 0.5) / Math.sqrt(variance);
+        return 1 - normalCdf(z);
+    }
+
+    // P(U >= u) under the null hypothesis, from the coefficients of the Gaussian binomial [n1+n2 choose n1]
+    private static double exactUpperTail(int n1, int n2, double u) {
+        int m = Math.min(n1, n2);
+        int n = Math.max(n1, n2);
+        double[] counts = new double[m * n + 1];
+        counts[0] = 1;
+        // Builds [n+i choose i] for i = 1..m, multiplying by (1 - q^(n+i)) and dividing by (1 - q^i) each step
+        for (int i = 1; i <= m; i++) {
+            for (int k = counts.length - 1; k >= n + i; k--) {
+                counts[k] -= counts[k - n - i];
+            }
+            for (int k = i; k < counts.length; k++) {
+                counts[k] += counts[k - i];
+            }
+        }
+        double total = 0;
+        double tail = 0;
+        int threshold = (int) Math.ceil(u - 1e-9);
+        for (int k = 0; k < counts.length; k++) {
+            total += counts[k];
+            if (k >= threshold) {
+                tail += counts[k];
+            }
+        }
+        return total > 0 ? Math.max(0.0, Math.min(1.0, tail / total)) : 1.0;
+    }
+
+    // Standard normal CDF (Abramowitz and Stegun 26.2.17, absolute error below 7.5e-8)
+    private static double normalCdf(double z) {
+        double t = 1 / (1 + 0.2316419 * Math.abs(z));
+        double density = Math.exp(-z * z / 2) / Math.sqrt(2 * Math.PI);
+        double upper = density * t * (0.319381530 + t * (-0.356563782 + t * (1.781477937 + t * (-1.821255978 + t * 1.330274429))));
+        return z >= 0 ? 1 - upper : upper;
+    }
+
+    private static void record(String series, long nanos) {
+        samples.computeIfAbsent(series, key -> Collections.synchronizedList(new ArrayList<>())).add(nanos / 1_000_000.0);
+    }
+
+    private static Map<String, List<Double>> currentSamples() {
+        Map<String, List<Double>> copy = new TreeMap<>();
+        samples.forEach((series, values) -> {
+            synchronized (values) {
+                copy.put(series, new ArrayList<>(values));
+            }
+        });
+        return copy;
+    }
+
+    // Pools the samples of the newest stored runs per series
+    @SuppressWarnings("unchecked")
+    private static Map<String, List<Double>> loadBaseline(Path directory, int runs) throws IOException {
+        Map<String, List<Double>> pooled = new LinkedHashMap<>();
+        Json json = new Json();
+        for (Path file : runFiles(directory).stream().limit(runs).collect(Collectors.toList())) {
+            Map<String, Object> run = json.toType(new String(Files.readAllBytes(file), StandardCharsets.UTF_8), Map.class);
+            Object stored = run.get("samples");
+            if (!(stored instanceof Map)) {
+                continue;
+            }
+            ((Map<String, Object>) stored).forEach((series, values) -> {
+                if (values instanceof List) {
+                    List<Double> target = pooled.computeIfAbsent(series, key -> new ArrayList<>());
+                    for (Object value : (List<Object>) values) {
+                        target.add(((Number) value).doubleValue());
+                    }
+                }
+            });
+        }
+        return pooled;
+    }
+
+    private static void saveRun(Path directory, Map<String, List<Double>> current) throws IOException {
+        Map<String, Object> run = new LinkedHashMap<>();
+        run.put("runId", RunContext.getRunId());
+        run.put("timestamp", Instant.now().toString());
+        run.put("samples", current);
+        Files.createDirectories(directory);
+        Path file = directory.resolve(RUN_FILE_PREFIX + RunContext.getRunId() + ".json");
+        Files.write(file, new Json().toJson(run).getBytes(StandardCharsets.UTF_8));
+        LoggerUtil.info("Stored {} timing series as performance baseline run {}", current.size(), file.toAbsolutePath());
+    }
+
+    private static void prune(Path directory, int runs) throws IOException {
+        List<Path> files = runFiles(directory);
+        for (Path file : files.subList(Math.min(runs, files.size()), files.size())) {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    // Stored runs, newest first
+    private static List<Path> runFiles(Path directory) throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return Collections.emptyList();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.getFileName().toString().startsWith(RUN_FILE_PREFIX)
+                            && file.getFileName().toString().endsWith(".json"))
+                    .sorted(Comparator.comparing(PerformanceBaseline::lastModified).reversed())
+                    .collect(Collectors.toList());
+        }
+    }
+
+    private static long lastModified(Path file) {
+        try {
+            return Files.getLastModifiedTime(file).toMillis();
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    /**
+     * Outcome of comparing one series with its baseline. Times are milliseconds.
+     */
+    public static final class Regression {
+        private final String series;
+        private final int samples;
+        private final int baselineSamples;
+        private final double baselineP95;
+        private final double currentP95;
+        private final double p95ChangePercent;
+        private final double pValue;
+
+        Regression(String series, int samples, int baselineSamples, double baselineP95, double currentP95,
+                double p95ChangePercent, double pValue) {
+            this.series = series;
+            this.samples = samples;
+            this.baselineSamples = baselineSamples;
+            this.baselineP95 = baselineP95;
+            this.currentP95 = currentP95;
+            this.p95ChangePercent = p95ChangePercent;
+            this.pValue = pValue;
+        }
+
+        public String getSeries() { return series; }
+        public int getSamples() { return samples; }
+        public int getBaselineSamples() { return baselineSamples; }
+        public double getBaselineP95() { return baselineP95; }
+        public double getCurrentP95() { return currentP95; }
+        public double getP95ChangePercent() { return p95ChangePercent; }
+        public double getPValue() { return pValue; }
+
+        @Override
+        public String toString() {
+            return String.format("%s p95 %.1f ms -> %.1f ms (%+.1f%%, p=%.4f, n=%d vs %d)",
+                    series, baselineP95, currentP95, p95ChangePercent, pValue, samples, baselineSamples);
+        }
+    }
+}
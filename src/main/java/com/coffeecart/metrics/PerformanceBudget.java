@@ -0,0 +1,31 @@
+package com.coffeecart.metrics;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Time budget for a test method or a public page object method. Test methods are timed by TestListener around
+ * the method body only, so driver start-up and @Before/@After methods do not count; page methods are timed by the
+ * instrumented page created through Pages.create. Fixed stability pauses are left out of both. performance.budget.mode
+ * decides whether an exceeded budget fails the test or only logs a warning (the default); CI can opt into fail.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface PerformanceBudget {
+
+    long maxMillis();
+
+    // Budgets that replace maxMillis on specific browsers, e.g. a longer hover budget for Firefox
+    Browser[] browsers() default {};
+
+    @Retention(RetentionPolicy.RUNTIME)
+    @Target({})
+    @interface Browser {
+
+        String name();
+
+        long maxMillis();
+    }
+}
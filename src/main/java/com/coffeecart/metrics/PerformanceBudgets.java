@@ -0,0 +1,81 @@
+package com.coffeecart.metrics;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.coffeecart.managers.ConfigManager;
+import com.coffeecart.utils.LoggerUtil;
+
+/**
+ * Checks measured durations against @PerformanceBudget and collects the violations of the running test, so a slow
+ * page call fails the test it belongs to once the test method has finished instead of interrupting it.
+ * Time spent in the fixed stability pauses of BasePage.pause is tallied per thread so callers can leave it out:
+ * a budget measures the app and the driver, not configured sleeps.
+ */
+public class PerformanceBudgets {
+
+    public static final String MODE_FAIL = "fail";
+    public static final String MODE_WARN = "warn";
+    public static final String MODE_OFF = "off";
+
+    private static final ThreadLocal<List<String>> violations = ThreadLocal.withInitial(ArrayList::new);
+    private static final ThreadLocal<long[]> pausedNanos = ThreadLocal.withInitial(() -> new long[1]);
+
+    public static boolean isEnabled() {
+        return !MODE_OFF.equals(ConfigManager.snapshot().getPerformanceBudgetMode());
+    }
+
+    // Budget that applies on the given browser: a matching browser entry, otherwise maxMillis
+    public static long budgetMillis(PerformanceBudget budget, String browser) {
+        for (PerformanceBudget.Browser override : budget.browsers()) {
+            if (override.name().equalsIgnoreCase(browser)) {
+                return override.maxMillis();
+            }
+        }
+        return budget.maxMillis();
+    }
+
+    // Compares one timed operation with its budget; returns true when it was within budget
+    public static boolean check(String operation, PerformanceBudget budget, long nanos) {
+        if (budget == null || !isEnabled()) {
+            return true;
+        }
+        String browser = ConfigManager.getBrowser();
+        long limit = budgetMillis(budget, browser);
+        long elapsedMillis = nanos / 1_000_000L;
+        if (elapsedMillis <= limit) {
+            LoggerUtil.debug("{} took {} ms of its {} ms budget on {}", operation, elapsedMillis, limit, browser);
+            return true;
+        }
+        String violation = operation + " took " + elapsedMillis + " ms, budget " + limit + " ms on " + browser;
+        LoggerUtil.warn("Performance budget exceeded: {}", violation);
+        if (MODE_FAIL.equals(ConfigManager.snapshot().getPerformanceBudgetMode())) {
+            violations.get().add(violation);
+        }
+        return false;
+    }
+
+    // Adds a stability pause taken on this thread
+    public static void recordPause(long nanos) {
+        pausedNanos.get()[0] += nanos;
+    }
+
+    // Total pause time taken on this thread so far; subtract two readings to get the pauses within an operation
+    public static long pausedNanos() {
+        return pausedNanos.get()[0];
+    }
+
+    // Violations recorded on this thread since the last call, which clears them
+    public static List<String> drainViolations() {
+        List<String> recorded = violations.get();
+        if (recorded.isEmpty()) {
+            return recorded;
+        }
+        violations.remove();
+        return recorded;
+    }
+
+    public static void clear() {
+        violations.remove();
+    }
+}
@@ -0,0 +1,57 @@
+package com.coffeecart.metrics;
+
+import java.text.SimpleDateFormat;
+import java.util.Date;
+
+import org.slf4j.MDC;
+
+/**
+ * Identifies the current run and, per thread, the browser lane and test being executed, so everything a run writes
+ * (traces, JFR files, performance records, log files) can be matched up afterwards.
+ */
+public class RunContext {
+
+    private static volatile String runId = System.getProperty("run.id", timestamp());
+
+    private static final String BROWSER_KEY = "browser";
+
+    private static final ThreadLocal<String> currentTest = new ThreadLocal<>();
+
+    // Timestamp of JVM start unless -Drun.id is given, e.g. by CI to use the build number
+    public static String getRunId() {
+        return runId;
+    }
+
+    // Starts a new run id for the next suite run in the same JVM (CoffeeCartApp runs suites repeatedly)
+    public static synchronized void startNewRun() {
+        String next = timestamp();
+        runId = next.equals(runId) ? next + "_" + System.nanoTime() % 1000 : next;
+    }
+
+    private static String timestamp() {
+        return new SimpleDateFormat("yyyyMMdd_HHmmss").format(new Date());
+    }
+
+    // Tags the thread's log lines with its browser (MDC key "browser"), which also routes them to test-<browser>.log
+    public static void setBrowser(String browser) {
+        MDC.put(BROWSER_KEY, browser);
+    }
+
+    public static void clearBrowser() {
+        MDC.remove(BROWSER_KEY);
+    }
+
+    // Set by BaseTest before class setup and before each test method
+    public static void setCurrentTest(String testName) {
+        currentTest.set(testName);
+    }
+
+    public static String getCurrentTest() {
+        String testName = currentTest.get();
+        return testName != null ? testName : "unknown";
+    }
+
+    public static void clearCurrentTest() {
+        currentTest.remove();
+    }
+}
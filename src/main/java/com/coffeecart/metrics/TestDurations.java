@@ -0,0 +1,112 @@
+package com.coffeecart.metrics;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.openqa.selenium.json.Json;
+
+import com.coffeecart.managers.ConfigManager;
+import com.coffeecart.utils.LoggerUtil;
+
+/**
+ * Historical duration of every test method per browser, kept in performance.path/durations.json for the scheduler
+ * to order and shard work. A data-driven method counts with the total time of all its invocations. Each run is
+ * blended into the stored value with an exponentially weighted average, so one slow run does not reshuffle shards.
+ */
+public class TestDurations {
+
+    private static final String FILE_NAME = "durations.json";
+
+    // Weight of the newest run in the stored average
+    private static final double NEWEST_RUN_WEIGHT = 0.5;
+
+    private static volatile Map<String, Double> history;
+
+    private static final Map<String, Double> currentRun = new ConcurrentHashMap<>();
+
+    // Adds one invocation of a test method, e.g. ("chrome", "MenuTests.testAddAllItems", 5300)
+    public static void record(String browser, String testName, long millis) {
+        currentRun.merge(key(browser, testName), (double) millis, Double::sum);
+    }
+
+    // Stored duration in milliseconds, or null for a test that has not run on that browser yet
+    public static Double get(String browser, String testName) {
+        return history().get(key(browser, testName));
+    }
+
+    // Mean of the stored durations on a browser, the estimate for tests without history
+    public static double mean(String browser) {
+        String prefix = browser.toLowerCase() + "|";
+        return history().entrySet().stream()
+                .filter(entry -> entry.getKey().startsWith(prefix))
+                .mapToDouble(Map.Entry::getValue)
+                .average()
+                .orElse(1000);
+    }
+
+    // Blends this run into the stored durations and writes them back
+    public static synchronized void save() {
+        if (currentRun.isEmpty()) {
+            return;
+        }
+        Map<String, Double> merged = new TreeMap<>(history());
+        currentRun.forEach((key, millis) -> merged.merge(key, millis,
+                (previous, latest) -> previous * (1 - NEWEST_RUN_WEIGHT) + latest * NEWEST_RUN_WEIGHT));
+        Path file = file();
+        try {
+            Files.createDirectories(file.getParent());
+            Files.write(file, new Json().toJson(merged).getBytes(StandardCharsets.UTF_8));
+            history = merged;
+            currentRun.clear();
+            LoggerUtil.info("Stored durations of {} test methods in {}", merged.size(), file.toAbsolutePath());
+        } catch (IOException e) {
+            LoggerUtil.error("Failed to store test durations: " + e.getMessage());
+        }
+    }
+
+    private static Map<String, Double> history() {
+        Map<String, Double> loaded = history;
+        if (loaded == null) {
+            synchronized (TestDurations.class) {
+                if (history == null) {
+                    history = load(file());
+                }
+                loaded = history;
+            }
+        }
+        return loaded;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Double> load(Path file) {
+        Map<String, Double> durations = new TreeMap<>();
+        if (!Files.isRegularFile(file)) {
+            return durations;
+        }
+        try {
+            Map<String, Object> stored = new Json().toType(new String(Files.readAllBytes(file), StandardCharsets.UTF_8), Map.class);
+            stored.forEach((key, value) -> {
+                if (value instanceof Number) {
+                    durations.put(key, ((Number) value).doubleValue());
+                }
+            });
+        } catch (IOException | RuntimeException e) {
+            LoggerUtil.warn("Ignoring unreadable test durations in {}: {}", file, e.getMessage());
+        }
+        return durations;
+    }
+
+    private static Path file() {
+        return Paths.get(ConfigManager.snapshot().getPerformancePath()).resolve(FILE_NAME);
+    }
+
+    private static String key(String browser, String testName) {
+        return browser.toLowerCase() + "|" + testName;
+    }
+}
@@ -1,15 +1,25 @@
 package com.coffeecart.pages;
 
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Proxy;
 import java.time.Duration;
+import java.util.Objects;
 
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.PageFactory;
+import org.openqa.selenium.support.pagefactory.internal.LocatingElementHandler;
 import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.support.ui.WebDriverWait;
 
 import com.coffeecart.managers.ConfigManager;
 import com.coffeecart.managers.DriverManager;
+import com.coffeecart.metrics.PerformanceBaseline;
+import com.coffeecart.metrics.PerformanceBudgets;
+import com.coffeecart.tracing.PageActionEvent;
+import com.coffeecart.tracing.StabilityPauseEvent;
+import com.coffeecart.tracing.Tracer;
 import com.coffeecart.utils.LoggerUtil;
 
 /**
@@ -17,14 +27,15 @@ import com.coffeecart.utils.LoggerUtil;
  */
 public abstract class BasePage {
 
+    private static final Field HANDLER_LOCATOR = locatorField();
+
     protected WebDriver driver;
     protected WebDriverWait wait;
 
     // Initializes the page with WebDriver and sets up element locators automatically
     public BasePage() {
         this.driver = DriverManager.getDriver();
-        this.wait = new WebDriverWait(driver,
-                Duration.ofSeconds(ConfigManager.getExplicitWait()));
+        this.wait = newWait(ConfigManager.snapshot().getExplicitWait());
         PageFactory.initElements(driver, this);
     }
 
@@ -57,28 +68,59 @@ public abstract class BasePage {
         ));
     }
 
+    // Creates an explicit wait that reports itself to JFR and the tracer; page objects use this instead of new WebDriverWait
+    protected WebDriverWait newWait(Duration timeout) {
+        return new InstrumentedWait(driver, timeout, Pages.pageName(getClass()));
+    }
+
     // Clicks an element after ensuring that it is clickable with error handling
     protected void clickElement(WebElement element) {
+        long start = System.nanoTime();
+        PageActionEvent event = beginAction();
+        String outcome = "ok";
         try {
             wait.until(ExpectedConditions.elementToBeClickable(element));
             element.click();
         } catch (Exception e) {
+            outcome = e.getClass().getSimpleName();
             LoggerUtil.error("Failed to click element", e);
             throw e;
+        } finally {
+            commitAction(event, "click", element, outcome, start);
         }
     }
 
     // Gets text from an element after waiting for it to be visible
     protected String getText(WebElement element) {
-        waitForElementVisibility(element);
-        return element.getText();
+        long start = System.nanoTime();
+        PageActionEvent event = beginAction();
+        String outcome = "ok";
+        try {
+            waitForElementVisibility(element);
+            return element.getText();
+        } catch (RuntimeException e) {
+            outcome = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            commitAction(event, "getText", element, outcome, start);
+        }
     }
 
     // Types text into an input field
     protected void sendKeys(WebElement element, String text) {
-        waitForElementVisibility(element);
-        element.clear();
-        element.sendKeys(text);
+        long start = System.nanoTime();
+        PageActionEvent event = beginAction();
+        String outcome = "ok";
+        try {
+            waitForElementVisibility(element);
+            element.clear();
+            element.sendKeys(text);
+        } catch (RuntimeException e) {
+            outcome = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            commitAction(event, "sendKeys", element, outcome, start);
+        }
     }
 
     // Checks if an element is displayed without throwing exceptions for missing elements
@@ -90,4 +132,80 @@ public abstract class BasePage {
         }
     }
 
+    // Fixed stability pause, traced as its own span and JFR event so sleeping is separated from driver work
+    @SuppressWarnings("try")
+    protected void pause(Duration duration, String reason) {
+        StabilityPauseEvent event = new StabilityPauseEvent();
+        event.begin();
+        String outcome = "ok";
+        long start = System.nanoTime();
+        try (Tracer.Span span = Tracer.start(() -> "sleep " + reason, Tracer.CATEGORY_WAIT)) {
+            Thread.sleep(duration.toMillis());
+        } catch (InterruptedException e) {
+            outcome = "interrupted";
+            Thread.currentThread().interrupt();
+        } finally {
+            PerformanceBudgets.recordPause(System.nanoTime() - start);
+            event.end();
+            if (event.shouldCommit()) {
+                event.page = Pages.pageName(getClass());
+                event.reason = reason;
+                event.requested = duration.toMillis();
+                event.outcome = outcome;
+                event.commit();
+            }
+        }
+    }
+
+    private PageActionEvent beginAction() {
+        PageActionEvent event = new PageActionEvent();
+        event.begin();
+        return event;
+    }
+
+    // Fills in the event only when JFR will keep it, so the locator string is not built otherwise; successful
+    // actions also go to the performance baseline
+    private void commitAction(PageActionEvent event, String action, WebElement element, String outcome, long start) {
+        event.end();
+        if ("ok".equals(outcome) && PerformanceBaseline.isEnabled()) {
+            PerformanceBaseline.recordAction(ConfigManager.getBrowser(), Pages.pageName(getClass()), action,
+                    locatorOf(element), System.nanoTime() - start);
+        }
+        if (event.shouldCommit()) {
+            event.page = Pages.pageName(getClass());
+            event.action = action;
+            event.locator = locatorOf(element);
+            event.outcome = outcome;
+            event.commit();
+        }
+    }
+
+    // Locator a page element was declared with. PageFactory proxies locate the element on every call, toString
+    // included, so their locator is read from the proxy handler instead of costing a driver round trip.
+    private static String locatorOf(WebElement element) {
+        if (HANDLER_LOCATOR != null && Proxy.isProxyClass(element.getClass())) {
+            InvocationHandler handler = Proxy.getInvocationHandler(element);
+            if (handler instanceof LocatingElementHandler) {
+                try {
+                    String locator = String.valueOf(HANDLER_LOCATOR.get(handler));
+                    int quote = locator.indexOf('\'');
+                    return quote >= 0 && locator.endsWith("'") ? locator.substring(quote + 1, locator.length() - 1) : locator;
+                } catch (IllegalAccessException e) {
+                    return "unknown";
+                }
+            }
+        }
+        return Objects.toString(element.toString(), "unknown");
+    }
+
+    private static Field locatorField() {
+        try {
+            Field field = LocatingElementHandler.class.getDeclaredField("locator");
+            field.setAccessible(true);
+            return field;
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return null;
+        }
+    }
+
 }
\ No newline at end of file
@@ -120,7 +120,7 @@ public class CartPage extends BasePage{
             wait.until(ExpectedConditions.presenceOfAllElementsLocatedBy(By.cssSelector(".unit-controller button")));
             boolean increasePresent = !increaseQuantityButton.isEmpty();
             boolean decreasePresent = !decreaseQuantityButton.isEmpty();
-            LoggerUtil.info("Quantity controls presence - Increase: " + increasePresent + ", Decrease: " + decreasePresent);
+            LoggerUtil.debug("Quantity controls presence - Increase: {}, Decrease: {}", increasePresent, decreasePresent);
             return increasePresent && decreasePresent;
         } catch (Exception e) {
             LoggerUtil.error("Failed to verify quantity controls presence", e);
@@ -0,0 +1,65 @@
+package com.coffeecart.pages;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.ui.WebDriverWait;
+
+import com.coffeecart.tracing.ExplicitWaitEvent;
+import com.coffeecart.tracing.Tracer;
+
+// WebDriverWait that reports each until() as a JFR event and a trace span, so waits show up next to the work they gate.
+// Waits are named after the page method that issued them: describing the condition itself would make PageFactory
+// proxies locate their element again just to print it.
+class InstrumentedWait extends WebDriverWait {
+
+    private static final StackWalker STACK_WALKER = StackWalker.getInstance(StackWalker.Option.RETAIN_CLASS_REFERENCE);
+
+    private final String page;
+    private final Duration timeout;
+
+    InstrumentedWait(WebDriver driver, Duration timeout, String page) {
+        super(driver, timeout);
+        this.page = page;
+        this.timeout = timeout;
+    }
+
+    @Override
+    @SuppressWarnings("try")
+    public <V> V until(Function<? super WebDriver, V> isTrue) {
+        ExplicitWaitEvent event = new ExplicitWaitEvent();
+        event.begin();
+        String outcome = "ok";
+        try (Tracer.Span span = Tracer.start(() -> "wait " + caller(), Tracer.CATEGORY_WAIT)) {
+            return super.until(isTrue);
+        } catch (TimeoutException e) {
+            outcome = "timeout";
+            throw e;
+        } catch (RuntimeException e) {
+            outcome = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.page = page;
+                event.caller = caller();
+                event.timeout = timeout.toMillis();
+                event.outcome = outcome;
+                event.commit();
+            }
+        }
+    }
+
+    // First frame outside Selenium and the shared BasePage helpers, e.g. MenuPage.waitForCartUpdate
+    private static String caller() {
+        return STACK_WALKER.walk(frames -> frames
+                .filter(frame -> !frame.getClassName().startsWith("org.openqa.")
+                        && !frame.getClassName().equals(InstrumentedWait.class.getName())
+                        && !frame.getClassName().equals(BasePage.class.getName()))
+                .findFirst()
+                .map(frame -> Pages.pageName(frame.getDeclaringClass()) + "." + frame.getMethodName())
+                .orElse("unknown"));
+    }
+}
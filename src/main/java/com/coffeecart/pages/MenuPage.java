@@ -6,6 +6,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 import org.openqa.selenium.By;
@@ -17,6 +18,8 @@ import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.support.ui.WebDriverWait;
 
 import com.coffeecart.managers.ConfigManager;
+import com.coffeecart.metrics.NavigationTiming;
+import com.coffeecart.metrics.PerformanceBudget;
 import com.coffeecart.utils.LoggerUtil;
 
 /**
@@ -25,6 +28,8 @@ import com.coffeecart.utils.LoggerUtil;
  */
 public class MenuPage extends BasePage {
 
+    private static final Pattern PRICE_FORMAT = Pattern.compile("\\$\\d+\\.\\d{2}");
+
     //WebElement details
 
     @FindBy(xpath = "//a[normalize-space()='menu']")
@@ -163,11 +168,8 @@ public class MenuPage extends BasePage {
             wait.until(ExpectedConditions.visibilityOfAllElements(menuItems));
             wait.until(ExpectedConditions.elementToBeClickable(pay_button));
             
-            try {
-                Thread.sleep(ConfigManager.getPageRefreshStabilityWait());
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-            }
+            pause(ConfigManager.snapshot().getPageRefreshStabilityWait(), "page.refresh.stability.wait");
+            NavigationTiming.capture(driver, "refresh");
             
             LoggerUtil.info("Menu page has been refreshed successfully");
         } catch (Exception e) {
@@ -181,6 +183,7 @@ public class MenuPage extends BasePage {
         try {
             driver.get(ConfigManager.getBaseUrl());
             waitForElementVisibility(menu);
+            NavigationTiming.capture(driver, "navigate");
             LoggerUtil.info("Successfully navigated to coffee cart menu page" + ConfigManager.getBaseUrl());
         } catch (Exception e) {
             LoggerUtil.error("Failed to navigate to the Menu page", e);
@@ -266,7 +269,7 @@ public class MenuPage extends BasePage {
             for (WebElement priceElement : itemPrices) {
                 double price = extractPrice(priceElement.getText());
                 if (price < minPrice || price > maxPrice) {
-                    LoggerUtil.info("Price " + price + " is outside range " + minPrice + "-" + maxPrice);
+                    LoggerUtil.info("Price {} is outside range {}-{}", price, minPrice, maxPrice);
                     return false;
                 }
             }
@@ -300,8 +303,8 @@ public class MenuPage extends BasePage {
             wait.until(ExpectedConditions.visibilityOfAllElements(itemPrices));
             for (WebElement priceElement : itemPrices) {
                 String priceText = priceElement.getText();
-                if (!priceText.matches("\\$\\d+\\.\\d{2}")) {
-                    LoggerUtil.info("Invalid price format: " + priceText);
+                if (!PRICE_FORMAT.matcher(priceText).matches()) {
+                    LoggerUtil.info("Invalid price format: {}", priceText);
                     return false;
                 }
             }
@@ -348,8 +351,8 @@ public class MenuPage extends BasePage {
                 }
             }
             
-            LoggerUtil.info("Found " + matchingItems.size() + " items with " + 
-                          (moreThan ? "more than " : "less than ") + count + " ingredients");
+            LoggerUtil.info("Found {} items with {} {} ingredients",
+                    matchingItems.size(), moreThan ? "more than" : "less than", count);
             return matchingItems;
         } catch (Exception e) {
             LoggerUtil.error("Failed to get items with ingredient count", e);
@@ -390,14 +393,26 @@ public class MenuPage extends BasePage {
 
     private double extractPrice(String priceText) {
         try {
-            String priceValue = priceText.replaceAll("[^0-9.]", "");
-            return Double.parseDouble(priceValue);
+            return parsePrice(priceText);
         } catch (NumberFormatException e) {
             LoggerUtil.error("Failed to parse price: " + priceText);
             throw e;
         }
     }
 
+    // Number in a price label such as "$10.00": digits and dots are kept, everything else dropped, in one pass
+    // instead of a regex replaceAll per label
+    public static double parsePrice(String priceText) {
+        StringBuilder digits = new StringBuilder(priceText.length());
+        for (int i = 0; i < priceText.length(); i++) {
+            char c = priceText.charAt(i);
+            if ((c >= '0' && c <= '9') || c == '.') {
+                digits.append(c);
+            }
+        }
+        return Double.parseDouble(digits.toString());
+    }
+
     // Checks if the shopping cart is empty by examining cart text and total
     public boolean isCartEmpty() {
         try {
@@ -406,7 +421,7 @@ public class MenuPage extends BasePage {
             String cartText = cart_Page.getText().toLowerCase();
             String payText = pay_button.getText();
             boolean isEmpty = cartText.contains(ConfigManager.getCartEmptyText().toLowerCase()) || payText.contains(ConfigManager.getCartEmptyPrice());
-            LoggerUtil.info("Cart empty check - Cart text: '" + cartText + "', Pay text: '" + payText + "', Is empty: " + isEmpty);
+            LoggerUtil.info("Cart empty check - Cart text: '{}', Pay text: '{}', Is empty: {}", cartText, payText, isEmpty);
             return isEmpty;
         } catch (Exception e) {
             LoggerUtil.error("Error checking if cart is empty", e);
@@ -415,6 +430,7 @@ public class MenuPage extends BasePage {
     }
 
     // Adds a specified quantity of a coffee item to the shopping cart
+    @PerformanceBudget(maxMillis = 8000, browsers = @PerformanceBudget.Browser(name = "firefox", maxMillis = 12000))
     public void addItemToCart(String itemName, int quantity) {
         try {
             wait.until(ExpectedConditions.visibilityOfAllElements(menuItems));
@@ -451,7 +467,7 @@ public class MenuPage extends BasePage {
     private void dismissOverlaysIfPresent() {
         try {
             // Check for snackbar and wait for it to disappear
-            WebDriverWait shortWait = new WebDriverWait(driver, Duration.ofSeconds(ConfigManager.getOverlayDismissWait()));
+            WebDriverWait shortWait = newWait(ConfigManager.snapshot().getOverlayDismissWait());
             shortWait.until(ExpectedConditions.invisibilityOfElementLocated(snackbarLocator));
         } catch (Exception e) {
         }
@@ -464,11 +480,7 @@ public class MenuPage extends BasePage {
                 ExpectedConditions.textToBePresentInElement(pay_button, ConfigManager.getCartEmptyPrice())
             ));
             // Additional wait for DOM stability
-            try {
-                Thread.sleep(ConfigManager.getDomStabilityWait());
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-            }
+            pause(ConfigManager.snapshot().getDomStabilityWait(), "dom.stability.wait");
         } catch (Exception e) {
             LoggerUtil.info("Cart update wait completed or timed out");
         }
@@ -482,11 +494,7 @@ public class MenuPage extends BasePage {
             for (int i = 0; i < increments; i++) {
                 wait.until(ExpectedConditions.elementToBeClickable(increaseQuantity));
                 clickElement(increaseQuantity);
-                try {
-                    Thread.sleep(ConfigManager.getElementInteractionWait());
-                } catch (InterruptedException e) {
-                    Thread.currentThread().interrupt();
-                }
+                pause(ConfigManager.snapshot().getElementInteractionWait(), "element.interaction.wait");
             }
         } catch (Exception e) {
             LoggerUtil.error("Failed to increment quantity", e);
@@ -508,7 +516,7 @@ public class MenuPage extends BasePage {
                 wait.until(ExpectedConditions.elementToBeClickable(itemToAdd));
                 dismissOverlaysIfPresent();
                 clickElement(itemToAdd);
-                LoggerUtil.info("Added item " + (i + 1) + " of 3");
+                LoggerUtil.info("Added item {} of 3", i + 1);
                 waitForCartUpdate();
             }
             return waitForPromoDisplay();
@@ -520,12 +528,8 @@ public class MenuPage extends BasePage {
     
     private boolean waitForPromoDisplay() {
         try {
-            try {
-                Thread.sleep(ConfigManager.getDomStabilityWait());
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-            }
-            WebDriverWait promoWait = new WebDriverWait(driver, Duration.ofSeconds(ConfigManager.getPromoWaitTime()));
+            pause(ConfigManager.snapshot().getDomStabilityWait(), "dom.stability.wait");
+            WebDriverWait promoWait = newWait(ConfigManager.snapshot().getPromoWaitTime());
             promoWait.until(ExpectedConditions.visibilityOfElementLocated(promoLocator));
             boolean promoDisplayed = isSpecialOfferDisplayed();
             LoggerUtil.info("Special promo displayed: " + promoDisplayed);
@@ -540,6 +544,7 @@ public class MenuPage extends BasePage {
      * Checks if the cart preview popup is visible when hovering over the total button.
      * Firefox has known limitations with hover interactions in headless mode.
      */
+    @PerformanceBudget(maxMillis = 12000, browsers = @PerformanceBudget.Browser(name = "firefox", maxMillis = 45000))
     public boolean isPreviewPopupVisible() {
         try {
             wait.until(driver -> {
@@ -551,9 +556,8 @@ public class MenuPage extends BasePage {
             actions.moveToElement(pay_button).perform();
 
             By quantityLocator = By.cssSelector("span.unit-desc");
-            int timeout = ConfigManager.getBrowser().equalsIgnoreCase("firefox") ? 
-                ConfigManager.getFirefoxCartPreviewWait() : ConfigManager.getCartPreviewWait();
-            WebDriverWait previewWait = new WebDriverWait(driver, Duration.ofSeconds(timeout));
+            // Browser profiles set cart.preview.wait, Firefox needs longer for the hover to register
+            WebDriverWait previewWait = newWait(ConfigManager.snapshot().getCartPreviewWait());
             WebElement quantityElement = previewWait.until(
                     ExpectedConditions.visibilityOfElementLocated(quantityLocator));
 
@@ -568,6 +572,7 @@ public class MenuPage extends BasePage {
     }
 
     // Hovers over the total button to display cart preview popup
+    @PerformanceBudget(maxMillis = 1000, browsers = @PerformanceBudget.Browser(name = "firefox", maxMillis = 3000))
     public void hoverTotalButton() {
         try {
             Actions actions = new Actions(driver);
@@ -584,7 +589,7 @@ public class MenuPage extends BasePage {
         try {
             By snackbarLocator = By.cssSelector(".snackbar");
             try {
-                WebDriverWait snackbarWait = new WebDriverWait(driver, Duration.ofSeconds(ConfigManager.getSnackbarWaitTime()));
+                WebDriverWait snackbarWait = newWait(ConfigManager.snapshot().getSnackbarWaitTime());
                 snackbarWait.until(ExpectedConditions.invisibilityOfElementLocated(snackbarLocator));
             } catch (Exception e) {
                 LoggerUtil.info("No snackbar found or already dismissed");
@@ -618,7 +623,7 @@ public class MenuPage extends BasePage {
                     break;
                 }
             }
-            LoggerUtil.info("Got ingredients for " + itemName + ": " + ingredientList);
+            LoggerUtil.info("Got ingredients for {}: {}", itemName, ingredientList);
             return ingredientList;
         } catch (Exception e) {
             LoggerUtil.error("Failed to get ingredients for item", e);
@@ -637,7 +642,7 @@ public class MenuPage extends BasePage {
     // Checks if a special promotional offer popup is currently displayed
     public boolean isSpecialOfferDisplayed() {
         try {
-            WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(ConfigManager.getPromoWaitTime()));
+            WebDriverWait wait = newWait(ConfigManager.snapshot().getPromoWaitTime());
             WebElement promo = wait.until(ExpectedConditions.visibilityOfElementLocated(promoLocator));
             return promo.isDisplayed();
         } catch (Exception e) {
@@ -679,7 +684,7 @@ public class MenuPage extends BasePage {
     // Checks if special offer is gone after accepting
     public boolean isSpecialOfferGone() {
         try {
-            WebDriverWait shortWait = new WebDriverWait(driver, Duration.ofSeconds(5));
+            WebDriverWait shortWait = newWait(Duration.ofSeconds(5));
             shortWait.until(ExpectedConditions.invisibilityOfElementLocated(promoLocator));
             return true;
         } catch (Exception e) {
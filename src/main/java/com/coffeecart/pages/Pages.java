@@ -0,0 +1,113 @@
+package com.coffeecart.pages;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.coffeecart.coverage.TestCoverage;
+import com.coffeecart.metrics.PerformanceBudget;
+import com.coffeecart.metrics.PerformanceBudgets;
+import com.coffeecart.tracing.Tracer;
+
+import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.ClassFileVersion;
+import net.bytebuddy.dynamic.loading.ClassLoadingStrategy;
+import net.bytebuddy.implementation.MethodDelegation;
+import net.bytebuddy.implementation.bind.annotation.Origin;
+import net.bytebuddy.implementation.bind.annotation.RuntimeType;
+import net.bytebuddy.implementation.bind.annotation.SuperCall;
+import net.bytebuddy.matcher.ElementMatchers;
+
+/**
+ * Creates page objects. With tracing or coverage enabled, or when the page declares @PerformanceBudget methods, each
+ * page is a generated subclass whose public methods open a trace span named Page.method, are checked against their
+ * budget and are recorded in the test's page coverage (as are the BasePage helpers they call); otherwise it is a
+ * plain instance. Tests create pages through here instead of calling the constructors directly.
+ */
+public class Pages {
+
+    private static final String INSTRUMENTED_SUFFIX = "$Instrumented";
+
+    private static final Map<Class<?>, Class<?>> instrumentedTypes = new ConcurrentHashMap<>();
+
+    private static final Map<Class<?>, Boolean> budgetedTypes = new ConcurrentHashMap<>();
+
+    public static <T extends BasePage> T create(Class<T> pageType) {
+        try {
+            boolean coverage = TestCoverage.isEnabled();
+            if (coverage) {
+                TestCoverage.recordMethod(pageType.getSimpleName() + ".<init>");
+            }
+            Class<? extends T> type = Tracer.isEnabled() || coverage || hasBudgets(pageType) ? instrumentedType(pageType) : pageType;
+            return type.getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException e) {
+            throw new RuntimeException("Failed to create page " + pageType.getSimpleName(), e);
+        }
+    }
+
+    // Name a page is reported under in traces and JFR events; generated subclasses report their page class
+    public static String pageName(Class<?> pageClass) {
+        return pageClass.getName().endsWith(INSTRUMENTED_SUFFIX) ? pageClass.getSuperclass().getSimpleName() : pageClass.getSimpleName();
+    }
+
+    // Budgets are only enforced on public methods declared by the page itself, the ones the subclass overrides
+    private static boolean hasBudgets(Class<?> pageType) {
+        return PerformanceBudgets.isEnabled() && budgetedTypes.computeIfAbsent(pageType, type -> {
+            for (Method method : type.getDeclaredMethods()) {
+                if (Modifier.isPublic(method.getModifiers()) && method.isAnnotationPresent(PerformanceBudget.class)) {
+                    return true;
+                }
+            }
+            return false;
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T extends BasePage> Class<? extends T> instrumentedType(Class<T> pageType) {
+        return (Class<? extends T>) instrumentedTypes.computeIfAbsent(pageType, type ->
+                new ByteBuddy(ClassFileVersion.ofThisVm())
+                        .subclass(type)
+                        .name(type.getName() + INSTRUMENTED_SUFFIX)
+                        .method(ElementMatchers.isPublic().and(ElementMatchers.isDeclaredBy(type)))
+                        .intercept(MethodDelegation.to(PageMethodInterceptor.class))
+                        .method(TestCoverage.isEnabled()
+                                ? ElementMatchers.isDeclaredBy(BasePage.class).and(ElementMatchers.not(ElementMatchers.isPrivate()))
+                                        .and(ElementMatchers.not(ElementMatchers.isStatic()))
+                                : ElementMatchers.none())
+                        .intercept(MethodDelegation.to(CoverageInterceptor.class))
+                        .make()
+                        .load(type.getClassLoader(), ClassLoadingStrategy.Default.WRAPPER)
+                        .getLoaded());
+    }
+
+    // Wraps each intercepted page method call in a span and checks budgeted methods once they return
+    public static class PageMethodInterceptor {
+        @RuntimeType
+        @SuppressWarnings("try")
+        public static Object intercept(@Origin Method method, @SuperCall Callable<?> call) throws Exception {
+            String name = method.getDeclaringClass().getSimpleName() + "." + method.getName();
+            PerformanceBudget budget = method.getAnnotation(PerformanceBudget.class);
+            if (TestCoverage.isEnabled()) {
+                TestCoverage.recordMethod(name);
+            }
+            long start = System.nanoTime();
+            long paused = PerformanceBudgets.pausedNanos();
+            try (Tracer.Span span = Tracer.start(name, Tracer.CATEGORY_PAGE)) {
+                Object result = call.call();
+                PerformanceBudgets.check(name, budget, System.nanoTime() - start - (PerformanceBudgets.pausedNanos() - paused));
+                return result;
+            }
+        }
+    }
+
+    // Only records coverage for the BasePage helpers, which are too fine-grained for trace spans
+    public static class CoverageInterceptor {
+        @RuntimeType
+        public static Object intercept(@Origin Method method, @SuperCall Callable<?> call) throws Exception {
+            TestCoverage.recordMethod(method.getDeclaringClass().getSimpleName() + "." + method.getName());
+            return call.call();
+        }
+    }
+}
@@ -0,0 +1,296 @@
+package com.coffeecart.runner;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.json.Json;
+
+import com.coffeecart.journeys.OrderJourney;
+import com.coffeecart.journeys.OrderJourney.Step;
+import com.coffeecart.managers.ConfigManager;
+import com.coffeecart.managers.ConfigSnapshot;
+import com.coffeecart.managers.DriverManager;
+import com.coffeecart.metrics.LatencyHistogram;
+import com.coffeecart.metrics.RunContext;
+import com.coffeecart.utils.LoggerUtil;
+
+/**
+ * Puts browser-level load on the app by replaying the order journey in load.users headless browsers at once, each
+ * one a virtual user with its own driver from the pool. Browsers are started before the clock starts, so start-up
+ * is not part of the numbers.
+ *
+ * In the closed model every user starts its next journey a think time after its last one ended, so the load adapts
+ * to how fast the app answers. In the open model journeys arrive at a fixed rate regardless, queue for a free
+ * browser, and are timed from their arrival: a slow app then shows up as growing response times instead of as
+ * fewer requests. Throughput, latency percentiles and error rates per step go to the log and to
+ * performance.path/load-<run>.json.
+ */
+public class LoadGenerator {
+
+    // Queued by the open model's arrival clock to tell a user there is nothing more to do
+    private static final long STOP = Long.MIN_VALUE;
+
+    private final ConfigSnapshot config;
+    private final Map<String, String> overrides;
+    private final String browser;
+    private final Map<Step, StepStats> steps = new EnumMap<>(Step.class);
+    private final StepStats journeys = new StepStats();
+    private final LatencyHistogram queueWait = new LatencyHistogram();
+    private final LongAdder started = new LongAdder();
+    private final LongAdder browsers = new LongAdder();
+    private final AtomicLong unstarted = new AtomicLong();
+    private final BlockingQueue<Long> arrivals = new LinkedBlockingQueue<>();
+
+    private LoadGenerator(ConfigSnapshot config, Map<String, String> overrides, String browser) {
+        this.config = config;
+        this.overrides = overrides;
+        this.browser = browser;
+        for (Step step : Step.values()) {
+            steps.put(step, new StepStats());
+        }
+    }
+
+    public static void main(String[] args) {
+        ConfigSnapshot config = ConfigManager.snapshot();
+        LocalAppServer server = config.getLoadAppDir() != null ? LocalAppServer.start(Paths.get(config.getLoadAppDir())) : null;
+        Map<String, String> overrides = new LinkedHashMap<>();
+        overrides.put("headless", "true");
+        if (server != null) {
+            overrides.put("url", server.getUrl());
+        } else {
+            LoggerUtil.warn("load.app.dir is not set, so the load goes to {}", config.getBaseUrl());
+        }
+        DriverManager.setPooling(true);
+        try {
+            LoadGenerator generator = new LoadGenerator(config, overrides, ConfigManager.getBrowser().toLowerCase(Locale.ROOT));
+            long elapsed = generator.execute();
+            generator.report(elapsed, server != null ? server.getUrl() : config.getBaseUrl(), server != null);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            LoggerUtil.warn("Load run interrupted");
+        } finally {
+            DriverManager.quitPooledDrivers();
+            if (server != null) {
+                server.close();
+            }
+        }
+    }
+
+    // Runs the whole load and returns how long it took from the first arrival to the last journey ending
+    private long execute() throws InterruptedException {
+        int users = config.getLoadUsers();
+        boolean open = "open".equals(config.getLoadModel());
+        CountDownLatch ready = new CountDownLatch(users);
+        CountDownLatch go = new CountDownLatch(1);
+        long[] start = new long[1];
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < users; i++) {
+            int user = i;
+            Thread thread = new Thread(() -> user(user, open, ready, go, start), "load-user-" + (i + 1));
+            thread.start();
+            threads.add(thread);
+        }
+
+        ready.await();
+        start[0] = System.nanoTime();
+        go.countDown();
+        if (browsers.sum() == 0) {
+            throw new IllegalStateException("None of the " + users + " browsers could be started");
+        }
+        LoggerUtil.info("{} of {} browsers ready, running the {} model for {} s", browsers.sum(), users,
+                config.getLoadModel(), config.getLoadDuration().getSeconds());
+        long deadline = start[0] + config.getLoadDuration().toNanos();
+        if (open) {
+            long interval = Math.max(1, Math.round(1e9 / config.getLoadArrivalRate()));
+            for (long arrival = start[0]; arrival < deadline; arrival += interval) {
+                sleepUntil(arrival);
+                arrivals.add(arrival);
+            }
+            sleepUntil(deadline);
+            // Journeys still waiting for a browser at the end are not run, but are counted
+            List<Long> left = new ArrayList<>();
+            arrivals.drainTo(left);
+            unstarted.addAndGet(left.size());
+            for (int i = 0; i < users; i++) {
+                arrivals.add(STOP);
+            }
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        return System.nanoTime() - start[0];
+    }
+
+    // One virtual user: its own browser and page objects, kept for the whole run
+    private void user(int index, boolean open, CountDownLatch ready, CountDownLatch go, long[] start) {
+        ConfigManager.setThreadOverrides(overrides);
+        RunContext.setBrowser(browser);
+        RunContext.setCurrentTest("LoadGenerator user " + (index + 1));
+        OrderJourney journey = null;
+        try {
+            WebDriver driver = DriverManager.getDriver(browser);
+            driver.manage().timeouts().implicitlyWait(ConfigManager.snapshot().getImplicitWait());
+            driver.manage().timeouts().pageLoadTimeout(ConfigManager.snapshot().getPageLoadTimeout());
+            journey = new OrderJourney();
+            browsers.increment();
+        } catch (RuntimeException e) {
+            LoggerUtil.error("User " + (index + 1) + " could not start its browser", e);
+        } finally {
+            ready.countDown();
+        }
+        try {
+            go.await();
+            if (journey == null) {
+                return;
+            }
+            long deadline = start[0] + config.getLoadDuration().toNanos();
+            if (open) {
+                long arrival;
+                while ((arrival = arrivals.take()) != STOP) {
+                    queueWait.record(System.nanoTime() - arrival);
+                    runJourney(journey, arrival);
+                }
+            } else {
+                sleepUntil(start[0] + config.getLoadRampUp().toNanos() * index / config.getLoadUsers());
+                while (System.nanoTime() < deadline) {
+                    runJourney(journey, System.nanoTime());
+                    sleepUntil(Math.min(deadline, System.nanoTime() + config.getLoadThinkTime().toNanos()));
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            DriverManager.closeDriver();
+            ConfigManager.clearThreadProfile();
+        }
+    }
+
+    // A failed journey is counted and the next one starts from a fresh menu load
+    private void runJourney(OrderJourney journey, long arrival) {
+        started.increment();
+        try {
+            journey.run((step, nanos, error) -> steps.get(step).record(nanos, error != null));
+            journeys.record(System.nanoTime() - arrival, false);
+        } catch (RuntimeException e) {
+            journeys.record(System.nanoTime() - arrival, true);
+            LoggerUtil.warn("{} journey failed: {}", Thread.currentThread().getName(), e.getMessage());
+        }
+    }
+
+    private static void sleepUntil(long nanoTime) throws InterruptedException {
+        long remaining = nanoTime - System.nanoTime();
+        if (remaining > 0) {
+            TimeUnit.NANOSECONDS.sleep(remaining);
+        }
+    }
+
+    private void report(long elapsed, String url, boolean local) {
+        double seconds = elapsed / 1e9;
+        List<Map<String, Object>> rows = new ArrayList<>();
+        for (Map.Entry<Step, StepStats> entry : steps.entrySet()) {
+            rows.add(entry.getValue().summary(entry.getKey().getLabel(), seconds));
+        }
+        Map<String, Object> journey = journeys.summary("journey", seconds);
+        journey.put("started", started.sum());
+        if ("open".equals(config.getLoadModel())) {
+            journey.put("unstarted", unstarted.get());
+            journey.put("queueWaitP50Ms", millis(queueWait.getValueAtPercentile(50)));
+            journey.put("queueWaitP95Ms", millis(queueWait.getValueAtPercentile(95)));
+            journey.put("queueWaitMaxMs", millis(queueWait.getMaxNanos()));
+        }
+        for (Map<String, Object> row : rows) {
+            log(row);
+        }
+        log(journey);
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("runId", RunContext.getRunId());
+        report.put("timestamp", Instant.now().toString());
+        report.put("browser", browser);
+        report.put("url", url);
+        report.put("localApp", local);
+        report.put("model", config.getLoadModel());
+        report.put("users", config.getLoadUsers());
+        report.put("durationSeconds", config.getLoadDuration().getSeconds());
+        if ("open".equals(config.getLoadModel())) {
+            report.put("arrivalRatePerSecond", config.getLoadArrivalRate());
+        } else {
+            report.put("rampUpSeconds", config.getLoadRampUp().getSeconds());
+            report.put("thinkTimeMs", config.getLoadThinkTime().toMillis());
+        }
+        report.put("elapsedSeconds", round(seconds));
+        report.put("journey", journey);
+        report.put("steps", rows);
+
+        Path file = Paths.get(config.getPerformancePath()).resolve("load-" + RunContext.getRunId() + ".json");
+        try {
+            Files.createDirectories(file.getParent());
+            Files.write(file, new Json().toJson(report).getBytes(StandardCharsets.UTF_8));
+            LoggerUtil.info("Load results written to {}", file.toAbsolutePath());
+        } catch (IOException e) {
+            LoggerUtil.error("Failed to write load results: " + e.getMessage());
+        }
+    }
+
+    private static void log(Map<String, Object> row) {
+        LoggerUtil.info("{}: {}/s, p50 {} ms, p95 {} ms, p99 {} ms, {} of {} failed ({}%)", row.get("step"),
+                row.get("throughputPerSecond"), row.get("p50Ms"), row.get("p95Ms"), row.get("p99Ms"),
+                row.get("errors"), row.get("count"), row.get("errorPercent"));
+    }
+
+    private static double millis(long nanos) {
+        return Math.round(nanos / 1_000.0) / 1_000.0;
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100) / 100.0;
+    }
+
+    // Latency of every attempt at one step, failed ones included, and how many failed
+    private static final class StepStats {
+        private final LatencyHistogram latency = new LatencyHistogram();
+        private final LongAdder errors = new LongAdder();
+
+        void record(long nanos, boolean failed) {
+            latency.record(nanos);
+            if (failed) {
+                errors.increment();
+            }
+        }
+
+        Map<String, Object> summary(String name, double seconds) {
+            long count = latency.getCount();
+            long failed = errors.sum();
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("step", name);
+            row.put("count", count);
+            row.put("errors", failed);
+            row.put("errorPercent", count > 0 ? round(100.0 * failed / count) : 0);
+            row.put("throughputPerSecond", seconds > 0 ? round((count - failed) / seconds) : 0);
+            row.put("meanMs", millis(Math.round(latency.getMeanNanos())));
+            row.put("p50Ms", millis(latency.getValueAtPercentile(50)));
+            row.put("p90Ms", millis(latency.getValueAtPercentile(90)));
+            row.put("p95Ms", millis(latency.getValueAtPercentile(95)));
+            row.put("p99Ms", millis(latency.getValueAtPercentile(99)));
+            row.put("maxMs", millis(latency.getMaxNanos()));
+            return row;
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.coffeecart.runner;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import com.coffeecart.utils.LoggerUtil;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Serves a built copy of the Coffee Cart app (the static files of its dist folder) on a free local port, so timings
+ * taken against it measure the browser and the framework rather than the network. Paths without a file extension
+ * that are not files fall back to index.html, as the app routes on the client (/cart); missing assets are a 404.
+ */
+public class LocalAppServer implements AutoCloseable {
+
+    private static final Map<String, String> CONTENT_TYPES = Map.of(
+            "html", "text/html; charset=utf-8",
+            "js", "text/javascript; charset=utf-8",
+            "css", "text/css; charset=utf-8",
+            "json", "application/json",
+            "svg", "image/svg+xml",
+            "png", "image/png",
+            "jpg", "image/jpeg",
+            "ico", "image/x-icon",
+            "woff2", "font/woff2");
+
+    private final Path root;
+    private final HttpServer server;
+    private final ExecutorService executor;
+
+    private LocalAppServer(Path root, HttpServer server, ExecutorService executor) {
+        this.root = root;
+        this.server = server;
+        this.executor = executor;
+    }
+
+    public static LocalAppServer start(Path directory) {
+        Path root = directory.toAbsolutePath().normalize();
+        if (!Files.isRegularFile(root.resolve("index.html"))) {
+            throw new IllegalStateException("No index.html in " + root + "; point this at the built app (its dist folder)");
+        }
+        try {
+            HttpServer server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+            ExecutorService executor = Executors.newCachedThreadPool(runnable -> {
+                Thread thread = new Thread(runnable, "local-app-server");
+                thread.setDaemon(true);
+                return thread;
+            });
+            LocalAppServer app = new LocalAppServer(root, server, executor);
+            server.createContext("/", app::handle);
+            server.setExecutor(executor);
+            server.start();
+            LoggerUtil.info("Serving {} at {}", root, app.getUrl());
+            return app;
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to start the local app server for " + root, e);
+        }
+    }
+
+    public String getUrl() {
+        return "http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort() + "/";
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            String path = exchange.getRequestURI().getPath();
+            Path file = root.resolve(path.substring(1)).normalize();
+            if (!file.startsWith(root) || !Files.isRegularFile(file)) {
+                if (path.substring(path.lastIndexOf('/') + 1).contains(".")) {
+                    exchange.sendResponseHeaders(404, -1);
+                    return;
+                }
+                file = root.resolve("index.html");
+            }
+            byte[] body = Files.readAllBytes(file);
+            String name = file.getFileName().toString();
+            String extension = name.substring(name.lastIndexOf('.') + 1).toLowerCase(Locale.ROOT);
+            exchange.getResponseHeaders().set("Content-Type", CONTENT_TYPES.getOrDefault(extension, "application/octet-stream"));
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,385 @@
+package com.coffeecart.runner;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.json.Json;
+
+import com.coffeecart.journeys.OrderJourney;
+import com.coffeecart.journeys.OrderJourney.Step;
+import com.coffeecart.managers.ConfigManager;
+import com.coffeecart.managers.ConfigSnapshot;
+import com.coffeecart.managers.DriverManager;
+import com.coffeecart.metrics.RunContext;
+import com.coffeecart.utils.LoggerUtil;
+import com.coffeecart.utils.ScreenshotUtil;
+
+/**
+ * Watches the live app by running the order journey up to monitor.journey every monitor.interval.seconds in one
+ * headless browser that stays open between runs, so each run measures the app rather than browser start-up.
+ *
+ * Every step's latency is appended to monitor.path/timeseries.jsonl, one JSON object per line, together with a
+ * line for the whole run. The runs of the last monitor.slo.window.minutes, reloaded from that file on start, give
+ * the rolling SLO compliance: the share of runs that succeeded, and the share of successful runs that finished
+ * within monitor.slo.latency.ms. When either drops below its objective an alert is appended to
+ * monitor.path/alerts.jsonl and POSTed to monitor.alert.webhook if set; a second alert follows when it recovers.
+ * A failed run takes a screenshot the same way TestListener does for a failed test. A browser that cannot be
+ * started makes a failed run of its own, recorded at the "browser start" step with no latency.
+ */
+public class SyntheticMonitor {
+
+    private static final String JOURNEY = "journey";
+    // Failed step of a run whose browser could not be started, which therefore has no latency
+    private static final String BROWSER_START = "browser start";
+    private static final Duration SCREENSHOT_DRAIN_TIMEOUT = Duration.ofSeconds(30);
+
+    private final ConfigSnapshot config;
+    private final Step last;
+    private final Path timeSeries;
+    private final Path alerts;
+    private final Json json = new Json();
+    private final Deque<Sample> window = new ArrayDeque<>();
+    private final HttpClient http;
+    private boolean availabilityFiring;
+    private boolean latencyFiring;
+    private OrderJourney journey;
+    private volatile WebDriver driver;
+
+    private SyntheticMonitor(ConfigSnapshot config) {
+        this.config = config;
+        this.last = Step.parse(config.getMonitorJourney());
+        this.timeSeries = Paths.get(config.getMonitorPath()).resolve("timeseries.jsonl");
+        this.alerts = Paths.get(config.getMonitorPath()).resolve("alerts.jsonl");
+        this.http = config.getMonitorAlertWebhook() != null
+                ? HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(10)).build() : null;
+    }
+
+    public static void main(String[] args) {
+        ConfigSnapshot config = ConfigManager.snapshot();
+        Map<String, String> overrides = new LinkedHashMap<>();
+        overrides.put("headless", "true");
+        ConfigManager.setThreadOverrides(overrides);
+        RunContext.setBrowser(ConfigManager.getBrowser().toLowerCase(Locale.ROOT));
+        RunContext.setCurrentTest(SyntheticMonitor.class.getSimpleName());
+
+        SyntheticMonitor monitor = new SyntheticMonitor(config);
+        // Ctrl+C ends the loop from outside the monitor thread, so the browser is quit here rather than left running
+        Thread shutdown = new Thread(monitor::quitBrowser, "synthetic-monitor-shutdown");
+        Runtime.getRuntime().addShutdownHook(shutdown);
+        try {
+            monitor.run();
+            Runtime.getRuntime().removeShutdownHook(shutdown);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            ScreenshotUtil.awaitPendingWrites(SCREENSHOT_DRAIN_TIMEOUT);
+            DriverManager.closeDriver();
+            ConfigManager.clearThreadProfile();
+        }
+    }
+
+    private void run() throws InterruptedException {
+        loadWindow();
+        LoggerUtil.info("Monitoring {} up to {} every {} s, {} runs of the last {} min on record", ConfigManager.getBaseUrl(),
+                last.getLabel(), config.getMonitorInterval().getSeconds(), window.size(), config.getMonitorSloWindow().toMinutes());
+        long next = System.nanoTime();
+        for (int run = 1; config.getMonitorRuns() == 0 || run <= config.getMonitorRuns(); run++) {
+            runOnce(run);
+            next += config.getMonitorInterval().toNanos();
+            long now = System.nanoTime();
+            if (next < now) {
+                // A run that took longer than the interval moves the schedule on instead of starting runs back to back
+                long missed = (now - next) / config.getMonitorInterval().toNanos() + 1;
+                LoggerUtil.warn("Run {} overran the interval, skipping {} scheduled run(s)", run, missed);
+                next += missed * config.getMonitorInterval().toNanos();
+            }
+            if (config.getMonitorRuns() == 0 || run < config.getMonitorRuns()) {
+                TimeUnit.NANOSECONDS.sleep(next - System.nanoTime());
+            }
+        }
+    }
+
+    private void runOnce(int run) {
+        String runName = RunContext.getRunId() + "#" + run;
+        List<Map<String, Object>> records = new ArrayList<>();
+        Step[] failed = new Step[1];
+        String failedStep = null;
+        String error = null;
+        String screenshot = null;
+        long elapsed = 0;
+        OrderJourney current = null;
+        try {
+            // The clock starts once the browser is up, so starting or replacing it is never part of a run's latency
+            current = journey();
+        } catch (RuntimeException e) {
+            failedStep = BROWSER_START;
+            error = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+        }
+        if (current != null) {
+            long start = System.nanoTime();
+            try {
+                current.run(last, (step, nanos, failure) -> {
+                    records.add(record(runName, step.getLabel(), nanos, failure == null, failure != null ? failure.getMessage() : null));
+                    if (failure != null) {
+                        failed[0] = step;
+                    }
+                });
+            } catch (RuntimeException e) {
+                failedStep = (failed[0] != null ? failed[0] : Step.LOAD_MENU).getLabel();
+                error = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+                screenshot = screenshot(run);
+            }
+            elapsed = System.nanoTime() - start;
+        }
+
+        Map<String, Object> summary = record(runName, JOURNEY, elapsed, failedStep == null, error);
+        if (failedStep != null) {
+            summary.put("failedStep", failedStep);
+            summary.put("screenshot", screenshot);
+        }
+        records.add(summary);
+        long nowMillis = System.currentTimeMillis();
+        window.add(new Sample(nowMillis, failedStep == null, elapsed / 1_000_000));
+        expire(nowMillis);
+        summary.put("successPercent", round(successPercent()));
+        summary.put("withinLatencyPercent", round(withinLatencyPercent()));
+        append(timeSeries, records);
+
+        if (failedStep == null) {
+            LoggerUtil.info("Run {} passed in {} ms; last {} min: {}% succeeded (SLO {}%), {}% within {} ms (SLO {}%)", run,
+                    elapsed / 1_000_000, config.getMonitorSloWindow().toMinutes(), summary.get("successPercent"),
+                    config.getMonitorSloSuccessPercent(), summary.get("withinLatencyPercent"),
+                    config.getMonitorSloLatency().toMillis(), config.getMonitorSloLatencyPercent());
+        } else {
+            LoggerUtil.warn("Run {} failed at {}: {}; last {} min: {}% succeeded (SLO {}%)", run, failedStep, error,
+                    config.getMonitorSloWindow().toMinutes(), summary.get("successPercent"), config.getMonitorSloSuccessPercent());
+            replaceBrowserIfDead();
+        }
+        evaluate(summary);
+    }
+
+    // Starts the browser on first use and after a crash; the page objects stay bound to it between runs
+    private OrderJourney journey() {
+        if (journey == null || !DriverManager.hasDriver()) {
+            WebDriver current = DriverManager.getDriver();
+            current.manage().timeouts().implicitlyWait(ConfigManager.snapshot().getImplicitWait());
+            current.manage().timeouts().pageLoadTimeout(ConfigManager.snapshot().getPageLoadTimeout());
+            driver = current;
+            journey = new OrderJourney();
+        }
+        return journey;
+    }
+
+    private Map<String, Object> record(String run, String step, long nanos, boolean ok, String error) {
+        Map<String, Object> record = new LinkedHashMap<>();
+        record.put("timestamp", Instant.now().toString());
+        record.put("run", run);
+        record.put("journey", last.getLabel());
+        record.put("step", step);
+        record.put("ms", Math.round(nanos / 1_000.0) / 1_000.0);
+        record.put("ok", ok);
+        if (error != null) {
+            record.put("error", error);
+        }
+        return record;
+    }
+
+    // Saved through the same writer TestListener uses for failed tests; null when the browser cannot take one
+    private String screenshot(int run) {
+        if (!DriverManager.hasDriver()) {
+            return null;
+        }
+        return ScreenshotUtil.captureScreenshot(DriverManager.getDriver(), "monitor_run" + run);
+    }
+
+    // The browser is kept warm between runs, but one that crashed is quit so the next run starts a new one
+    private void replaceBrowserIfDead() {
+        if (!DriverManager.hasDriver()) {
+            return;
+        }
+        try {
+            DriverManager.getDriver().getWindowHandle();
+        } catch (WebDriverException e) {
+            LoggerUtil.warn("Browser is not responding, starting a new one for the next run: {}", e.getMessage());
+            journey = null;
+            driver = null;
+            try {
+                DriverManager.closeDriver();
+            } catch (RuntimeException ignored) {
+                // Already detached from this thread; nothing more can be done with a dead session
+            }
+        }
+    }
+
+    // Fires an alert when an objective is first missed and resolves it once the window is back within it
+    private void evaluate(Map<String, Object> summary) {
+        double success = successPercent();
+        boolean availabilityBreached = success < config.getMonitorSloSuccessPercent();
+        if (availabilityBreached != availabilityFiring) {
+            availabilityFiring = availabilityBreached;
+            alert("availability", availabilityBreached, success, config.getMonitorSloSuccessPercent(), summary);
+        }
+        double within = withinLatencyPercent();
+        boolean latencyBreached = within < config.getMonitorSloLatencyPercent();
+        if (latencyBreached != latencyFiring) {
+            latencyFiring = latencyBreached;
+            alert("latency", latencyBreached, within, config.getMonitorSloLatencyPercent(), summary);
+        }
+    }
+
+    private void alert(String slo, boolean firing, double value, int objective, Map<String, Object> summary) {
+        Map<String, Object> alert = new LinkedHashMap<>();
+        alert.put("timestamp", Instant.now().toString());
+        alert.put("slo", slo);
+        alert.put("state", firing ? "firing" : "resolved");
+        alert.put("percent", round(value));
+        alert.put("objectivePercent", objective);
+        if ("latency".equals(slo)) {
+            alert.put("latencyMs", config.getMonitorSloLatency().toMillis());
+        }
+        alert.put("windowMinutes", config.getMonitorSloWindow().toMinutes());
+        alert.put("runs", window.size());
+        alert.put("url", ConfigManager.getBaseUrl());
+        alert.put("lastRun", summary);
+        if (firing) {
+            LoggerUtil.error("ALERT {} SLO breached: {}% against an objective of {}%", slo, round(value), objective);
+        } else {
+            LoggerUtil.info("RESOLVED {} SLO back at {}% (objective {}%)", slo, round(value), objective);
+        }
+        append(alerts, List.of(alert));
+        post(alert);
+    }
+
+    // A webhook that is down is logged and skipped; the alert is in the alert file either way
+    private void post(Map<String, Object> alert) {
+        if (http == null) {
+            return;
+        }
+        try {
+            HttpRequest request = HttpRequest.newBuilder(URI.create(config.getMonitorAlertWebhook()))
+                    .timeout(Duration.ofSeconds(10))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(json.toJson(alert), StandardCharsets.UTF_8))
+                    .build();
+            HttpResponse<Void> response = http.send(request, HttpResponse.BodyHandlers.discarding());
+            if (response.statusCode() >= 300) {
+                LoggerUtil.warn("Alert webhook answered {}", response.statusCode());
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            LoggerUtil.warn("Failed to post the alert to {}: {}", config.getMonitorAlertWebhook(), e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void append(Path file, List<Map<String, Object>> records) {
+        StringBuilder lines = new StringBuilder();
+        for (Map<String, Object> record : records) {
+            json.newOutput(lines).setPrettyPrint(false).write(record);
+            lines.append('\n');
+        }
+        try {
+            Files.createDirectories(file.getParent());
+            Files.write(file, lines.toString().getBytes(StandardCharsets.UTF_8), StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            LoggerUtil.error("Failed to write " + file + ": " + e.getMessage());
+        }
+    }
+
+    // Picks up the runs of an earlier monitor process that still fall inside the window
+    private void loadWindow() {
+        if (!Files.isRegularFile(timeSeries)) {
+            return;
+        }
+        long from = System.currentTimeMillis() - config.getMonitorSloWindow().toMillis();
+        try {
+            for (String line : Files.readAllLines(timeSeries, StandardCharsets.UTF_8)) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                Map<String, Object> record = json.toType(line, Map.class);
+                if (!JOURNEY.equals(record.get("step"))) {
+                    continue;
+                }
+                long at = Instant.parse((String) record.get("timestamp")).toEpochMilli();
+                if (at >= from) {
+                    window.add(new Sample(at, Boolean.TRUE.equals(record.get("ok")), ((Number) record.get("ms")).longValue()));
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            LoggerUtil.warn("Could not read earlier runs from {}, starting with an empty window: {}", timeSeries, e.getMessage());
+            window.clear();
+        }
+    }
+
+    private void expire(long nowMillis) {
+        long from = nowMillis - config.getMonitorSloWindow().toMillis();
+        while (!window.isEmpty() && window.peekFirst().epochMillis < from) {
+            window.removeFirst();
+        }
+    }
+
+    private double successPercent() {
+        if (window.isEmpty()) {
+            return 100;
+        }
+        return 100.0 * window.stream().filter(sample -> sample.ok).count() / window.size();
+    }
+
+    // Among successful runs only, so an outage is reported once, as availability
+    private double withinLatencyPercent() {
+        long ok = window.stream().filter(sample -> sample.ok).count();
+        if (ok == 0) {
+            return 100;
+        }
+        long limit = config.getMonitorSloLatency().toMillis();
+        return 100.0 * window.stream().filter(sample -> sample.ok && sample.millis <= limit).count() / ok;
+    }
+
+    private void quitBrowser() {
+        WebDriver current = driver;
+        if (current != null) {
+            try {
+                current.quit();
+            } catch (RuntimeException e) {
+                // The JVM is exiting; a browser that is already gone is fine
+            }
+        }
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100) / 100.0;
+    }
+
+    private static final class Sample {
+        private final long epochMillis;
+        private final boolean ok;
+        private final long millis;
+
+        Sample(long epochMillis, boolean ok, long millis) {
+            this.epochMillis = epochMillis;
+            this.ok = ok;
+            this.millis = millis;
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.coffeecart.tracing;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+// JFR event for one WebDriverWait.until call, labelled with the page method that waited
+@Name("com.coffeecart.ExplicitWait")
+@Label("Explicit Wait")
+@Category({ "Coffee Cart", "Wait" })
+@Description("WebDriverWait.until from a page object")
+@StackTrace(false)
+public class ExplicitWaitEvent extends Event {
+    @Label("Page")
+    public String page;
+
+    @Label("Caller")
+    public String caller;
+
+    @Label("Timeout")
+    @Timespan(Timespan.MILLISECONDS)
+    public long timeout;
+
+    @Label("Outcome")
+    public String outcome;
+}
@@ -0,0 +1,56 @@
+package com.coffeecart.tracing;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import com.coffeecart.managers.ConfigManager;
+import com.coffeecart.managers.ConfigSnapshot;
+import com.coffeecart.metrics.RunContext;
+import com.coffeecart.utils.LoggerUtil;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.Recording;
+
+/**
+ * Starts an in-process Java Flight Recorder recording for the run when jfr.enabled is set, so framework
+ * page actions, waits and pauses can be lined up against GC, thread and I/O events in JDK Mission Control.
+ * The recording uses the JDK's jfr.settings template (default or profile) plus the Coffee Cart events, and is
+ * written to jfr.path when the JVM exits. Runs started with -XX:StartFlightRecording get the same events.
+ */
+public class FlightRecording {
+
+    private static Recording recording;
+
+    // Starts the recording once per JVM; later calls are ignored
+    public static synchronized void startIfConfigured() {
+        ConfigSnapshot config = ConfigManager.snapshot();
+        if (recording != null || !config.isJfrEnabled()) {
+            return;
+        }
+        if (!FlightRecorder.isAvailable()) {
+            LoggerUtil.warn("jfr.enabled is set but Flight Recorder is not available in this JVM");
+            return;
+        }
+        try {
+            Path directory = Paths.get(config.getJfrPath());
+            Files.createDirectories(directory);
+            Path file = directory.resolve("coffeecart-" + RunContext.getRunId() + ".jfr");
+
+            Recording newRecording = new Recording(Configuration.getConfiguration(config.getJfrSettings()));
+            newRecording.setName("coffeecart");
+            newRecording.enable(PageActionEvent.class);
+            newRecording.enable(ExplicitWaitEvent.class);
+            newRecording.enable(StabilityPauseEvent.class);
+            newRecording.setToDisk(true);
+            newRecording.setDumpOnExit(true);
+            newRecording.setDestination(file);
+            newRecording.start();
+            recording = newRecording;
+            LoggerUtil.info("Started JFR recording, written to {} on exit", file.toAbsolutePath());
+        } catch (Exception e) {
+            LoggerUtil.error("Failed to start JFR recording: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.coffeecart.tracing;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+// JFR event for a BasePage element action (click, sendKeys, getText), including its built-in wait
+@Name("com.coffeecart.PageAction")
+@Label("Page Action")
+@Category({ "Coffee Cart", "Page" })
+@Description("Click, type or read on a page-object element")
+@StackTrace(false)
+public class PageActionEvent extends Event {
+    @Label("Page")
+    public String page;
+
+    @Label("Action")
+    public String action;
+
+    @Label("Locator")
+    public String locator;
+
+    @Label("Outcome")
+    public String outcome;
+}
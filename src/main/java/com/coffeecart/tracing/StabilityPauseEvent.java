@@ -0,0 +1,30 @@
+package com.coffeecart.tracing;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+// JFR event for a fixed Thread.sleep stability pause, named after the config setting that sized it
+@Name("com.coffeecart.StabilityPause")
+@Label("Stability Pause")
+@Category({ "Coffee Cart", "Wait" })
+@Description("Fixed Thread.sleep taken for DOM or page stability")
+@StackTrace(false)
+public class StabilityPauseEvent extends Event {
+    @Label("Page")
+    public String page;
+
+    @Label("Reason")
+    public String reason;
+
+    @Label("Requested")
+    @Timespan(Timespan.MILLISECONDS)
+    public long requested;
+
+    @Label("Outcome")
+    public String outcome;
+}
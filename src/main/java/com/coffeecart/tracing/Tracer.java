@@ -0,0 +1,191 @@
+package com.coffeecart.tracing;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import org.openqa.selenium.json.Json;
+
+import com.coffeecart.managers.ConfigManager;
+import com.coffeecart.metrics.RunContext;
+import com.coffeecart.utils.LoggerUtil;
+
+/**
+ * In-process span recorder that writes the Chrome trace-event format (chrome://tracing, Perfetto, speedscope).
+ * Spans are kept as "complete" (ph=X) events; the viewers nest them by time on each thread, so a test span
+ * contains its page-object method spans, which contain their WebDriver command spans. No collector is needed:
+ * export() rewrites one JSON file per run.
+ */
+public class Tracer {
+
+    public static final String CATEGORY_TEST = "test";
+    public static final String CATEGORY_PAGE = "page";
+    public static final String CATEGORY_DRIVER = "webdriver";
+    public static final String CATEGORY_WAIT = "wait";
+
+    private static final long originNanos = System.nanoTime();
+    private static final long originEpochMicros = System.currentTimeMillis() * 1000;
+    private static final long processId = ProcessHandle.current().pid();
+
+    private static final ConcurrentLinkedQueue<Map<String, Object>> events = new ConcurrentLinkedQueue<>();
+    private static final AtomicInteger eventCount = new AtomicInteger();
+    private static final AtomicLong droppedEvents = new AtomicLong();
+    private static final Map<Long, String> threadNames = new ConcurrentHashMap<>();
+
+    // No-op span handed out when tracing is off, so callers never need a null check
+    private static final Span DISABLED = new Span(null, null, 0);
+
+    public static boolean isEnabled() {
+        return ConfigManager.snapshot().isTracingEnabled();
+    }
+
+    // Opens a span on the current thread; close it (try-with-resources) to record it
+    public static Span start(String name, String category) {
+        if (!isEnabled()) {
+            return DISABLED;
+        }
+        return new Span(name, category, System.nanoTime());
+    }
+
+    // Same as start(name, category) but only builds the name when tracing is on
+    public static Span start(Supplier<String> name, String category) {
+        if (!isEnabled()) {
+            return DISABLED;
+        }
+        return new Span(name.get(), category, System.nanoTime());
+    }
+
+    // Records an already finished span, for callbacks that only see the start and end separately
+    public static void record(String name, String category, long startNanos, long endNanos, Map<String, Object> args) {
+        if (!isEnabled()) {
+            return;
+        }
+        if (eventCount.incrementAndGet() > ConfigManager.snapshot().getTracingMaxEvents()) {
+            droppedEvents.incrementAndGet();
+            return;
+        }
+        Thread thread = Thread.currentThread();
+        threadNames.putIfAbsent(thread.threadId(), thread.getName());
+
+        Map<String, Object> event = new LinkedHashMap<>();
+        event.put("name", name);
+        event.put("cat", category);
+        event.put("ph", "X");
+        event.put("ts", micros(startNanos));
+        event.put("dur", Math.max(0, (endNanos - startNanos) / 1000));
+        event.put("pid", processId);
+        event.put("tid", thread.threadId());
+        if (args != null && !args.isEmpty()) {
+            event.put("args", args);
+        }
+        events.add(event);
+    }
+
+    // Drops the recorded spans so a new run in the same JVM starts an empty trace
+    public static void reset() {
+        events.clear();
+        eventCount.set(0);
+        droppedEvents.set(0);
+    }
+
+    // Writes every span recorded so far to trace-<run>.json in the given directory
+    public static void export(Path directory) {
+        if (events.isEmpty()) {
+            return;
+        }
+        Path file = directory.resolve("trace-" + RunContext.getRunId() + ".json");
+        try {
+            Files.createDirectories(directory);
+            Json json = new Json();
+            try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+                writer.write("{\"displayTimeUnit\":\"ms\",\"otherData\":{\"originEpochMicros\":" + originEpochMicros
+                        + ",\"droppedEvents\":" + droppedEvents.get() + "},\"traceEvents\":[\n");
+                boolean first = true;
+                for (Map<String, Object> metadata : threadMetadata()) {
+                    first = writeEvent(writer, json, metadata, first);
+                }
+                for (Map<String, Object> event : events) {
+                    first = writeEvent(writer, json, event, first);
+                }
+                writer.write("\n]}\n");
+            }
+            LoggerUtil.info("Wrote {} trace events to {}", events.size(), file.toAbsolutePath());
+            if (droppedEvents.get() > 0) {
+                LoggerUtil.warn("Dropped {} trace events beyond tracing.max.events", droppedEvents.get());
+            }
+        } catch (IOException e) {
+            LoggerUtil.error("Failed to write trace file: " + e.getMessage());
+        }
+    }
+
+    private static boolean writeEvent(BufferedWriter writer, Json json, Map<String, Object> event, boolean first) throws IOException {
+        if (!first) {
+            writer.write(",\n");
+        }
+        StringBuilder line = new StringBuilder(160);
+        json.newOutput(line).setPrettyPrint(false).write(event);
+        writer.write(line.toString());
+        return false;
+    }
+
+    // thread_name metadata events so the viewer labels rows with TestNG thread names instead of numbers
+    private static List<Map<String, Object>> threadMetadata() {
+        List<Map<String, Object>> metadata = new ArrayList<>();
+        threadNames.forEach((id, name) -> {
+            Map<String, Object> event = new LinkedHashMap<>();
+            event.put("name", "thread_name");
+            event.put("ph", "M");
+            event.put("pid", processId);
+            event.put("tid", id);
+            event.put("args", Map.of("name", name));
+            metadata.add(event);
+        });
+        return metadata;
+    }
+
+    private static long micros(long nanos) {
+        return (nanos - originNanos) / 1000;
+    }
+
+    // An open span; arguments added before close() are shown in the viewer's detail pane
+    public static final class Span implements AutoCloseable {
+        private final String name;
+        private final String category;
+        private final long startNanos;
+        private Map<String, Object> args;
+
+        private Span(String name, String category, long startNanos) {
+            this.name = name;
+            this.category = category;
+            this.startNanos = startNanos;
+        }
+
+        public Span arg(String key, Object value) {
+            if (name != null) {
+                if (args == null) {
+                    args = new LinkedHashMap<>();
+                }
+                args.put(key, String.valueOf(value));
+            }
+            return this;
+        }
+
+        @Override
+        public void close() {
+            if (name != null) {
+                record(name, category, startNanos, System.nanoTime(), args);
+            }
+        }
+    }
+}
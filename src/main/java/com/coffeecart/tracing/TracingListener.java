@@ -0,0 +1,56 @@
+package com.coffeecart.tracing;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.events.WebDriverListener;
+
+/**
+ * Turns every WebDriver call on a decorated driver into a trace span, nested under whichever page-object
+ * method span is open on the same thread.
+ */
+public class TracingListener implements WebDriverListener {
+
+    private final ThreadLocal<Deque<Long>> startTimes = ThreadLocal.withInitial(ArrayDeque::new);
+
+    @Override
+    public void beforeAnyCall(Object target, Method method, Object[] args) {
+        startTimes.get().push(System.nanoTime());
+    }
+
+    @Override
+    public void afterAnyCall(Object target, Method method, Object[] args, Object result) {
+        finish(target, method, args, null);
+    }
+
+    @Override
+    public void onError(Object target, Method method, Object[] args, InvocationTargetException e) {
+        finish(target, method, args, e.getTargetException());
+    }
+
+    private void finish(Object target, Method method, Object[] args, Throwable error) {
+        Long start = startTimes.get().poll();
+        if (start == null) {
+            return;
+        }
+        long end = System.nanoTime();
+        Map<String, Object> spanArgs = new LinkedHashMap<>();
+        if (args != null && args.length > 0 && args[0] instanceof By) {
+            spanArgs.put("locator", args[0].toString());
+        } else if (args != null && args.length > 0 && args[0] instanceof String) {
+            String text = (String) args[0];
+            spanArgs.put("argument", text.length() > 120 ? text.substring(0, 120) + "..." : text);
+        }
+        if (error != null) {
+            spanArgs.put("error", error.getClass().getSimpleName());
+        }
+        String name = target instanceof WebDriver.Navigation ? "navigate." + method.getName() : method.getName();
+        Tracer.record(name, Tracer.CATEGORY_DRIVER, start, end, spanArgs);
+    }
+}
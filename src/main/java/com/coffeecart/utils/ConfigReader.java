@@ -1,36 +1,16 @@
 package com.coffeecart.utils;
 
-import java.io.FileInputStream;
-import java.io.IOException;
-import java.util.Properties;
+import com.coffeecart.managers.ConfigManager;
 
 /**
  * Reads configuration properties from external files to support flexible test configuration.
+ * Values come from ConfigManager's current snapshot, so the file is loaded once and reloads are shared.
  */
 public class ConfigReader {
-    private static Properties properties;
-    private static final String CONFIG_FILE_PATH = "resources/config.properties";
-
-    static {
-        loadProperties();
-    }
-
-
-     //Loads properties from the configuration file into memory.
-    private static void loadProperties() {
-        try (FileInputStream fileInputStream = new FileInputStream(CONFIG_FILE_PATH)) {
-            properties = new Properties();
-            properties.load(fileInputStream);
-            LoggerUtil.info("Configuration properties has been loaded successfully");
-        } catch (IOException e) {
-            LoggerUtil.error("Failed to load config file: " + e.getMessage());
-            throw new RuntimeException("Error in loading the config file", e);
-        }
-    }
 
     //Retrieves a string property value by key.
     public static String getProperty(String key) {
-        String value = properties.getProperty(key);
+        String value = ConfigManager.snapshot().getProperty(key, null);
         if (value == null) {
             throw new RuntimeException("Property '" + key + "' not found in the config file");
         }
@@ -40,7 +20,7 @@ public class ConfigReader {
 
      //Retrieves a string property value by key with a default fallback value.
     public static String getProperty(String key, String defaultValue) {
-        return properties.getProperty(key, defaultValue).trim();
+        return ConfigManager.snapshot().getProperty(key, defaultValue).trim();
     }
 
 
@@ -54,4 +34,4 @@ public class ConfigReader {
     public static boolean getBooleanProperty(String key) {
         return Boolean.parseBoolean(getProperty(key));
     }
-}
\ No newline at end of file
+}
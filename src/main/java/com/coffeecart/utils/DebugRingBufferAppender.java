@@ -0,0 +1,179 @@
+package com.coffeecart.utils;
+
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.PatternLayout;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import ch.qos.logback.core.UnsynchronizedAppenderBase;
+
+/**
+ * Keeps the most recent log events of each test thread in a fixed-size in-memory ring, at every level including
+ * DEBUG and TRACE: enabled events arrive through this appender, disabled ones through DebugRingBufferFilter, so
+ * the loggers can stay at INFO. A thread only captures between capture(), called by TestListener when a test starts,
+ * and the dump() on failure or clear() otherwise; outside a test a disabled call costs a flag check and nothing is
+ * kept. Disabled calls are stored as their format and the String.valueOf of each argument, formatted only on dump.
+ * Each thread only touches its own ring, so the appender needs no locking.
+ */
+public class DebugRingBufferAppender extends UnsynchronizedAppenderBase<ILoggingEvent> {
+
+    private static final String DEFAULT_PATTERN = "%d{HH:mm:ss.SSS} [%thread] %-5level %logger{36} - %msg%n";
+
+    private static volatile int capacity = 512;
+    private static volatile PatternLayout layout;
+
+    private static final ThreadLocal<Ring> ring = new ThreadLocal<>();
+
+    private String pattern = DEFAULT_PATTERN;
+
+    // Number of events kept per thread, set from logback.xml
+    public void setCapacity(int capacity) {
+        DebugRingBufferAppender.capacity = Math.max(1, capacity);
+    }
+
+    public void setPattern(String pattern) {
+        this.pattern = pattern;
+    }
+
+    @Override
+    public void start() {
+        PatternLayout patternLayout = new PatternLayout();
+        patternLayout.setContext(getContext());
+        patternLayout.setPattern(pattern);
+        patternLayout.start();
+        layout = patternLayout;
+        super.start();
+    }
+
+    @Override
+    protected void append(ILoggingEvent event) {
+        Ring current = ring.get();
+        if (current != null && current.capturing) {
+            current.add(event);
+        }
+    }
+
+    // Starts keeping the current thread's events, called when a test starts on it
+    public static void capture() {
+        Ring current = ring.get();
+        if (current == null) {
+            current = new Ring(capacity);
+            ring.set(current);
+        }
+        current.clear();
+        current.capturing = true;
+    }
+
+    // Whether the current thread is inside a test, checked by DebugRingBufferFilter before it allocates anything
+    static boolean isCapturing() {
+        Ring current = ring.get();
+        return current != null && current.capturing;
+    }
+
+    // Adds a call that never reached the appenders because its level is disabled
+    static void record(Logger logger, Level level, String format, Object[] params, Throwable t) {
+        String[] arguments = null;
+        if (params != null) {
+            // Kept as text so page elements and other live objects are not held until the ring is dumped
+            arguments = new String[params.length];
+            for (int i = 0; i < params.length; i++) {
+                arguments[i] = String.valueOf(params[i]);
+            }
+        }
+        ring.get().add(new Disabled(logger, level, format, arguments, t, System.currentTimeMillis(),
+                Thread.currentThread().getName()));
+    }
+
+    // Formats the current thread's buffered events, oldest first, empties the buffer and stops capturing
+    public static String dump() {
+        Ring current = ring.get();
+        if (current == null) {
+            return "";
+        }
+        PatternLayout patternLayout = layout;
+        StringBuilder builder = new StringBuilder(current.size * 120);
+        current.forEach(entry -> {
+            ILoggingEvent event = entry instanceof Disabled ? ((Disabled) entry).toEvent() : (ILoggingEvent) entry;
+            builder.append(patternLayout != null
+                    ? patternLayout.doLayout(event)
+                    : event.getLevel() + " " + event.getFormattedMessage() + System.lineSeparator());
+        });
+        current.clear();
+        current.capturing = false;
+        return builder.toString();
+    }
+
+    // Discards the current thread's buffered events and stops capturing, used when a test passes
+    public static void clear() {
+        Ring current = ring.get();
+        if (current != null) {
+            current.clear();
+            current.capturing = false;
+        }
+    }
+
+    // A disabled-level call as captured; turned into a logging event only when the ring is dumped
+    private static final class Disabled {
+        private final Logger logger;
+        private final Level level;
+        private final String format;
+        private final String[] arguments;
+        private final Throwable throwable;
+        private final long timestamp;
+        private final String thread;
+
+        Disabled(Logger logger, Level level, String format, String[] arguments, Throwable throwable, long timestamp,
+                String thread) {
+            this.logger = logger;
+            this.level = level;
+            this.format = format;
+            this.arguments = arguments;
+            this.throwable = throwable;
+            this.timestamp = timestamp;
+            this.thread = thread;
+        }
+
+        ILoggingEvent toEvent() {
+            LoggingEvent event = new LoggingEvent(Logger.FQCN, logger, level, format, throwable, arguments);
+            event.setTimeStamp(timestamp);
+            event.setThreadName(thread);
+            return event;
+        }
+    }
+
+    // Fixed array overwritten in a circle; the oldest entry is dropped once it is full
+    private static final class Ring {
+        private final Object[] entries;
+        private int next = 0;
+        private int size = 0;
+        private boolean capturing;
+
+        Ring(int capacity) {
+            this.entries = new Object[capacity];
+        }
+
+        void add(Object entry) {
+            entries[next] = entry;
+            next = (next + 1) % entries.length;
+            if (size < entries.length) {
+                size++;
+            }
+        }
+
+        void forEach(Consumer<Object> action) {
+            int start = (next - size + entries.length) % entries.length;
+            for (int i = 0; i < size; i++) {
+                action.accept(entries[(start + i) % entries.length]);
+            }
+        }
+
+        void clear() {
+            Arrays.fill(entries, null);
+            next = 0;
+            size = 0;
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.coffeecart.utils;
+
+import org.slf4j.Marker;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+
+/**
+ * Feeds framework log calls below the logger's level (DEBUG, TRACE) into the per-test ring of
+ * DebugRingBufferAppender while the loggers themselves stay at INFO. Turbo filters see a call before the level
+ * check, so the call can be kept without enabling the level: isDebugEnabled() stays false and guarded or Supplier
+ * based diagnostics are still skipped. Nothing is allocated unless a test is running on the calling thread; then
+ * only the format and argument strings are kept, and the message is formatted when a failed test's ring is dumped.
+ * The filter never changes whether an event is logged.
+ */
+public class DebugRingBufferFilter extends TurboFilter {
+
+    private String prefix = "com.coffeecart";
+
+    // Logger name prefix whose disabled events are captured, set from logback.xml
+    public void setPrefix(String prefix) {
+        this.prefix = prefix;
+    }
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        // A null format is an isXxxEnabled() check, which must keep answering for the real level
+        if (format == null || !DebugRingBufferAppender.isCapturing() || level.isGreaterOrEqual(logger.getEffectiveLevel())
+                || !logger.getName().startsWith(prefix)) {
+            return FilterReply.NEUTRAL;
+        }
+        DebugRingBufferAppender.record(logger, level, format, params, t);
+        return FilterReply.NEUTRAL;
+    }
+}
@@ -3,10 +3,15 @@ package com.coffeecart.utils;
 import java.io.BufferedReader;
 import java.io.FileReader;
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
+
+import com.coffeecart.managers.ConfigManager;
 
 
  //Handles different data formats including user data, coffee data, and test constants.
@@ -18,13 +23,57 @@ public class ExcelReader {
      //Retrieves test data from CSV file for the specified sheet name.
     public static Object[][] getTestdata(String sheetName) {
         try {
-            return readCsvData(sheetName);
+            TestDataCache.Sheet sheet = cachedSheet(sheetName);
+            return sheet != null ? readCachedData(sheet, sheetName) : readCsvData(sheetName);
         } catch (Exception e) {
             LoggerUtil.error("Failed to read CSV data: " + e.getMessage());
             throw new RuntimeException("No test data available for: " + sheetName, e);
         }
     }
 
+    /**
+     * Streams test data rows for the specified sheet one line at a time instead of loading the whole sheet.
+     * The underlying reader is closed once the last row of the sheet has been consumed.
+     */
+    public static Iterator<Object[]> iterateTestdata(String sheetName) {
+        try {
+            TestDataCache.Sheet sheet = cachedSheet(sheetName);
+            Iterator<Object[]> iterator = sheet != null
+                    ? new CachedRowIterator(sheet, sheetName)
+                    : new SheetRowIterator(sheetName);
+            if (!iterator.hasNext()) {
+                throw new RuntimeException("No data has been found for sheet: " + sheetName);
+            }
+            return iterator;
+        } catch (Exception e) {
+            LoggerUtil.error("Failed to stream CSV data: " + e.getMessage());
+            throw new RuntimeException("No test data available for: " + sheetName, e);
+        }
+    }
+
+    // Returns the memory-mapped sheet when the binary cache is enabled, otherwise null to fall back to the CSV
+    private static TestDataCache.Sheet cachedSheet(String sheetName) {
+        if (!ConfigManager.isTestDataCacheEnabled()) {
+            return null;
+        }
+        return TestDataCache.forCsv(CSV_FILE_PATH).sheet(sheetName);
+    }
+
+    // Decodes every row of a cached sheet into the typed parameters expected by the tests
+    private static Object[][] readCachedData(TestDataCache.Sheet sheet, String sheetName) {
+        List<Object[]> dataList = new ArrayList<>(sheet.getRowCount());
+        for (int i = 0; i < sheet.getRowCount(); i++) {
+            Object[] row = toRow(sheetName, sheet.getRow(i));
+            if (row != null) {
+                dataList.add(row);
+            }
+        }
+        if (dataList.isEmpty()) {
+            throw new RuntimeException("No data has been found for sheet: " + sheetName);
+        }
+        return dataList.toArray(new Object[0][]);
+    }
+
      // Reads CSV data for a specific sheet and converts it to the appropriate format.
     private static Object[][] readCsvData(String sheetName) throws IOException {
         List<Object[]> dataList = new ArrayList<>();
@@ -51,13 +100,9 @@ public class ExcelReader {
                         headerRead = true; // Skip header row
                         continue;
                     }
-                    String[] values = line.split(",");
-                    if (sheetName.equals("UserData")) {
-                        dataList.add(new Object[]{values[0].trim(), values[1].trim()});
-                    } else if (sheetName.equals("CoffeeData")) {
-                        dataList.add(new Object[]{values[0].trim(), Integer.parseInt(values[1].trim()), Double.parseDouble(values[2].trim())});
-                    } else if (sheetName.equals("TestConstants")) {
-                        dataList.add(new Object[]{values[0].trim(), values[1].trim()});
+                    Object[] row = toRow(sheetName, line.split(","));
+                    if (row != null) {
+                        dataList.add(row);
                     }
                 }
             }
@@ -69,6 +114,23 @@ public class ExcelReader {
         
         return dataList.toArray(new Object[0][]);
     }
+
+    // Converts the raw CSV values of a row into the typed parameters expected by the sheet's tests
+    private static Object[] toRow(String sheetName, String[] values) {
+        if (values.length == 0) {
+            return null; // Blank separator row such as ",,,"
+        }
+        if (sheetName.equals("UserData")) {
+            return new Object[]{values[0].trim(), values[1].trim()};
+        } else if (sheetName.equals("CoffeeData")) {
+            return new Object[]{values[0].trim(), Integer.parseInt(values[1].trim()), Double.parseDouble(values[2].trim())};
+        } else if (sheetName.equals("QuantityData")) {
+            return new Object[]{Integer.parseInt(values[0].trim())};
+        } else if (sheetName.equals("TestConstants")) {
+            return new Object[]{values[0].trim(), values[1].trim()};
+        }
+        return null;
+    }
     
 
      //Reads CSV data and returns it as a list of maps for more flexible data access.
@@ -98,6 +160,115 @@ public class ExcelReader {
         
         return dataList;
     }
-    
 
-}
\ No newline at end of file
+    // Decodes cached rows one at a time straight from the mapped file
+    private static class CachedRowIterator implements Iterator<Object[]> {
+        private final TestDataCache.Sheet sheet;
+        private final String sheetName;
+        private int index = 0;
+        private Object[] nextRow;
+
+        CachedRowIterator(TestDataCache.Sheet sheet, String sheetName) {
+            this.sheet = sheet;
+            this.sheetName = sheetName;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (nextRow == null && index < sheet.getRowCount()) {
+                nextRow = toRow(sheetName, sheet.getRow(index++));
+            }
+            return nextRow != null;
+        }
+
+        @Override
+        public Object[] next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException("No more rows in sheet: " + sheetName);
+            }
+            Object[] row = nextRow;
+            nextRow = null;
+            return row;
+        }
+    }
+
+    // Lazily reads the rows of one sheet so only the current line is held in memory
+    private static class SheetRowIterator implements Iterator<Object[]> {
+        private final String sheetName;
+        private BufferedReader reader;
+        private boolean inTargetSheet = false;
+        private boolean headerRead = false;
+        private Object[] nextRow;
+
+        SheetRowIterator(String sheetName) throws IOException {
+            this.sheetName = sheetName;
+            this.reader = new BufferedReader(new FileReader(CSV_FILE_PATH));
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (nextRow == null && reader != null) {
+                nextRow = readNextRow();
+            }
+            return nextRow != null;
+        }
+
+        @Override
+        public Object[] next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException("No more rows in sheet: " + sheetName);
+            }
+            Object[] row = nextRow;
+            nextRow = null;
+            return row;
+        }
+
+        // Advances to the next data row of the sheet and closes the reader when the sheet ends
+        private Object[] readNextRow() {
+            try {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    line = line.trim();
+                    if (line.isEmpty()) continue;
+                    if (line.startsWith("# " + sheetName)) {
+                        inTargetSheet = true;
+                        headerRead = false;
+                        continue;
+                    } else if (line.startsWith("#")) {
+                        if (inTargetSheet) {
+                            break; // Sheets are contiguous, nothing more to read
+                        }
+                        continue;
+                    }
+
+                    if (inTargetSheet) {
+                        if (!headerRead) {
+                            headerRead = true; // Skip header row
+                            continue;
+                        }
+                        Object[] row = toRow(sheetName, line.split(","));
+                        if (row != null) {
+                            return row;
+                        }
+                    }
+                }
+                close();
+                return null;
+            } catch (IOException e) {
+                close();
+                throw new UncheckedIOException("Failed to read the sheet: " + sheetName, e);
+            }
+        }
+
+        private void close() {
+            try {
+                reader.close();
+            } catch (IOException e) {
+                LoggerUtil.warn("Failed to close CSV reader: " + e.getMessage());
+            } finally {
+                reader = null;
+            }
+        }
+    }
+
+}
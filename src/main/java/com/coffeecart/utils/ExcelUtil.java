@@ -6,6 +6,8 @@ import java.io.IOException;
 import java.util.HashMap;
 import java.util.Map;
 
+import com.coffeecart.managers.ConfigManager;
+
 
  // Reads test data from CSV files to support data-driven testing scenarios.
 
@@ -15,6 +17,10 @@ public class ExcelUtil {
     public static Map<String, String> getTestData(String filePath, String sheetName, String testCaseName) {
         Map<String, String> testData = new HashMap<>();
         String csvPath = filePath.replace(".xlsx", ".csv");
+
+        if (ConfigManager.isTestDataCacheEnabled()) {
+            return getCachedTestData(csvPath, testCaseName);
+        }
         
         try (BufferedReader br = new BufferedReader(new FileReader(csvPath))) {
             String line;
@@ -57,4 +63,22 @@ public class ExcelUtil {
         
         return testData;
     }
+
+    // Looks up the test case row in the memory-mapped cache and decodes only that row
+    private static Map<String, String> getCachedTestData(String csvPath, String testCaseName) {
+        Map<String, String> testData = new HashMap<>();
+        TestDataCache.Sheet sheet = TestDataCache.forCsv(csvPath).sheet("TestCases");
+        if (sheet == null) {
+            return testData;
+        }
+        int rowIndex = sheet.findRow(testCaseName);
+        if (rowIndex >= 0) {
+            String[] headers = sheet.getHeaders();
+            String[] values = sheet.getRow(rowIndex);
+            for (int i = 0; i < Math.min(headers.length, values.length); i++) {
+                testData.put(headers[i], values[i]);
+            }
+        }
+        return testData;
+    }
 }
\ No newline at end of file
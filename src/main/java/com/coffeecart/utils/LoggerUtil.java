@@ -1,10 +1,14 @@
 package com.coffeecart.utils;
 
+import java.util.function.Supplier;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 
  //Centralized logging utility that provides consistent logging across the entire test framework.
+ //The {} overloads defer formatting until the level is known to be enabled, and the Supplier overloads
+ //skip building the message entirely when it is not, so disabled DEBUG calls cost a level check.
 
 public class LoggerUtil {
     private static final Logger logger = LoggerFactory.getLogger(LoggerUtil.class);
@@ -14,21 +18,88 @@ public class LoggerUtil {
         logger.info(message);
     }
 
+    // Logs an informational message with {} placeholders, formatted only if INFO is enabled
+    public static void info(String format, Object arg) {
+        logger.info(format, arg);
+    }
+
+    public static void info(String format, Object arg1, Object arg2) {
+        logger.info(format, arg1, arg2);
+    }
+
+    public static void info(String format, Object... args) {
+        logger.info(format, args);
+    }
+
+    // Logs an informational message built by the supplier, which is only called if INFO is enabled
+    public static void info(Supplier<String> message) {
+        if (logger.isInfoEnabled()) {
+            logger.info(message.get());
+        }
+    }
+
     // Logs error messages when something goes wrong during test execution
     public static void error(String message) {
         logger.error(message);
     }
 
+    // Logs an error message with {} placeholders; a trailing Throwable argument is logged with its stack trace
+    public static void error(String format, Object arg1, Object arg2) {
+        logger.error(format, arg1, arg2);
+    }
+
+    public static void error(String format, Object... args) {
+        logger.error(format, args);
+    }
+
     // Logs warning messages for potential issues that don't stop test execution
     public static void warn(String message) {
         logger.warn(message);
     }
 
+    // Logs a warning with {} placeholders, formatted only if WARN is enabled
+    public static void warn(String format, Object arg) {
+        logger.warn(format, arg);
+    }
+
+    public static void warn(String format, Object arg1, Object arg2) {
+        logger.warn(format, arg1, arg2);
+    }
+
+    public static void warn(String format, Object... args) {
+        logger.warn(format, args);
+    }
+
     // Logs  debug information for troubleshooting test issues
     public static void debug(String message) {
         logger.debug(message);
     }
 
+    // Logs debug information with {} placeholders, formatted only if DEBUG is enabled
+    public static void debug(String format, Object arg) {
+        logger.debug(format, arg);
+    }
+
+    public static void debug(String format, Object arg1, Object arg2) {
+        logger.debug(format, arg1, arg2);
+    }
+
+    public static void debug(String format, Object... args) {
+        logger.debug(format, args);
+    }
+
+    // Logs debug information built by the supplier, which is only called if DEBUG is enabled
+    public static void debug(Supplier<String> message) {
+        if (logger.isDebugEnabled()) {
+            logger.debug(message.get());
+        }
+    }
+
+    // Lets callers skip expensive diagnostic work (extra element lookups, page source dumps) when DEBUG is off
+    public static boolean isDebugEnabled() {
+        return logger.isDebugEnabled();
+    }
+
     // Logs error messages with full exception details for better debugging
     public static void error(String message, Throwable throwable) {
         logger.error(message, throwable);
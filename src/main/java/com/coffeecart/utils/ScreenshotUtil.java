@@ -1,46 +1,206 @@
 package com.coffeecart.utils;
 
-import java.io.File;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.text.SimpleDateFormat;
+import java.time.Duration;
 import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
 
 import org.openqa.selenium.OutputType;
 import org.openqa.selenium.TakesScreenshot;
 import org.openqa.selenium.WebDriver;
-import org.apache.commons.io.FileUtils;
-
 
 import com.coffeecart.managers.ConfigManager;
+import com.coffeecart.managers.ConfigSnapshot;
+
+import io.qameta.allure.Allure;
+import io.qameta.allure.AllureLifecycle;
 
 //Handles automatic screenshot capture for failed tests with timestamped
+//The browser is asked for PNG bytes once on the test thread; scaling, encoding, the file and the Allure
+//attachment are handled by a single background writer with a bounded queue. An attachment the writer could not fill
+//(write failed, or still queued when the suite finishes) gets the original PNG synchronously, so it is never missing.
 
 public class ScreenshotUtil {
 
-    // Captures a screenshot with timestamp and test name for failed test debugging
+    private static final ThreadPoolExecutor writer = createWriter();
+    // Registered attachments not written yet, with the PNG to write directly if the writer does not get to them
+    private static final Map<String, byte[]> pendingAttachments = new ConcurrentHashMap<>();
+
+    // Captures a screenshot with timestamp and test name and waits for it to be written, returning the file path
     public static String captureScreenshot(WebDriver driver, String testName) {
         try {
-            String screenshotPath = ConfigManager.getScreenshotPath();
-            SimpleDateFormat sdf = new SimpleDateFormat("yyyyMMdd_HHmmss");
-            String timestamp = sdf.format(new Date());
-            String screenshotFileName = testName + "_" + timestamp + ".png";
-
-            File directory = new File(screenshotPath);
-            if (!directory.exists()) {
-                directory.mkdirs();
+            return capture(driver, testName).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (ExecutionException e) {
+            LoggerUtil.error("Failed to capture screenshot: " + e.getCause().getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Takes one screenshot on the calling thread and hands it to the background writer, which saves the file and
+     * fills in the Allure attachment. The attachment is registered here so it belongs to the current test even
+     * though its content is written later. The future completes with the saved file path, or null when writing
+     * failed; callers that do not wait for it still get the failure in the log.
+     */
+    public static Future<String> capture(WebDriver driver, String testName) {
+        byte[] png;
+        try {
+            png = ((TakesScreenshot) driver).getScreenshotAs(OutputType.BYTES);
+        } catch (Exception e) {
+            LoggerUtil.error("Failed to capture screenshot: " + e.getMessage());
+            CompletableFuture<String> failed = new CompletableFuture<>();
+            failed.completeExceptionally(e);
+            return failed;
+        }
+
+        ConfigSnapshot config = ConfigManager.snapshot();
+        String extension = "." + config.getScreenshotFormat();
+        AllureLifecycle lifecycle = Allure.getLifecycle();
+        String attachmentSource = lifecycle.getCurrentTestCaseOrStep().isPresent()
+                ? lifecycle.prepareAttachment("Screenshot", "jpg".equals(config.getScreenshotFormat()) ? "image/jpeg" : "image/png", extension)
+                : null;
+        if (attachmentSource != null) {
+            pendingAttachments.put(attachmentSource, png);
+        }
+        String timestamp = new SimpleDateFormat("yyyyMMdd_HHmmss").format(new Date());
+        // One folder per browser so lanes running side by side never mix their screenshots
+        String browser = ConfigManager.getBrowser();
+
+        return writer.submit(() -> {
+            try {
+                byte[] image = encode(png, config);
+                Path directory = Paths.get(config.getScreenshotPath(), browser);
+                Files.createDirectories(directory);
+                Path destination = directory.resolve(testName + "_" + timestamp + extension);
+                Files.write(destination, image);
+                // Removing the entry claims the attachment, so the fallback below never writes it a second time
+                if (attachmentSource != null && pendingAttachments.remove(attachmentSource) != null) {
+                    lifecycle.writeAttachment(attachmentSource, new ByteArrayInputStream(image));
+                }
+                LoggerUtil.info("Successfully saved the screenshot: {}", destination.toAbsolutePath());
+                return destination.toAbsolutePath().toString();
+            } catch (IOException | RuntimeException e) {
+                LoggerUtil.error("Failed to save the screenshot of " + testName + ": " + e.getMessage());
+                attachPending(attachmentSource);
+                return null;
             }
+        });
+    }
 
-            File source = ((TakesScreenshot) driver).getScreenshotAs(OutputType.FILE);
-            File finalDestination = new File(directory, screenshotFileName);
-            FileUtils.copyFile(source, finalDestination);
-            String destination = finalDestination.getAbsolutePath();
+    // Synchronous fallback: writes the original PNG into a registered attachment the writer has not filled
+    private static void attachPending(String attachmentSource) {
+        byte[] png = attachmentSource != null ? pendingAttachments.remove(attachmentSource) : null;
+        if (png == null) {
+            return;
+        }
+        try {
+            Allure.getLifecycle().writeAttachment(attachmentSource, new ByteArrayInputStream(png));
+        } catch (RuntimeException e) {
+            LoggerUtil.error("Failed to attach the screenshot " + attachmentSource + ": " + e.getMessage());
+        }
+    }
 
-            LoggerUtil.info("Successfully saved the screenshot: " + destination);
-            return destination;
+    // Blocks until every queued screenshot has been written, called when a suite finishes; attachments still pending
+    // after the timeout are written on this thread from the original PNG
+    public static void awaitPendingWrites(Duration timeout) {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        try {
+            // A marker that finds the queue full runs on this thread straight away, so repeat until the queue is empty,
+            // checking the deadline each time since such a marker never waits
+            do {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    throw new TimeoutException();
+                }
+                writer.submit(() -> { }).get(remaining, TimeUnit.NANOSECONDS);
+            } while (!writer.getQueue().isEmpty());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | TimeoutException e) {
+            LoggerUtil.warn("Screenshot writer did not drain within {}: {} still queued", timeout, writer.getQueue().size());
+            pendingAttachments.keySet().forEach(ScreenshotUtil::attachPending);
+        }
+    }
 
-        } catch (IOException e) {
-            LoggerUtil.error("Failed to capture screenshot: " + e.getMessage());
-            return null;
+    // Downscales and re-encodes the PNG from the browser when configured; the default settings keep it untouched
+    static byte[] encode(byte[] png, ConfigSnapshot config) throws IOException {
+        boolean jpeg = "jpg".equals(config.getScreenshotFormat());
+        double scale = config.getScreenshotScale();
+        if (!jpeg && scale >= 1.0) {
+            return png;
+        }
+
+        BufferedImage source = ImageIO.read(new ByteArrayInputStream(png));
+        if (source == null) {
+            return png;
+        }
+        int width = Math.max(1, (int) Math.round(source.getWidth() * Math.min(scale, 1.0)));
+        int height = Math.max(1, (int) Math.round(source.getHeight() * Math.min(scale, 1.0)));
+        BufferedImage target = new BufferedImage(width, height, jpeg ? BufferedImage.TYPE_INT_RGB : BufferedImage.TYPE_INT_ARGB);
+        Graphics2D graphics = target.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.drawImage(source, 0, 0, width, height, null);
+        } finally {
+            graphics.dispose();
+        }
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream(png.length / 2);
+        if (!jpeg) {
+            ImageIO.write(target, "png", output);
+            return output.toByteArray();
+        }
+        ImageWriter jpegWriter = ImageIO.getImageWritersByFormatName("jpg").next();
+        try (ImageOutputStream stream = ImageIO.createImageOutputStream(output)) {
+            ImageWriteParam param = jpegWriter.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality((float) config.getScreenshotJpegQuality());
+            jpegWriter.setOutput(stream);
+            jpegWriter.write(null, new IIOImage(target, null, null), param);
+        } finally {
+            jpegWriter.dispose();
+        }
+        return output.toByteArray();
+    }
+
+    // One daemon thread; when the queue is full the test thread writes the screenshot itself rather than losing it
+    private static ThreadPoolExecutor createWriter() {
+        if (System.getProperty("java.awt.headless") == null) {
+            System.setProperty("java.awt.headless", "true");
         }
+        return new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(ConfigManager.snapshot().getScreenshotQueueSize()),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "screenshot-writer");
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
     }
 }
@@ -0,0 +1,343 @@
+package com.coffeecart.utils;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.DirectoryStream;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Precompiled binary copy of the CSV test data that is memory-mapped and decoded row by row on demand.
+ * The binary file is rebuilt automatically whenever the source CSV changes size or modification time, which is
+ * checked at most once a second so long-lived runners pick up edits to the CSV. Each version of the CSV compiles to a
+ * file of its own (name, size and modified time in the file name), so a rebuild never overwrites a file that is
+ * still mapped; the new file is mapped next to it and the cache reference is swapped.
+ *
+ * Layout: header (magic, version, source size, source modified time, data start, sheet count), then a sheet
+ * directory (name, headers, row count, row offset table) and finally the row records (field count, then
+ * UTF-8 fields with an int length prefix). Row offsets are relative to the data start.
+ */
+public final class TestDataCache {
+    private static final int MAGIC = 0x43435444; // "CCTD"
+    private static final int VERSION = 2;
+    private static final String CACHE_DIRECTORY = "target/testdata-cache";
+    private static final long CHECK_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+    private static final Map<String, TestDataCache> caches = new ConcurrentHashMap<>();
+    private static final Map<String, Object> compileLocks = new ConcurrentHashMap<>();
+
+    private final Map<String, Sheet> sheets;
+    private final long sourceSize;
+    private final long sourceModified;
+    private volatile long checkedAt = System.nanoTime();
+
+    private TestDataCache(Map<String, Sheet> sheets, long sourceSize, long sourceModified) {
+        this.sheets = sheets;
+        this.sourceSize = sourceSize;
+        this.sourceModified = sourceModified;
+    }
+
+    // Returns the cache for a CSV file, compiling the binary copy first if it is missing or stale
+    public static TestDataCache forCsv(String csvPath) {
+        TestDataCache cached = caches.get(csvPath);
+        if (cached != null && System.nanoTime() - cached.checkedAt < CHECK_INTERVAL_NANOS) {
+            return cached;
+        }
+        try {
+            Path source = Paths.get(csvPath);
+            BasicFileAttributes attributes = Files.readAttributes(source, BasicFileAttributes.class);
+            if (cached != null && cached.matches(attributes)) {
+                cached.checkedAt = System.nanoTime();
+                return cached;
+            }
+            // A lock per file instead of caches.compute, so compiling does not block other lookups in the map
+            synchronized (compileLocks.computeIfAbsent(csvPath, path -> new Object())) {
+                TestDataCache current = caches.get(csvPath);
+                if (current != null && current.matches(attributes)) {
+                    return current;
+                }
+                Path binary = binaryPathFor(source, attributes);
+                if (!isUpToDate(source, binary)) {
+                    compile(source, binary);
+                }
+                TestDataCache opened = open(binary);
+                caches.put(csvPath, opened);
+                deleteOldVersions(source, binary);
+                return opened;
+            }
+        } catch (IOException e) {
+            LoggerUtil.error("Failed to load the test data cache for " + csvPath, e);
+            throw new RuntimeException("Test data cache is not available for: " + csvPath, e);
+        }
+    }
+
+    // Whether this copy was opened from the CSV as it is now
+    private boolean matches(BasicFileAttributes attributes) {
+        return attributes.size() == sourceSize && attributes.lastModifiedTime().toMillis() == sourceModified;
+    }
+
+    // Returns the sheet with the given name or null when the CSV has no such section
+    public Sheet sheet(String sheetName) {
+        return sheets.get(sheetName);
+    }
+
+    // Compiles a CSV test data file into the binary format at the given location
+    public static void compile(Path source, Path binary) throws IOException {
+        Map<String, List<String[]>> parsedSheets = parseCsv(source);
+
+        ByteArrayOutputStream rowBytes = new ByteArrayOutputStream();
+        DataOutputStream rowOut = new DataOutputStream(rowBytes);
+        ByteArrayOutputStream directoryBytes = new ByteArrayOutputStream();
+        DataOutputStream directoryOut = new DataOutputStream(directoryBytes);
+
+        for (Map.Entry<String, List<String[]>> entry : parsedSheets.entrySet()) {
+            List<String[]> lines = entry.getValue();
+            writeString(directoryOut, entry.getKey());
+            String[] headers = lines.isEmpty() ? new String[0] : lines.get(0);
+            writeFields(directoryOut, headers);
+            int rowCount = Math.max(lines.size() - 1, 0);
+            directoryOut.writeInt(rowCount);
+            for (int i = 1; i < lines.size(); i++) {
+                directoryOut.writeInt(rowOut.size());
+                writeFields(rowOut, lines.get(i));
+            }
+        }
+
+        int headerSize = 4 + 4 + 8 + 8 + 4 + 4;
+        int dataStart = headerSize + directoryOut.size();
+        Files.createDirectories(binary.toAbsolutePath().getParent());
+        Path temporary = Files.createTempFile(binary.toAbsolutePath().getParent(), "testdata", ".tmp");
+        try (DataOutputStream out = new DataOutputStream(Files.newOutputStream(temporary))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeLong(Files.size(source));
+            out.writeLong(Files.getLastModifiedTime(source).toMillis());
+            out.writeInt(dataStart);
+            out.writeInt(parsedSheets.size());
+            directoryBytes.writeTo(out);
+            rowBytes.writeTo(out);
+        }
+        if (Files.exists(binary)) {
+            // Another run compiled the same version meanwhile and may have it mapped already
+            Files.delete(temporary);
+            return;
+        }
+        Files.move(temporary, binary, StandardCopyOption.ATOMIC_MOVE);
+        LoggerUtil.info("Compiled test data cache " + binary + " with " + parsedSheets.size() + " sheets");
+    }
+
+    // Compiles the default test data file so the build can prepare the cache ahead of the first run
+    public static void main(String[] args) throws IOException {
+        Path source = Paths.get(args.length > 0 ? args[0] : "resources/testdata.csv");
+        compile(source, binaryPathFor(source, Files.readAttributes(source, BasicFileAttributes.class)));
+    }
+
+    // e.g. target/testdata-cache/testdata-1874-1760880000000.bin for the CSV with that size and modified time
+    private static Path binaryPathFor(Path source, BasicFileAttributes attributes) {
+        return Paths.get(CACHE_DIRECTORY, baseName(source) + "-" + attributes.size() + "-"
+                + attributes.lastModifiedTime().toMillis() + ".bin");
+    }
+
+    private static String baseName(Path source) {
+        return source.getFileName().toString().replaceFirst("\\.[^.]+$", "");
+    }
+
+    // Removes the files of earlier CSV versions; one still mapped elsewhere (Windows) is left for a later run
+    private static void deleteOldVersions(Path source, Path current) {
+        try (DirectoryStream<Path> versions = Files.newDirectoryStream(current.getParent(), baseName(source) + "-*.bin")) {
+            for (Path version : versions) {
+                String name = version.getFileName().toString();
+                // The pattern alone would also match another CSV whose name starts the same way
+                if (!name.equals(current.getFileName().toString())
+                        && name.matches(Pattern.quote(baseName(source)) + "-\\d+-\\d+\\.bin")) {
+                    try {
+                        Files.deleteIfExists(version);
+                    } catch (IOException e) {
+                        LoggerUtil.debug("Kept old test data cache {}: {}", version, e.getMessage());
+                    }
+                }
+            }
+        } catch (IOException e) {
+            LoggerUtil.debug("Could not list old test data caches: {}", e.getMessage());
+        }
+    }
+
+    // Checks that the binary copy exists and was compiled from the current version of the CSV
+    private static boolean isUpToDate(Path source, Path binary) throws IOException {
+        if (!Files.exists(binary)) {
+            return false;
+        }
+        try (FileChannel channel = FileChannel.open(binary, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(24);
+            if (channel.read(header, 0) < header.capacity()) {
+                return false;
+            }
+            header.flip();
+            return header.getInt() == MAGIC
+                    && header.getInt() == VERSION
+                    && header.getLong() == Files.size(source)
+                    && header.getLong() == Files.getLastModifiedTime(source).toMillis();
+        }
+    }
+
+    // Maps the binary file and reads only the sheet directory; rows stay encoded until requested
+    private static TestDataCache open(Path binary) throws IOException {
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(binary, StandardOpenOption.READ)) {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        long sourceSize = buffer.getLong(8);
+        long sourceModified = buffer.getLong(16);
+        int position = 24;
+        int dataStart = buffer.getInt(position);
+        int sheetCount = buffer.getInt(position + 4);
+        position += 8;
+
+        Map<String, Sheet> sheets = new LinkedHashMap<>();
+        for (int s = 0; s < sheetCount; s++) {
+            int nameLength = buffer.getInt(position);
+            String name = readString(buffer, position);
+            position += 4 + nameLength;
+            int headerCount = buffer.getInt(position);
+            String[] headers = readFields(buffer, position);
+            position += fieldsLength(buffer, position, headerCount);
+            int rowCount = buffer.getInt(position);
+            position += 4;
+            sheets.put(name, new Sheet(buffer, headers, rowCount, position, dataStart));
+            position += rowCount * 4;
+        }
+        return new TestDataCache(sheets, sourceSize, sourceModified);
+    }
+
+    // Splits the CSV into named sections using the same "# SheetName" markers as ExcelReader
+    private static Map<String, List<String[]>> parseCsv(Path source) throws IOException {
+        Map<String, List<String[]>> parsedSheets = new LinkedHashMap<>();
+        List<String[]> current = null;
+        try (BufferedReader br = Files.newBufferedReader(source, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = br.readLine()) != null) {
+                line = line.trim();
+                if (line.isEmpty()) continue;
+                if (line.startsWith("#")) {
+                    String name = line.substring(1).split(",")[0].trim().split("\\s+")[0];
+                    current = parsedSheets.computeIfAbsent(name, k -> new ArrayList<>());
+                    continue;
+                }
+                String[] values = line.split(",");
+                if (current == null || values.length == 0) continue;
+                for (int i = 0; i < values.length; i++) {
+                    values[i] = values[i].trim();
+                }
+                current.add(values);
+            }
+        }
+        return parsedSheets;
+    }
+
+    private static void writeFields(DataOutputStream out, String[] fields) throws IOException {
+        out.writeInt(fields.length);
+        for (String field : fields) {
+            writeString(out, field);
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    // Absolute reads only, so a single mapped buffer can be shared between test threads
+    private static String readString(ByteBuffer buffer, int position) {
+        int length = buffer.getInt(position);
+        byte[] bytes = new byte[length];
+        buffer.get(position + 4, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static String[] readFields(ByteBuffer buffer, int position) {
+        int count = buffer.getInt(position);
+        String[] fields = new String[count];
+        int fieldPosition = position + 4;
+        for (int i = 0; i < count; i++) {
+            fields[i] = readString(buffer, fieldPosition);
+            fieldPosition += 4 + buffer.getInt(fieldPosition);
+        }
+        return fields;
+    }
+
+    private static int fieldsLength(ByteBuffer buffer, int position, int count) {
+        int fieldPosition = position + 4;
+        for (int i = 0; i < count; i++) {
+            fieldPosition += 4 + buffer.getInt(fieldPosition);
+        }
+        return fieldPosition - position;
+    }
+
+    /**
+     * One section of the cached CSV. Headers are decoded when the cache is opened,
+     * data rows are decoded from the mapped file each time they are requested.
+     */
+    public static final class Sheet {
+        private final ByteBuffer buffer;
+        private final String[] headers;
+        private final int rowCount;
+        private final int offsetTable;
+        private final int dataStart;
+
+        private Sheet(ByteBuffer buffer, String[] headers, int rowCount, int offsetTable, int dataStart) {
+            this.buffer = buffer;
+            this.headers = headers;
+            this.rowCount = rowCount;
+            this.offsetTable = offsetTable;
+            this.dataStart = dataStart;
+        }
+
+        public String[] getHeaders() {
+            return headers.clone();
+        }
+
+        public int getRowCount() {
+            return rowCount;
+        }
+
+        // Decodes the values of a single data row (header excluded)
+        public String[] getRow(int index) {
+            if (index < 0 || index >= rowCount) {
+                throw new IndexOutOfBoundsException("Row " + index + " is outside of 0-" + (rowCount - 1));
+            }
+            return readFields(buffer, rowPosition(index));
+        }
+
+        // Returns the index of the first row whose first column equals the key, or -1 when none matches
+        public int findRow(String key) {
+            for (int i = 0; i < rowCount; i++) {
+                int position = rowPosition(i);
+                if (buffer.getInt(position) > 0 && readString(buffer, position + 4).equals(key)) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        private int rowPosition(int index) {
+            return dataStart + buffer.getInt(offsetTable + index * 4);
+        }
+    }
+}
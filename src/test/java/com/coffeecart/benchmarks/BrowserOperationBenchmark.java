@@ -0,0 +1,287 @@
+package com.coffeecart.benchmarks;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.json.Json;
+
+import com.coffeecart.managers.ConfigManager;
+import com.coffeecart.managers.ConfigSnapshot;
+import com.coffeecart.managers.DriverManager;
+import com.coffeecart.metrics.RunContext;
+import com.coffeecart.pages.CartPage;
+import com.coffeecart.pages.CheckoutPage;
+import com.coffeecart.pages.MenuPage;
+import com.coffeecart.pages.Pages;
+import com.coffeecart.runner.LocalAppServer;
+import com.coffeecart.utils.LoggerUtil;
+
+/**
+ * Measures page object operations end to end in a real headless browser: throughput and latency percentiles per
+ * operation, so a change to waits or stability pauses can be judged on numbers rather than on feel.
+ *
+ * Each iteration first brings the app into the state the operation needs (unmeasured), then times the operation
+ * alone. Warmup iterations are run the same way and discarded. Results go to
+ * performance.path/browser-benchmark-<commit>-<run>.json together with the commit, browser and settings, so
+ * files from different commits can be compared directly. Arguments pick operations by name, e.g. PLACE_ORDER.
+ */
+public class BrowserOperationBenchmark {
+
+    public static void main(String[] args) {
+        ConfigSnapshot config = ConfigManager.snapshot();
+        Set<Operation> operations = EnumSet.allOf(Operation.class);
+        if (args.length > 0) {
+            operations.clear();
+            for (String name : args) {
+                operations.add(Operation.valueOf(name.trim().toUpperCase(Locale.ROOT)));
+            }
+        }
+
+        LocalAppServer server = config.getBrowserBenchmarkAppDir() != null
+                ? LocalAppServer.start(Paths.get(config.getBrowserBenchmarkAppDir())) : null;
+        Map<String, String> overrides = new LinkedHashMap<>();
+        overrides.put("headless", "true");
+        if (server != null) {
+            overrides.put("url", server.getUrl());
+        } else {
+            LoggerUtil.warn("browser.benchmark.app.dir is not set, so the timings include the network to {}", config.getBaseUrl());
+        }
+        ConfigManager.setThreadOverrides(overrides);
+        String browser = ConfigManager.getBrowser().toLowerCase(Locale.ROOT);
+        RunContext.setBrowser(browser);
+        RunContext.setCurrentTest(BrowserOperationBenchmark.class.getSimpleName());
+
+        try {
+            WebDriver driver = DriverManager.getDriver(browser);
+            driver.manage().window().maximize();
+            driver.manage().timeouts().implicitlyWait(ConfigManager.snapshot().getImplicitWait());
+            driver.manage().timeouts().pageLoadTimeout(ConfigManager.snapshot().getPageLoadTimeout());
+            driver.get(ConfigManager.getBaseUrl());
+            Session session = new Session();
+
+            int warmup = config.getBrowserBenchmarkWarmup();
+            int iterations = config.getBrowserBenchmarkIterations();
+            List<Map<String, Object>> results = new ArrayList<>();
+            for (Operation operation : operations) {
+                results.add(measure(operation, session, warmup, iterations));
+            }
+            write(config, browser, server != null, warmup, iterations, results);
+        } finally {
+            DriverManager.closeDriver();
+            ConfigManager.clearThreadProfile();
+            if (server != null) {
+                server.close();
+            }
+        }
+    }
+
+    private static Map<String, Object> measure(Operation operation, Session session, int warmup, int iterations) {
+        long[] samples = new long[iterations];
+        int measured = 0;
+        int errors = 0;
+        for (int i = 0; i < warmup + iterations; i++) {
+            try {
+                operation.prepare(session);
+                long start = System.nanoTime();
+                operation.run(session);
+                long elapsed = System.nanoTime() - start;
+                if (i >= warmup) {
+                    samples[measured++] = elapsed;
+                }
+            } catch (RuntimeException e) {
+                if (i >= warmup) {
+                    errors++;
+                }
+                LoggerUtil.warn("{} iteration {} failed: {}", operation, i + 1, e.getMessage());
+            }
+        }
+        long[] sorted = Arrays.copyOf(samples, measured);
+        Arrays.sort(sorted);
+        long total = Arrays.stream(sorted).sum();
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("operation", operation.label);
+        result.put("iterations", measured);
+        result.put("errors", errors);
+        result.put("opsPerSecond", measured > 0 ? round(measured / (total / 1e9)) : 0);
+        result.put("meanMs", measured > 0 ? millis(total / measured) : 0);
+        result.put("minMs", measured > 0 ? millis(sorted[0]) : 0);
+        result.put("p50Ms", millis(percentile(sorted, 50)));
+        result.put("p90Ms", millis(percentile(sorted, 90)));
+        result.put("p95Ms", millis(percentile(sorted, 95)));
+        result.put("p99Ms", millis(percentile(sorted, 99)));
+        result.put("maxMs", measured > 0 ? millis(sorted[measured - 1]) : 0);
+        LoggerUtil.info("{}: {} ops/s, p50 {} ms, p95 {} ms, max {} ms over {} runs ({} failed)", operation.label,
+                result.get("opsPerSecond"), result.get("p50Ms"), result.get("p95Ms"), result.get("maxMs"), measured, errors);
+        return result;
+    }
+
+    // Nearest-rank percentile of sorted samples
+    private static long percentile(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(percentile / 100 * sorted.length);
+        return sorted[Math.max(rank, 1) - 1];
+    }
+
+    private static void write(ConfigSnapshot config, String browser, boolean local, int warmup, int iterations,
+            List<Map<String, Object>> results) {
+        String commit = git("rev-parse", "--short", "HEAD");
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("commit", commit);
+        report.put("dirty", !git("status", "--porcelain", "--untracked-files=no").isEmpty());
+        report.put("runId", RunContext.getRunId());
+        report.put("timestamp", Instant.now().toString());
+        report.put("browser", browser);
+        report.put("url", ConfigManager.getBaseUrl());
+        report.put("localApp", local);
+        report.put("warmupIterations", warmup);
+        report.put("iterations", iterations);
+        report.put("operations", results);
+
+        Path file = Paths.get(config.getPerformancePath())
+                .resolve("browser-benchmark-" + (commit.isEmpty() ? "unknown" : commit) + "-" + RunContext.getRunId() + ".json");
+        try {
+            Files.createDirectories(file.getParent());
+            Files.write(file, new Json().toJson(report).getBytes(StandardCharsets.UTF_8));
+            LoggerUtil.info("Browser benchmark results written to {}", file.toAbsolutePath());
+        } catch (IOException e) {
+            LoggerUtil.error("Failed to write browser benchmark results: " + e.getMessage());
+        }
+    }
+
+    // Output of a git command, or empty when git is not available
+    private static String git(String... arguments) {
+        List<String> command = new ArrayList<>();
+        command.add("git");
+        command.addAll(Arrays.asList(arguments));
+        try {
+            Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+            try (InputStream output = process.getInputStream()) {
+                String text = new String(output.readAllBytes(), StandardCharsets.UTF_8).trim();
+                return process.waitFor(30, TimeUnit.SECONDS) && process.exitValue() == 0 ? text : "";
+            }
+        } catch (IOException e) {
+            return "";
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return "";
+        }
+    }
+
+    private static double millis(long nanos) {
+        return Math.round(nanos / 1_000.0) / 1_000.0;
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100) / 100.0;
+    }
+
+    // The page objects of the benchmark's browser session
+    private static final class Session {
+        private final MenuPage menuPage = Pages.create(MenuPage.class);
+        private final CartPage cartPage = Pages.create(CartPage.class);
+        private final CheckoutPage checkoutPage = Pages.create(CheckoutPage.class);
+        private final String item = ConfigManager.getTestCoffeeItem();
+        private final String name = ConfigManager.getDefaultTestName();
+        private final String email = ConfigManager.getDefaultTestEmail();
+
+        // A fresh menu with an empty cart; the app keeps its state in memory, so loading the page resets it
+        void freshMenu() {
+            menuPage.navigateToMenuPage();
+        }
+
+        void checkoutOpen() {
+            freshMenu();
+            menuPage.addItemToCart(item, 1);
+            menuPage.clickTotalButton();
+        }
+    }
+
+    private enum Operation {
+        ADD_ITEM_TO_CART("MenuPage.addItemToCart") {
+            @Override
+            void prepare(Session session) {
+                session.freshMenu();
+            }
+
+            @Override
+            void run(Session session) {
+                session.menuPage.addItemToCart(session.item, 1);
+            }
+        },
+        REFRESH_UI("MenuPage.refreshUI") {
+            @Override
+            void prepare(Session session) {
+                session.freshMenu();
+            }
+
+            @Override
+            void run(Session session) {
+                session.menuPage.refreshUI();
+            }
+        },
+        NAVIGATE_TO_CART("CartPage.navigatetoCart") {
+            @Override
+            void prepare(Session session) {
+                session.freshMenu();
+                session.menuPage.addItemToCart(session.item, 1);
+            }
+
+            @Override
+            void run(Session session) {
+                session.cartPage.navigatetoCart();
+            }
+        },
+        FILL_PAYMENT_FORM("CheckoutPage.fillPaymentForm") {
+            @Override
+            void prepare(Session session) {
+                session.checkoutOpen();
+            }
+
+            @Override
+            void run(Session session) {
+                session.checkoutPage.fillPaymentForm(session.name, session.email, true);
+            }
+        },
+        PLACE_ORDER("CheckoutPage.placeOrder") {
+            @Override
+            void prepare(Session session) {
+                session.checkoutOpen();
+                session.checkoutPage.fillPaymentForm(session.name, session.email, false);
+            }
+
+            @Override
+            void run(Session session) {
+                session.checkoutPage.placeOrder();
+            }
+        };
+
+        private final String label;
+
+        Operation(String label) {
+            this.label = label;
+        }
+
+        // Unmeasured: brings the app into the state the operation starts from
+        abstract void prepare(Session session);
+
+        abstract void run(Session session);
+    }
+}
@@ -0,0 +1,72 @@
+package com.coffeecart.benchmarks;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.coffeecart.managers.ConfigManager;
+
+//Cost of the configuration lookups pages and tests make on every wait and interaction.
+//profile=none reads the shared default snapshot, browser pins the thread to the chrome profile as BaseTest does,
+//and override adds a per-test @ConfigOverride on top of it.
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConfigManagerBenchmark {
+
+    @Param({ "none", "browser", "override" })
+    public String profile;
+
+    // Runs on the benchmark thread, so the thread-local profile applies to the measured calls
+    @Setup(Level.Trial)
+    public void setUp() {
+        if (!"none".equals(profile)) {
+            ConfigManager.useBrowserProfile("chrome");
+        }
+        if ("override".equals(profile)) {
+            ConfigManager.setThreadOverrides(Map.of("explicit.wait", "15"));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        ConfigManager.clearThreadProfile();
+    }
+
+    @Benchmark
+    public String baseUrl() {
+        return ConfigManager.getBaseUrl();
+    }
+
+    @Benchmark
+    public int explicitWait() {
+        return ConfigManager.getExplicitWait();
+    }
+
+    @Benchmark
+    public String browser() {
+        return ConfigManager.getBrowser();
+    }
+
+    @Benchmark
+    public String propertyWithDefault() {
+        return ConfigManager.getProperty("test.coffee.item", "Espresso");
+    }
+}
@@ -0,0 +1,113 @@
+package com.coffeecart.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.LoggerFactory;
+
+import com.coffeecart.utils.LoggerUtil;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.FileAppender;
+
+//Cost per log call on the test thread.
+//The disabled* benchmarks log at DEBUG with the shipped logback.xml, where framework loggers are at INFO. The benchmark
+//thread runs no test, so DebugRingBufferFilter keeps nothing: string concatenation versus {} placeholders versus a
+//Supplier (skipped by the level guard). The enabled* benchmarks log at INFO into a file appender, either directly or
+//behind the same AsyncAppender settings as logback.xml.
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LoggingBenchmark {
+
+    @Param({ "sync", "async" })
+    public String appender;
+
+    private String cartText = "total: $0.00 no coffee, go add some.";
+    private String payText = "Total: $0.00";
+    private boolean isEmpty = true;
+
+    private Logger fileLogger;
+    private Appender<ILoggingEvent> target;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        LoggerContext context = (LoggerContext) LoggerFactory.getILoggerFactory();
+
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(context);
+        encoder.setPattern("%d{HH:mm:ss.SSS} [%thread] %-5level %logger{36} - %msg%n");
+        encoder.start();
+
+        FileAppender<ILoggingEvent> file = new FileAppender<>();
+        file.setContext(context);
+        file.setFile("target/jmh-logging-" + appender + ".log");
+        file.setAppend(false);
+        file.setEncoder(encoder);
+        file.start();
+        target = file;
+
+        if ("async".equals(appender)) {
+            AsyncAppender async = new AsyncAppender();
+            async.setContext(context);
+            async.setQueueSize(8192);
+            async.setDiscardingThreshold(0);
+            async.setNeverBlock(true);
+            async.addAppender(file);
+            async.start();
+            target = async;
+        }
+
+        fileLogger = context.getLogger("benchmark." + appender);
+        fileLogger.setAdditive(false);
+        fileLogger.setLevel(ch.qos.logback.classic.Level.INFO);
+        fileLogger.addAppender(target);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        fileLogger.detachAppender(target);
+        target.stop();
+    }
+
+    @Benchmark
+    public void disabledConcatenated() {
+        LoggerUtil.debug("Cart empty check - Cart text: '" + cartText + "', Pay text: '" + payText + "', Is empty: " + isEmpty);
+    }
+
+    @Benchmark
+    public void disabledParameterized() {
+        LoggerUtil.debug("Cart empty check - Cart text: '{}', Pay text: '{}', Is empty: {}", cartText, payText, isEmpty);
+    }
+
+    @Benchmark
+    public void disabledSupplier() {
+        LoggerUtil.debug(() -> "Cart empty check - Cart text: '" + cartText + "', Pay text: '" + payText + "', Is empty: " + isEmpty);
+    }
+
+    @Benchmark
+    public void enabledParameterized() {
+        fileLogger.info("Cart empty check - Cart text: '{}', Pay text: '{}', Is empty: {}", cartText, payText, isEmpty);
+    }
+}
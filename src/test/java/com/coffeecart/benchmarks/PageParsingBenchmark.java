@@ -0,0 +1,65 @@
+package com.coffeecart.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.coffeecart.pages.CheckoutPage;
+import com.coffeecart.pages.MenuPage;
+
+//String work the page objects do on every element they read, measured without a browser.
+//The regex* benchmarks are the former implementations (String.matches compiling the email pattern per call,
+//replaceAll for prices) kept as the reference the shipped versions are compared with.
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PageParsingBenchmark {
+
+    private static final String EMAIL_PATTERN = "^[A-Za-z0-9+_.-]+@(.+)\\.(com|org|net)$";
+
+    @State(Scope.Benchmark)
+    public static class EmailInput {
+        @Param({ "jeevan@example.com", "invalid-email-format" })
+        public String email;
+    }
+
+    @State(Scope.Benchmark)
+    public static class PriceInput {
+        @Param({ "$10.00" })
+        public String price;
+    }
+
+    @Benchmark
+    public boolean emailFormat(EmailInput input) {
+        return CheckoutPage.isValidEmailFormat(input.email);
+    }
+
+    @Benchmark
+    public boolean regexEmailFormat(EmailInput input) {
+        String email = input.email;
+        return email.contains("@") && email.contains(".") && email.indexOf("@") < email.lastIndexOf(".")
+                && email.matches(EMAIL_PATTERN);
+    }
+
+    @Benchmark
+    public double parsePrice(PriceInput input) {
+        return MenuPage.parsePrice(input.price);
+    }
+
+    @Benchmark
+    public double regexParsePrice(PriceInput input) {
+        return Double.parseDouble(input.price.replaceAll("[^0-9.]", ""));
+    }
+}
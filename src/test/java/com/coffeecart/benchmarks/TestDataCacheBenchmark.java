@@ -0,0 +1,53 @@
+package com.coffeecart.benchmarks;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.coffeecart.utils.ExcelReader;
+import com.coffeecart.utils.ExcelUtil;
+
+//Compares the BufferedReader CSV path with the memory-mapped binary cache for the same test data lookups.
+//Each variant runs in its own fork so the testdata.cache.enabled switch is fixed for the whole JVM.
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class TestDataCacheBenchmark {
+    private static final String CSV_FILE = "resources/testdata.csv";
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = "-Dtestdata.cache.enabled=false")
+    public Object[][] csvCoffeeData() {
+        return ExcelReader.getTestdata("CoffeeData");
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = "-Dtestdata.cache.enabled=true")
+    public Object[][] cachedCoffeeData() {
+        return ExcelReader.getTestdata("CoffeeData");
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = "-Dtestdata.cache.enabled=false")
+    public Map<String, String> csvTestCaseLookup() {
+        return ExcelUtil.getTestData(CSV_FILE, "TestCases", "testCompleteOrderWorkflow");
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = "-Dtestdata.cache.enabled=true")
+    public Map<String, String> cachedTestCaseLookup() {
+        return ExcelUtil.getTestData(CSV_FILE, "TestCases", "testCompleteOrderWorkflow");
+    }
+}
@@ -0,0 +1,81 @@
+package com.coffeecart.data;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+//Unit tests for the covering arrays built by CombinatorialDesign; no browser involved.
+
+public class CombinatorialDesignTest {
+
+    private static CombinatorialDesign checkoutDesign() {
+        return new CombinatorialDesign("checkout")
+                .values("coffee", "Espresso", "Mocha", "Cappuccino")
+                .values("quantity", 1, 2, 3)
+                .values("promo", true, false)
+                .values("browser", "chrome", "firefox", "edge");
+    }
+
+    @Test(description = "Every pair of values of any two parameters appears in at least one pairwise row")
+    public void pairwiseRowsCoverEveryPair() {
+        CombinatorialDesign design = checkoutDesign();
+        Object[][] rows = design.generate(2);
+
+        List<Set<Object>> domains = List.of(
+                Set.of("Espresso", "Mocha", "Cappuccino"), Set.of(1, 2, 3), Set.of(true, false), Set.of("chrome", "firefox", "edge"));
+        for (int a = 0; a < domains.size(); a++) {
+            for (int b = a + 1; b < domains.size(); b++) {
+                Set<List<Object>> covered = new HashSet<>();
+                for (Object[] row : rows) {
+                    covered.add(List.of(row[a], row[b]));
+                }
+                Assert.assertEquals(covered.size(), domains.get(a).size() * domains.get(b).size(),
+                        "Pairs of parameters " + a + " and " + b + " not all covered");
+            }
+        }
+        Assert.assertTrue(rows.length < design.fullSize(), "Pairwise set should be smaller than the cross product");
+    }
+
+    @Test(description = "A strength of at least the parameter count gives every row of the cross product once")
+    public void fullStrengthIsTheCrossProduct() {
+        CombinatorialDesign design = checkoutDesign();
+        Object[][] rows = design.generate(10);
+
+        Set<List<Object>> distinct = new HashSet<>();
+        for (Object[] row : rows) {
+            distinct.add(Arrays.asList(row));
+        }
+        Assert.assertEquals(rows.length, design.fullSize());
+        Assert.assertEquals(distinct.size(), rows.length);
+    }
+
+    @Test(description = "The same design generates the same rows in the same order every time")
+    public void generationIsDeterministic() {
+        Assert.assertTrue(Arrays.deepEquals(checkoutDesign().generate(2), checkoutDesign().generate(2)));
+    }
+
+    @Test(description = "A whole-row value is spread over consecutive test arguments")
+    public void rowValuesSpreadOverArguments() {
+        Object[][] customers = { { "Ann", "ann@example.com" }, { "Bob", "bob@example.com" } };
+        Object[][] rows = new CombinatorialDesign("customers")
+                .rows("customer", customers)
+                .values("coffee", "Espresso", "Mocha")
+                .generate(2);
+
+        Assert.assertEquals(rows.length, 4);
+        for (Object[] row : rows) {
+            Assert.assertEquals(row.length, 3);
+            Assert.assertTrue(Arrays.asList(customers).stream().anyMatch(c -> c[0].equals(row[0]) && c[1].equals(row[1])),
+                    "Customer name and email must come from the same row: " + Arrays.toString(row));
+        }
+    }
+
+    @Test(description = "A parameter without values is rejected", expectedExceptions = IllegalArgumentException.class)
+    public void emptyDomainIsRejected() {
+        new CombinatorialDesign("empty").rows("customer", new Object[0][]);
+    }
+}
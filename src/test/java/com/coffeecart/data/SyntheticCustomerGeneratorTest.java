@@ -0,0 +1,67 @@
+package com.coffeecart.data;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import com.coffeecart.pages.CheckoutPage;
+
+//Unit tests for the reproducibility and uniqueness of SyntheticCustomerGenerator; no browser involved.
+
+public class SyntheticCustomerGeneratorTest {
+
+    private static List<Object[]> take(Iterator<Object[]> rows) {
+        List<Object[]> taken = new ArrayList<>();
+        rows.forEachRemaining(taken::add);
+        return taken;
+    }
+
+    @Test(description = "Generators built from the same seed and partition produce the same customers in the same order")
+    public void sameSeedSameCustomers() {
+        List<Object[]> first = take(new SyntheticCustomerGenerator(42, 0).customers(2000));
+        List<Object[]> second = take(new SyntheticCustomerGenerator(42, 0).customers(2000));
+
+        Assert.assertEquals(first.size(), 2000);
+        for (int i = 0; i < first.size(); i++) {
+            Assert.assertEquals(first.get(i), second.get(i), "Row " + i);
+        }
+    }
+
+    @Test(description = "Names and emails are unique within a run and across partitions sharing a seed")
+    public void customersAreUniqueAcrossPartitions() {
+        Set<Object> names = new HashSet<>();
+        Set<Object> emails = new HashSet<>();
+        for (int partition = 0; partition < 3; partition++) {
+            for (Object[] row : take(new SyntheticCustomerGenerator(7, partition).customers(3000))) {
+                Assert.assertTrue(names.add(row[0]), "Duplicate name " + row[0]);
+                Assert.assertTrue(emails.add(row[1]), "Duplicate email " + row[1]);
+            }
+        }
+    }
+
+    @Test(description = "Valid emails pass the checkout format rules and invalid variants fail them")
+    public void emailsFollowCheckoutRules() {
+        SyntheticCustomerGenerator generator = new SyntheticCustomerGenerator(3, 1);
+        for (long sequence = 0; sequence < 500; sequence++) {
+            Assert.assertTrue(CheckoutPage.isValidEmailFormat(generator.validEmailFor(sequence)), generator.validEmailFor(sequence));
+            Assert.assertFalse(CheckoutPage.isValidEmailFormat(generator.invalidEmailFor(sequence)), generator.invalidEmailFor(sequence));
+        }
+    }
+
+    @Test(description = "Email variants carry the expected validity, roughly at the requested share of invalid rows")
+    public void emailVariantsMatchTheirFlag() {
+        int invalid = 0;
+        for (Object[] row : take(new SyntheticCustomerGenerator(11, 0).emailVariants(2000, 30))) {
+            Assert.assertEquals(CheckoutPage.isValidEmailFormat((String) row[1]), row[2], String.valueOf(row[1]));
+            if (!(Boolean) row[2]) {
+                invalid++;
+            }
+        }
+        Assert.assertTrue(invalid > 450 && invalid < 750, invalid + " invalid rows of 2000");
+    }
+}
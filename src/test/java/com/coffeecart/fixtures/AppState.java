@@ -0,0 +1,104 @@
+package com.coffeecart.fixtures;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import com.coffeecart.managers.ConfigManager;
+import com.coffeecart.pages.CheckoutPage;
+import com.coffeecart.pages.MenuPage;
+import com.coffeecart.pages.Pages;
+
+/**
+ * Application states tests can declare with @RequiresState. The states form a tree: each one is built from its
+ * parent by a single step, so a state already on screen can be extended instead of rebuilt, and states on different
+ * branches of MENU have nothing in common and can be prepared in separate browsers.
+ */
+public enum AppState {
+
+    // Freshly loaded menu with an empty cart and no dialog open; the app keeps its state in memory, so a reload resets it
+    MENU(null) {
+        @Override
+        void build() {
+            // A checkout form left open by an earlier test would cover the menu
+            CheckoutPage checkoutPage = Pages.create(CheckoutPage.class);
+            if (checkoutPage.ischeckoutFormdisplayed()) {
+                checkoutPage.closeCheckout();
+            }
+            MenuPage menuPage = Pages.create(MenuPage.class);
+            menuPage.navigateToMenuPage();
+            if (!menuPage.isCartEmpty()) {
+                menuPage.refreshUI();
+            }
+        }
+    },
+
+    // One test.coffee.item in the cart
+    CART_WITH_ITEM(MENU) {
+        @Override
+        void build() {
+            Pages.create(MenuPage.class).addItemToCart(ConfigManager.getTestCoffeeItem(), 1);
+        }
+    },
+
+    // Three promo.trigger.item in the cart and the special promo showing
+    PROMO_VISIBLE(MENU) {
+        @Override
+        void build() {
+            String promoItem = ConfigManager.getPromoTriggerItem();
+            if (!Pages.create(MenuPage.class).addThreeItemsForPromo(promoItem)) {
+                throw new IllegalStateException("The special promo did not appear after adding three " + promoItem);
+            }
+        }
+    },
+
+    // Checkout form opened from the total button for the one item in the cart
+    CHECKOUT_OPEN(CART_WITH_ITEM) {
+        @Override
+        void build() {
+            Pages.create(MenuPage.class).clickTotalButton();
+            if (!Pages.create(CheckoutPage.class).ischeckoutFormdisplayed()) {
+                throw new IllegalStateException("The checkout form did not open from the total button");
+            }
+        }
+    };
+
+    private final AppState parent;
+
+    AppState(AppState parent) {
+        this.parent = parent;
+    }
+
+    // Brings the browser from the parent state to this one
+    abstract void build();
+
+    public AppState getParent() {
+        return parent;
+    }
+
+    // The states from the root down to this one, in build order
+    public List<AppState> path() {
+        List<AppState> path = new ArrayList<>();
+        for (AppState state = this; state != null; state = state.parent) {
+            path.add(state);
+        }
+        Collections.reverse(path);
+        return path;
+    }
+
+    // The child of the root this state descends from, or null for the root itself
+    public AppState branch() {
+        List<AppState> path = path();
+        return path.size() > 1 ? path.get(1) : null;
+    }
+
+    public List<AppState> children() {
+        List<AppState> children = new ArrayList<>();
+        for (AppState state : values()) {
+            if (state.parent == this) {
+                children.add(state);
+            }
+        }
+        return children;
+    }
+}
@@ -0,0 +1,37 @@
+package com.coffeecart.fixtures;
+
+import java.util.List;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+//Unit tests for the shape of the application state tree; no browser involved.
+
+public class AppStateTest {
+
+    @Test(description = "A state's path runs from the root down to the state itself, in build order")
+    public void pathRunsFromTheRoot() {
+        Assert.assertEquals(AppState.MENU.path(), List.of(AppState.MENU));
+        Assert.assertEquals(AppState.CART_WITH_ITEM.path(), List.of(AppState.MENU, AppState.CART_WITH_ITEM));
+        Assert.assertEquals(AppState.CHECKOUT_OPEN.path(),
+                List.of(AppState.MENU, AppState.CART_WITH_ITEM, AppState.CHECKOUT_OPEN));
+    }
+
+    @Test(description = "A state's branch is the child of the root it descends from; the root has none")
+    public void branchIsTheChildOfTheRoot() {
+        Assert.assertNull(AppState.MENU.branch());
+        Assert.assertEquals(AppState.CART_WITH_ITEM.branch(), AppState.CART_WITH_ITEM);
+        Assert.assertEquals(AppState.CHECKOUT_OPEN.branch(), AppState.CART_WITH_ITEM);
+        Assert.assertEquals(AppState.PROMO_VISIBLE.branch(), AppState.PROMO_VISIBLE);
+    }
+
+    @Test(description = "children lists the states built directly from a state, in declaration order")
+    public void childrenFollowTheParents() {
+        Assert.assertEquals(AppState.MENU.children(), List.of(AppState.CART_WITH_ITEM, AppState.PROMO_VISIBLE));
+        Assert.assertEquals(AppState.CART_WITH_ITEM.children(), List.of(AppState.CHECKOUT_OPEN));
+        Assert.assertTrue(AppState.CHECKOUT_OPEN.children().isEmpty());
+        for (AppState state : AppState.values()) {
+            Assert.assertEquals(state.getParent() == null, state == AppState.MENU, state + " root");
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.coffeecart.fixtures;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Declares the application state a test starts from. BaseTest prepares it in its @BeforeMethod, reusing what the
+ * previous test of the same class left on screen when it can, so the test body holds only its own steps and the
+ * build is not timed as part of the test. The @BeforeMethod and @AfterMethod methods of a class using this must
+ * not change the page.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface RequiresState {
+
+    AppState value();
+
+    // false for tests that only read the page, so the following tests can start from the state they leave behind
+    boolean mutates() default true;
+}
@@ -0,0 +1,93 @@
+package com.coffeecart.fixtures;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.openqa.selenium.WebDriver;
+
+import com.coffeecart.coverage.TestCoverage;
+import com.coffeecart.managers.DriverManager;
+import com.coffeecart.metrics.RunContext;
+import com.coffeecart.utils.LoggerUtil;
+
+/**
+ * Tracks which AppState each browser lane is in and builds the states tests require. A state is reused while the
+ * lane stays on the same driver and test class and every test since it was built only read the page; when the
+ * requested state extends the current one only the missing steps run, otherwise it is rebuilt from MENU.
+ * The application keeps its state in memory, so a state cannot be saved and restored: sharing means running the
+ * tests that read it back to back on the live page.
+ */
+public class StateFixtures {
+
+    // What is on screen in this lane and which tests' steps put it there
+    private static final ThreadLocal<Current> current = new ThreadLocal<>();
+
+    private static final AtomicInteger builtSteps = new AtomicInteger();
+    private static final AtomicInteger reusedSteps = new AtomicInteger();
+
+    // Brings the lane's browser into the given state for a test of the given class
+    public static void ensure(Class<?> testClass, AppState state) {
+        if (!DriverManager.hasDriver()) {
+            throw new IllegalStateException("No browser is open to prepare state " + state);
+        }
+        WebDriver driver = DriverManager.getDriver();
+        Current previous = current.get();
+        current.remove();
+        if (previous != null && (previous.driver != driver || previous.testClass != testClass)) {
+            previous = null;
+        }
+
+        List<AppState> path = state.path();
+        int start = previous != null ? path.indexOf(previous.state) + 1 : 0;
+        List<String> builders = start > 0 ? previous.builders : new ArrayList<>();
+        for (String builder : builders) {
+            TestCoverage.inherit(builder);
+        }
+        reusedSteps.addAndGet(start);
+        if (start < path.size()) {
+            builders.add(RunContext.getCurrentTest());
+        }
+        for (AppState step : path.subList(start, path.size())) {
+            step.build();
+            builtSteps.incrementAndGet();
+        }
+        LoggerUtil.info("State {} ready: built {}, reused {}", state, path.subList(start, path.size()), path.subList(0, start));
+        current.set(new Current(driver, testClass, state, builders));
+    }
+
+    // Called after every test method of the lane: only a passed test that promised not to change the page keeps it
+    public static void finish(boolean keepState) {
+        if (!keepState) {
+            current.remove();
+        }
+    }
+
+    public static void reset() {
+        builtSteps.set(0);
+        reusedSteps.set(0);
+    }
+
+    public static void logSummary() {
+        int built = builtSteps.get();
+        int reused = reusedSteps.get();
+        if (built + reused > 0) {
+            LoggerUtil.info("Fixture states: {} steps built, {} reused instead of rebuilt ({}% saved)", built, reused,
+                    Math.round(100.0 * reused / (built + reused)));
+        }
+    }
+
+    private static final class Current {
+        private final WebDriver driver;
+        private final Class<?> testClass;
+        private final AppState state;
+        private final List<String> builders;
+
+        Current(WebDriver driver, Class<?> testClass, AppState state, List<String> builders) {
+            this.driver = driver;
+            this.testClass = testClass;
+            this.state = state;
+            this.builders = builders;
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.coffeecart.listeners;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a test class whose methods are independent of each other, so DurationScheduler may run them longest-first
+ * when scheduling.order=duration. Methods of other classes keep their priority order, and FixtureScheduler leaves
+ * the order of a marked class alone so only one interceptor decides it.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface DurationOrdered {
+}
@@ -0,0 +1,179 @@
+package com.coffeecart.listeners;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.testng.IAlterSuiteListener;
+import org.testng.IMethodInstance;
+import org.testng.IMethodInterceptor;
+import org.testng.ITestContext;
+import org.testng.annotations.Test;
+import org.testng.xml.XmlClass;
+import org.testng.xml.XmlSuite;
+import org.testng.xml.XmlTest;
+
+import com.coffeecart.managers.ConfigManager;
+import com.coffeecart.managers.ConfigSnapshot;
+import com.coffeecart.metrics.TestDurations;
+import com.coffeecart.utils.LoggerUtil;
+
+/**
+ * Orders and shards the suite using the historical durations in TestDurations.
+ *
+ * A test class on one browser is the unit of work, because its methods share the browser session opened in
+ * BaseTest. Before the run the units are spread over shard.count workers longest-first, each going to the least
+ * loaded worker (LPT), and every worker keeps only the units of shard.index. All workers compute the same plan
+ * from the same durations file. With scheduling.order=duration the kept classes of each <test> run longest-first,
+ * and so do the methods of classes marked @DurationOrdered; every other class keeps its priority order, since
+ * tests such as MenuTests leave the cart for the next one to repair. The default, declared, only applies sharding.
+ */
+public class DurationScheduler implements IAlterSuiteListener, IMethodInterceptor {
+
+    @Override
+    public void alter(List<XmlSuite> suites) {
+        ConfigSnapshot config = ConfigManager.snapshot();
+        int shardCount = config.getShardCount();
+        int shardIndex = config.getShardIndex();
+        if (shardIndex >= shardCount) {
+            throw new IllegalStateException("shard.index " + shardIndex + " must be lower than shard.count " + shardCount);
+        }
+        boolean byDuration = isDurationOrder(config);
+        for (XmlSuite suite : suites) {
+            List<Unit> units = new ArrayList<>();
+            for (XmlTest test : suite.getTests()) {
+                for (XmlClass xmlClass : test.getXmlClasses()) {
+                    units.add(new Unit(test, xmlClass, estimateClass(browserOf(test), xmlClass.getSupportClass())));
+                }
+            }
+            if (shardCount > 1) {
+                assignShards(units, shardCount);
+                logPlan(suite, units, shardCount);
+            }
+            for (XmlTest test : new ArrayList<>(suite.getTests())) {
+                List<Unit> kept = new ArrayList<>();
+                for (Unit unit : units) {
+                    if (unit.test == test && (shardCount == 1 || unit.shard == shardIndex)) {
+                        kept.add(unit);
+                    }
+                }
+                if (byDuration) {
+                    kept.sort(Comparator.comparingDouble((Unit unit) -> unit.millis).reversed());
+                }
+                if (kept.isEmpty() && !test.getXmlClasses().isEmpty()) {
+                    suite.getTests().remove(test);
+                    continue;
+                }
+                List<XmlClass> classes = new ArrayList<>();
+                for (Unit unit : kept) {
+                    // preserve-order runs classes by their index, not by their position in the list
+                    unit.xmlClass.setIndex(classes.size());
+                    classes.add(unit.xmlClass);
+                }
+                test.setXmlClasses(classes);
+            }
+        }
+    }
+
+    @Override
+    public List<IMethodInstance> intercept(List<IMethodInstance> methods, ITestContext context) {
+        if (!isDurationOrder(ConfigManager.snapshot())) {
+            return methods;
+        }
+        String browser = browserOf(context.getCurrentXmlTest());
+        Map<Class<?>, List<IMethodInstance>> byClass = new LinkedHashMap<>();
+        for (IMethodInstance method : methods) {
+            byClass.computeIfAbsent(method.getMethod().getRealClass(), type -> new ArrayList<>()).add(method);
+        }
+        List<IMethodInstance> ordered = new ArrayList<>(methods.size());
+        for (Map.Entry<Class<?>, List<IMethodInstance>> entry : byClass.entrySet()) {
+            List<IMethodInstance> classMethods = entry.getValue();
+            if (entry.getKey().isAnnotationPresent(DurationOrdered.class) && !entry.getKey().isAnnotationPresent(PreserveOrder.class)) {
+                classMethods.sort(Comparator.comparingDouble((IMethodInstance method) ->
+                        estimate(browser, entry.getKey(), method.getMethod().getMethodName())).reversed());
+            }
+            ordered.addAll(classMethods);
+        }
+        return ordered;
+    }
+
+    // Longest-processing-time first: each unit, largest first, goes to the worker with the least work so far
+    static void assignShards(List<Unit> units, int shardCount) {
+        List<Unit> sorted = new ArrayList<>(units);
+        sorted.sort(Comparator.comparingDouble((Unit unit) -> unit.millis).reversed().thenComparing(Unit::name));
+        double[] loads = new double[shardCount];
+        for (Unit unit : sorted) {
+            int lightest = 0;
+            for (int shard = 1; shard < shardCount; shard++) {
+                if (loads[shard] < loads[lightest]) {
+                    lightest = shard;
+                }
+            }
+            unit.shard = lightest;
+            loads[lightest] += unit.millis;
+        }
+    }
+
+    private static void logPlan(XmlSuite suite, List<Unit> units, int shardCount) {
+        for (int shard = 0; shard < shardCount; shard++) {
+            double total = 0;
+            List<String> names = new ArrayList<>();
+            for (Unit unit : units) {
+                if (unit.shard == shard) {
+                    total += unit.millis;
+                    names.add(unit.name());
+                }
+            }
+            LoggerUtil.info("Shard {}/{} of {}: ~{}s {}", shard, shardCount, suite.getName(), Math.round(total / 1000), names);
+        }
+    }
+
+    private static double estimateClass(String browser, Class<?> testClass) {
+        double total = 0;
+        for (Method method : testClass.getMethods()) {
+            if (method.isAnnotationPresent(Test.class)) {
+                total += estimate(browser, testClass, method.getName());
+            }
+        }
+        return total;
+    }
+
+    private static double estimate(String browser, Class<?> testClass, String methodName) {
+        Double millis = TestDurations.get(browser, testClass.getSimpleName() + "." + methodName);
+        return millis != null ? millis : TestDurations.mean(browser);
+    }
+
+    private static String browserOf(XmlTest test) {
+        String browser = test.getParameter("browser");
+        return browser != null ? browser.trim().toLowerCase() : ConfigManager.getBrowser().toLowerCase();
+    }
+
+    private static boolean isDurationOrder(ConfigSnapshot config) {
+        return "duration".equals(config.getSchedulingOrder());
+    }
+
+    // One test class within one <test>, i.e. on one browser
+    static final class Unit {
+        private final XmlTest test;
+        private final XmlClass xmlClass;
+        private final double millis;
+        private int shard;
+
+        Unit(XmlTest test, XmlClass xmlClass, double millis) {
+            this.test = test;
+            this.xmlClass = xmlClass;
+            this.millis = millis;
+        }
+
+        String name() {
+            return test.getName() + "/" + xmlClass.getSupportClass().getSimpleName();
+        }
+
+        int shard() {
+            return shard;
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.coffeecart.listeners;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import org.testng.xml.XmlClass;
+import org.testng.xml.XmlSuite;
+import org.testng.xml.XmlTest;
+
+//Unit tests for the longest-processing-time shard assignment; no browser involved.
+
+public class DurationSchedulerTest {
+
+    private static List<DurationScheduler.Unit> units(double... millis) {
+        XmlTest test = new XmlTest(new XmlSuite());
+        test.setName("Chrome Tests");
+        // Any class will do as the unit's class; only its name is used, to break ties
+        Class<?>[] classes = { String.class, Integer.class, Long.class, Double.class, Float.class, Short.class, Byte.class };
+        List<DurationScheduler.Unit> units = new ArrayList<>();
+        for (int i = 0; i < millis.length; i++) {
+            units.add(new DurationScheduler.Unit(test, new XmlClass(classes[i]), millis[i]));
+        }
+        return units;
+    }
+
+    private static double[] loads(List<DurationScheduler.Unit> units, double[] millis, int shardCount) {
+        double[] loads = new double[shardCount];
+        for (int i = 0; i < units.size(); i++) {
+            loads[units.get(i).shard()] += millis[i];
+        }
+        return loads;
+    }
+
+    @Test(description = "Units are spread so that every shard ends up with the same work when that is possible")
+    public void balancesShards() {
+        double[] millis = { 7000, 5000, 4000, 3000, 3000, 2000 };
+        List<DurationScheduler.Unit> units = units(millis);
+
+        DurationScheduler.assignShards(units, 2);
+
+        double[] loads = loads(units, millis, 2);
+        Assert.assertEquals(loads[0], 12000.0);
+        Assert.assertEquals(loads[1], 12000.0);
+    }
+
+    @Test(description = "The longest unit goes first to shard 0 and the next ones to the lightest shard")
+    public void longestUnitsFirst() {
+        double[] millis = { 1000, 9000, 4000 };
+        List<DurationScheduler.Unit> units = units(millis);
+
+        DurationScheduler.assignShards(units, 3);
+
+        Assert.assertEquals(units.get(1).shard(), 0);
+        Assert.assertEquals(units.get(2).shard(), 1);
+        Assert.assertEquals(units.get(0).shard(), 2);
+    }
+
+    @Test(description = "LPT stays within 4/3 of the best possible longest shard")
+    public void longestShardWithinLptBound() {
+        double[] millis = { 3000, 3000, 2000, 2000, 2000 };
+        List<DurationScheduler.Unit> units = units(millis);
+
+        DurationScheduler.assignShards(units, 2);
+
+        double[] loads = loads(units, millis, 2);
+        double optimal = 6000;
+        Assert.assertTrue(Math.max(loads[0], loads[1]) <= optimal * 4 / 3, "Longest shard " + Math.max(loads[0], loads[1]));
+        Assert.assertEquals(loads[0] + loads[1], 12000.0);
+    }
+
+    @Test(description = "Equal durations are assigned by name, so every worker computes the same plan")
+    public void tiesAreDeterministic() {
+        double[] millis = { 2000, 2000, 2000, 2000 };
+        List<DurationScheduler.Unit> first = units(millis);
+        List<DurationScheduler.Unit> second = units(millis);
+
+        DurationScheduler.assignShards(first, 3);
+        DurationScheduler.assignShards(second, 3);
+
+        for (int i = 0; i < first.size(); i++) {
+            Assert.assertEquals(first.get(i).shard(), second.get(i).shard());
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package com.coffeecart.listeners;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.testng.IAlterSuiteListener;
+import org.testng.IMethodInstance;
+import org.testng.IMethodInterceptor;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.ITestContext;
+import org.testng.annotations.Test;
+import org.testng.xml.XmlClass;
+import org.testng.xml.XmlInclude;
+import org.testng.xml.XmlSuite;
+import org.testng.xml.XmlTest;
+
+import com.coffeecart.fixtures.AppState;
+import com.coffeecart.fixtures.RequiresState;
+import com.coffeecart.fixtures.StateFixtures;
+import com.coffeecart.managers.ConfigManager;
+import com.coffeecart.utils.LoggerUtil;
+
+/**
+ * Runs @RequiresState tests so each application state is built as few times as possible.
+ *
+ * Within a class the state tree is walked depth first: the tests that only read a state run first and share one
+ * build, then the states extending it, then the tests that change it, each of which gets a fresh build. Tests
+ * without a state keep their order and run before the others. The states themselves are built by BaseTest in
+ * @BeforeMethod, so this listener only decides the order; it is registered in the suite files and nowhere else.
+ * With fixtures.parallel.branches=true (off by default) the tests of each branch below MENU (cart, promo) are moved
+ * into a <test> of their own, and the suite runs its <test> blocks in parallel so the branches are built in separate
+ * browsers at the same time. That changes the shape of the suite, so every change is logged as a warning, suites
+ * that already run methods or classes in parallel are left alone, and a suite that was not parallel gets at most
+ * one thread per core.
+ */
+public class FixtureScheduler implements IAlterSuiteListener, IMethodInterceptor, ISuiteListener {
+
+    @Override
+    public void alter(List<XmlSuite> suites) {
+        if (!ConfigManager.snapshot().isFixturesParallelBranches()) {
+            return;
+        }
+        for (XmlSuite suite : suites) {
+            // Forcing parallel="tests" would override a suite that already runs methods or classes in parallel
+            XmlSuite.ParallelMode mode = suite.getParallel();
+            if (mode != null && mode != XmlSuite.ParallelMode.NONE && mode != XmlSuite.ParallelMode.TESTS) {
+                LoggerUtil.warn("fixtures.parallel.branches ignored for {}: suite already runs parallel={}", suite.getName(), mode);
+                continue;
+            }
+            int lanes = 0;
+            for (XmlTest test : new ArrayList<>(suite.getTests())) {
+                for (XmlClass xmlClass : test.getXmlClasses()) {
+                    lanes += splitBranches(test, xmlClass);
+                }
+            }
+            if (lanes > 0) {
+                int threads = laneThreads(mode == XmlSuite.ParallelMode.TESTS ? suite.getThreadCount() : 0, suite.getTests().size());
+                suite.setParallel(XmlSuite.ParallelMode.TESTS);
+                suite.setThreadCount(threads);
+                LoggerUtil.warn("fixtures.parallel.branches=true changed suite {}: {} fixture branches moved into extra <test> blocks, "
+                        + "now {} <test> blocks with parallel=tests and thread-count={} (one browser per thread)",
+                        suite.getName(), lanes, suite.getTests().size(), threads);
+            }
+        }
+    }
+
+    // Browsers that may run at once: a parallel suite keeps its own thread-count, otherwise one per <test> up to the cores
+    private static int laneThreads(int declared, int tests) {
+        if (declared > 0) {
+            return declared;
+        }
+        return Math.min(tests, Math.max(1, Runtime.getRuntime().availableProcessors()));
+    }
+
+    // Moves the state tests of each MENU branch of the class into a copy of the <test>; returns the copies made
+    private static int splitBranches(XmlTest test, XmlClass xmlClass) {
+        Class<?> testClass = xmlClass.getSupportClass();
+        if (testClass.isAnnotationPresent(PreserveOrder.class)) {
+            return 0;
+        }
+        List<String> included = new ArrayList<>();
+        for (XmlInclude include : xmlClass.getIncludedMethods()) {
+            included.add(include.getName());
+        }
+        Map<AppState, List<String>> branches = new LinkedHashMap<>();
+        int remaining = 0;
+        for (Method method : testClass.getMethods()) {
+            if (!method.isAnnotationPresent(Test.class) || (!included.isEmpty() && !included.contains(method.getName()))) {
+                continue;
+            }
+            RequiresState requires = method.getAnnotation(RequiresState.class);
+            AppState branch = requires != null ? requires.value().branch() : null;
+            if (branch != null) {
+                branches.computeIfAbsent(branch, key -> new ArrayList<>()).add(method.getName());
+            } else {
+                remaining++;
+            }
+        }
+        if (branches.isEmpty() || (branches.size() == 1 && remaining == 0)) {
+            return 0;
+        }
+        for (Map.Entry<AppState, List<String>> branch : branches.entrySet()) {
+            // clone() registers the copy with the suite and shares the class list, which is replaced here
+            XmlTest lane = (XmlTest) test.clone();
+            lane.setName(test.getName() + " - " + testClass.getSimpleName() + " " + branch.getKey());
+            XmlClass laneClass = new XmlClass(testClass, false);
+            List<XmlInclude> includes = new ArrayList<>();
+            for (String name : branch.getValue()) {
+                includes.add(new XmlInclude(name));
+            }
+            laneClass.setIncludedMethods(includes);
+            List<XmlClass> laneClasses = new ArrayList<>();
+            laneClasses.add(laneClass);
+            lane.setXmlClasses(laneClasses);
+
+            if (included.isEmpty()) {
+                List<String> excluded = new ArrayList<>(xmlClass.getExcludedMethods());
+                excluded.addAll(branch.getValue());
+                xmlClass.setExcludedMethods(excluded);
+            } else {
+                xmlClass.getIncludedMethods().removeIf(include -> branch.getValue().contains(include.getName()));
+            }
+        }
+        return branches.size();
+    }
+
+    @Override
+    public List<IMethodInstance> intercept(List<IMethodInstance> methods, ITestContext context) {
+        Map<Class<?>, List<IMethodInstance>> byClass = new LinkedHashMap<>();
+        for (IMethodInstance method : methods) {
+            byClass.computeIfAbsent(method.getMethod().getRealClass(), type -> new ArrayList<>()).add(method);
+        }
+        List<IMethodInstance> ordered = new ArrayList<>(methods.size());
+        for (Map.Entry<Class<?>, List<IMethodInstance>> entry : byClass.entrySet()) {
+            // @DurationOrdered classes are ordered by DurationScheduler instead
+            if (entry.getKey().isAnnotationPresent(PreserveOrder.class) || entry.getKey().isAnnotationPresent(DurationOrdered.class)) {
+                ordered.addAll(entry.getValue());
+                continue;
+            }
+            Map<AppState, List<IMethodInstance>> readers = new EnumMap<>(AppState.class);
+            Map<AppState, List<IMethodInstance>> writers = new EnumMap<>(AppState.class);
+            for (IMethodInstance method : entry.getValue()) {
+                RequiresState requires = requiredState(method.getMethod().getConstructorOrMethod().getMethod());
+                if (requires == null) {
+                    ordered.add(method);
+                } else {
+                    (requires.mutates() ? writers : readers).computeIfAbsent(requires.value(), key -> new ArrayList<>()).add(method);
+                }
+            }
+            for (AppState state : AppState.values()) {
+                if (state.getParent() == null) {
+                    walk(state, readers, writers, ordered);
+                }
+            }
+        }
+        return ordered;
+    }
+
+    private static void walk(AppState state, Map<AppState, List<IMethodInstance>> readers,
+            Map<AppState, List<IMethodInstance>> writers, List<IMethodInstance> ordered) {
+        ordered.addAll(readers.getOrDefault(state, List.of()));
+        for (AppState child : state.children()) {
+            walk(child, readers, writers, ordered);
+        }
+        ordered.addAll(writers.getOrDefault(state, List.of()));
+    }
+
+    @Override
+    public void onStart(ISuite suite) {
+        StateFixtures.reset();
+    }
+
+    @Override
+    public void onFinish(ISuite suite) {
+        StateFixtures.logSummary();
+    }
+
+    private static RequiresState requiredState(Method method) {
+        return method != null ? method.getAnnotation(RequiresState.class) : null;
+    }
+}
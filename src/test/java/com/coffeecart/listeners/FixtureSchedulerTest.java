@@ -0,0 +1,109 @@
+package com.coffeecart.listeners;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.testng.Assert;
+import org.testng.IMethodInstance;
+import org.testng.ITestNGMethod;
+import org.testng.annotations.Test;
+import org.testng.internal.ConstructorOrMethod;
+
+import com.coffeecart.fixtures.AppState;
+import com.coffeecart.fixtures.RequiresState;
+
+//Unit tests for the depth-first order in which FixtureScheduler runs @RequiresState tests; no browser involved.
+
+public class FixtureSchedulerTest {
+
+    // Stand-in test class; only the annotations of its methods matter
+    public static class StateTests {
+        @RequiresState(AppState.MENU)
+        public void changesMenu() { }
+
+        @RequiresState(value = AppState.PROMO_VISIBLE, mutates = false)
+        public void readsPromo() { }
+
+        @RequiresState(AppState.CART_WITH_ITEM)
+        public void changesCart() { }
+
+        @RequiresState(value = AppState.CHECKOUT_OPEN, mutates = false)
+        public void readsCheckout() { }
+
+        public void withoutState() { }
+
+        @RequiresState(value = AppState.CART_WITH_ITEM, mutates = false)
+        public void readsCart() { }
+
+        @RequiresState(value = AppState.MENU, mutates = false)
+        public void readsMenu() { }
+    }
+
+    // The same tests in a class that DurationScheduler orders instead
+    @DurationOrdered
+    public static class DurationOrderedTests extends StateTests {
+    }
+
+    // A method instance exposing only what the interceptor reads: the class and the method
+    private static IMethodInstance instance(Class<?> testClass, String name) throws NoSuchMethodException {
+        Method method = testClass.getMethod(name);
+        ITestNGMethod testMethod = (ITestNGMethod) Proxy.newProxyInstance(ITestNGMethod.class.getClassLoader(),
+                new Class<?>[] { ITestNGMethod.class }, (proxy, called, args) -> {
+                    switch (called.getName()) {
+                        case "getRealClass": return testClass;
+                        case "getConstructorOrMethod": return new ConstructorOrMethod(method);
+                        case "getMethodName": case "toString": return name;
+                        case "hashCode": return System.identityHashCode(proxy);
+                        case "equals": return proxy == args[0];
+                        default: return null;
+                    }
+                });
+        return (IMethodInstance) Proxy.newProxyInstance(IMethodInstance.class.getClassLoader(),
+                new Class<?>[] { IMethodInstance.class }, (proxy, called, args) -> {
+                    switch (called.getName()) {
+                        case "getMethod": return testMethod;
+                        case "toString": return name;
+                        case "hashCode": return System.identityHashCode(proxy);
+                        case "equals": return proxy == args[0];
+                        default: return null;
+                    }
+                });
+    }
+
+    private static List<String> names(List<IMethodInstance> methods) {
+        List<String> names = new ArrayList<>();
+        for (IMethodInstance method : methods) {
+            names.add(method.getMethod().getMethodName());
+        }
+        return names;
+    }
+
+    @Test(description = "Tests without a state run first, then the state tree depth first with readers before writers")
+    public void walksTheStateTreeDepthFirst() throws NoSuchMethodException {
+        List<IMethodInstance> declared = new ArrayList<>();
+        for (String name : List.of("changesMenu", "readsPromo", "changesCart", "readsCheckout", "withoutState", "readsCart", "readsMenu")) {
+            declared.add(instance(StateTests.class, name));
+        }
+
+        List<IMethodInstance> ordered = new FixtureScheduler().intercept(declared, null);
+
+        Assert.assertEquals(names(ordered), List.of(
+                "withoutState",
+                "readsMenu", "readsCart", "readsCheckout", "changesCart", "readsPromo",
+                "changesMenu"));
+    }
+
+    @Test(description = "Classes ordered by DurationScheduler keep the order they come in")
+    public void leavesDurationOrderedClassesAlone() throws NoSuchMethodException {
+        List<IMethodInstance> declared = new ArrayList<>();
+        for (String name : List.of("changesMenu", "readsMenu", "withoutState")) {
+            declared.add(instance(DurationOrderedTests.class, name));
+        }
+
+        List<IMethodInstance> ordered = new FixtureScheduler().intercept(declared, null);
+
+        Assert.assertEquals(names(ordered), List.of("changesMenu", "readsMenu", "withoutState"));
+    }
+}
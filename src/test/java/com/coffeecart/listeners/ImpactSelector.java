@@ -0,0 +1,75 @@
+package com.coffeecart.listeners;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import org.testng.IAlterSuiteListener;
+import org.testng.annotations.Test;
+import org.testng.xml.XmlClass;
+import org.testng.xml.XmlInclude;
+import org.testng.xml.XmlSuite;
+import org.testng.xml.XmlTest;
+
+import com.coffeecart.coverage.ImpactAnalysis;
+import com.coffeecart.managers.ConfigManager;
+import com.coffeecart.utils.LoggerUtil;
+
+/**
+ * With impact.base set (e.g. -Dimpact.base=origin/main) narrows the suite to the tests ImpactAnalysis selects
+ * for the changes since that ref. Classes marked @PreserveOrder build on their earlier tests and run whole once
+ * any of their tests is selected. Registered before DurationScheduler, which then shards what is left.
+ */
+public class ImpactSelector implements IAlterSuiteListener {
+
+    @Override
+    public void alter(List<XmlSuite> suites) {
+        String base = ConfigManager.snapshot().getImpactBase();
+        if (base == null) {
+            return;
+        }
+        ImpactAnalysis.Selection selection = ImpactAnalysis.select(base);
+        if (selection.isAll()) {
+            LoggerUtil.info("Impact analysis against {} runs all tests: {}", base, selection.getReason());
+            return;
+        }
+        LoggerUtil.info("Impact analysis against {}: {}", base, selection.getReason());
+
+        int kept = 0;
+        for (XmlSuite suite : suites) {
+            Iterator<XmlTest> tests = suite.getTests().iterator();
+            while (tests.hasNext()) {
+                XmlTest test = tests.next();
+                List<XmlClass> classes = new ArrayList<>();
+                for (XmlClass xmlClass : test.getXmlClasses()) {
+                    Class<?> type = xmlClass.getSupportClass();
+                    List<XmlInclude> included = new ArrayList<>();
+                    int total = 0;
+                    for (Method method : type.getMethods()) {
+                        if (method.isAnnotationPresent(Test.class)) {
+                            total++;
+                            if (selection.selects(type.getSimpleName(), method.getName())) {
+                                included.add(new XmlInclude(method.getName()));
+                            }
+                        }
+                    }
+                    if (included.isEmpty()) {
+                        continue;
+                    }
+                    if (included.size() < total && !type.isAnnotationPresent(PreserveOrder.class)) {
+                        xmlClass.setIncludedMethods(included);
+                    }
+                    classes.add(xmlClass);
+                    kept += type.isAnnotationPresent(PreserveOrder.class) ? total : included.size();
+                }
+                if (classes.isEmpty()) {
+                    tests.remove();
+                } else {
+                    test.setXmlClasses(classes);
+                }
+            }
+        }
+        LoggerUtil.info("Impact analysis kept {} test methods", kept);
+    }
+}
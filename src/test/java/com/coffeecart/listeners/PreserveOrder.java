@@ -0,0 +1,15 @@
+package com.coffeecart.listeners;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a test class whose methods depend on each other's browser state and must run in their declared priority
+ * order. DurationScheduler still moves the class as a whole but never reorders its methods.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface PreserveOrder {
+}
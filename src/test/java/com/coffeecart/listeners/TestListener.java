@@ -1,28 +1,60 @@
 package com.coffeecart.listeners;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.text.SimpleDateFormat;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
 import org.openqa.selenium.OutputType;
 import org.openqa.selenium.TakesScreenshot;
 import org.openqa.selenium.WebDriver;
+import org.testng.IInvokedMethod;
+import org.testng.IInvokedMethodListener;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.ISuiteResult;
 import org.testng.ITestContext;
 import org.testng.ITestListener;
 import org.testng.ITestResult;
 
+import com.coffeecart.coverage.TestCoverage;
+import com.coffeecart.managers.ConfigManager;
+import com.coffeecart.metrics.MetricsRegistry;
+import com.coffeecart.metrics.PerformanceBaseline;
+import com.coffeecart.metrics.PerformanceBudget;
+import com.coffeecart.metrics.PerformanceBudgets;
+import com.coffeecart.metrics.TestDurations;
 import com.coffeecart.tests.BaseTest;
+import com.coffeecart.tracing.FlightRecording;
+import com.coffeecart.tracing.Tracer;
+import com.coffeecart.utils.DebugRingBufferAppender;
 import com.coffeecart.utils.LoggerUtil;
 import com.coffeecart.utils.ScreenshotUtil;
 
+import io.qameta.allure.Allure;
 import io.qameta.allure.Attachment;
 
 /**
  * Listens to TestNG events and handles logging, screenshots, and reporting for test execution.
  * Automatically captures screenshots on failures and provides detailed execution summaries.
  */
-public class TestListener implements ITestListener {
+public class TestListener implements ITestListener, ISuiteListener, IInvokedMethodListener {
+
+    private static final Duration SCREENSHOT_DRAIN_TIMEOUT = Duration.ofSeconds(30);
 
     // Logs when a test suite begins execution
     @Override
     public void onStart(ITestContext context) {
         LoggerUtil.info("Test Suite has been started: " + context.getName());
+        FlightRecording.startIfConfigured();
     }
 
     // Logs when an individual test method starts and records start time
@@ -30,8 +62,38 @@ public class TestListener implements ITestListener {
     public void onTestStart(ITestResult result) {
         LoggerUtil.info("Test has been started: " + result.getName());
         result.setAttribute("startTime", System.currentTimeMillis());
-        
+        result.setAttribute("startNanos", System.nanoTime());
+        DebugRingBufferAppender.capture();
+    }
 
+    // Starts the budget clock right before the test method body, after its @BeforeMethod configuration
+    @Override
+    public void beforeInvocation(IInvokedMethod method, ITestResult result) {
+        if (method.isTestMethod() && PerformanceBudgets.isEnabled()) {
+            PerformanceBudgets.clear();
+            result.setAttribute("budgetStartNanos", System.nanoTime());
+            result.setAttribute("budgetPausedNanos", PerformanceBudgets.pausedNanos());
+        }
+    }
+
+    // Checks the test's own @PerformanceBudget and any page method budgets exceeded while it ran; in fail mode a
+    // passing test is turned into a failure before the success/failure callbacks run
+    @Override
+    public void afterInvocation(IInvokedMethod method, ITestResult result) {
+        Long startNanos = (Long) result.getAttribute("budgetStartNanos");
+        if (!method.isTestMethod() || startNanos == null) {
+            return;
+        }
+        long elapsed = System.nanoTime() - startNanos - (PerformanceBudgets.pausedNanos() - (Long) result.getAttribute("budgetPausedNanos"));
+        PerformanceBudget budget = method.getTestMethod().getConstructorOrMethod().getMethod().getAnnotation(PerformanceBudget.class);
+        PerformanceBudgets.check(result.getTestClass().getRealClass().getSimpleName() + "." + result.getMethod().getMethodName(),
+                budget, elapsed);
+
+        List<String> violations = PerformanceBudgets.drainViolations();
+        if (!violations.isEmpty() && result.getStatus() == ITestResult.SUCCESS) {
+            result.setStatus(ITestResult.FAILURE);
+            result.setThrowable(new AssertionError("Performance budget exceeded: " + String.join("; ", violations)));
+        }
     }
 
     // Logs when a test passes successfully and calculates execution duration
@@ -39,7 +101,8 @@ public class TestListener implements ITestListener {
     public void onTestSuccess(ITestResult result) {
         LoggerUtil.info("Test Passed: " + result.getName());
         long duration = calculateDuration(result);
-
+        recordDuration(result, "passed", duration);
+        DebugRingBufferAppender.clear();
     }
 
     // Handles test failures by logging errors and capturing screenshots for debugging
@@ -47,18 +110,15 @@ public class TestListener implements ITestListener {
     public void onTestFailure(ITestResult result) {
         LoggerUtil.error("Test Failed: " + result.getName());
         long duration = calculateDuration(result);
+        recordDuration(result, "failed", duration);
         
         try {
             Object testClass = result.getInstance();
             WebDriver driver = ((BaseTest) testClass).getDriver();
 
             if (driver != null) {
-                attachScreenshot(driver);
-                String screenshotPath = ScreenshotUtil.captureScreenshot(
-                        driver,
-                        result.getName()
-                );
-                LoggerUtil.info("Screenshot has been saved successfully: " + screenshotPath);
+                // Written in the background; onFinish waits for pending screenshots
+                ScreenshotUtil.capture(driver, result.getName());
             }
             
 
@@ -66,18 +126,23 @@ public class TestListener implements ITestListener {
         } catch (Exception e) {
             LoggerUtil.error("Failed to capture the screenshot: " + e.getMessage());
         }
+
+        saveDebugLog(result);
     }
 
     // Logs when a test is skipped due to dependencies or conditions
     @Override
     public void onTestSkipped(ITestResult result) {
         LoggerUtil.warn("Test has been skipped: " + result.getName());
+        recordDuration(result, "skipped", calculateDuration(result));
+        DebugRingBufferAppender.clear();
     }
 
     // Provides test execution summary when the entire test suite completes
     @Override
     public void onFinish(ITestContext context) {
         LoggerUtil.info("Test Suite has been Finished: " + context.getName());
+        ScreenshotUtil.awaitPendingWrites(SCREENSHOT_DRAIN_TIMEOUT);
         
         int total = context.getAllTestMethods().length;
         int passed = context.getPassedTests().size();
@@ -88,13 +153,109 @@ public class TestListener implements ITestListener {
         
         LoggerUtil.info(String.format("Test Execution Summary - Total: %d, Passed: %d (%.2f%%), Failed: %d, Skipped: %d", 
                 total, passed, passPercentage, failed, skipped));
+        LoggerUtil.info(String.format("%s took %.1fs", context.getName(),
+                (context.getEndDate().getTime() - context.getStartDate().getTime()) / 1000.0));
+    }
+
+    // Exports the metrics and traces, stores the test durations for scheduling and the page coverage for impact analysis, and compares the suite's timings with the baseline once every <test> has finished
+    @Override
+    public void onFinish(ISuite suite) {
+        logLaneTimes(suite);
+        if (ConfigManager.snapshot().isMetricsEnabled()) {
+            MetricsRegistry.export(Paths.get(ConfigManager.snapshot().getMetricsPath()));
+        }
+        if (Tracer.isEnabled()) {
+            Tracer.export(Paths.get(ConfigManager.snapshot().getTracingPath()));
+        }
+        TestDurations.save();
+        TestCoverage.save();
+        if (!PerformanceBaseline.isEnabled()) {
+            return;
+        }
+        List<PerformanceBaseline.Regression> regressions = PerformanceBaseline.evaluate();
+        if (regressions.isEmpty()) {
+            LoggerUtil.info("Performance Summary - No regressions against the baseline");
+            return;
+        }
+        LoggerUtil.warn("Performance Summary - {} regression(s) against the baseline:", regressions.size());
+        for (PerformanceBaseline.Regression regression : regressions) {
+            LoggerUtil.warn("  REGRESSION {}", regression);
+        }
+        // Opt-in only (performance.regression.fail, off by default): everything above has been saved and logged, and
+        // the exception is what makes TestNG end the build with a failure
+        if (ConfigManager.snapshot().isPerformanceRegressionFail()) {
+            throw new IllegalStateException(regressions.size() + " performance regression(s) exceed the p95 budget, worst: "
+                    + regressions.get(0));
+        }
     }
     
+    // With lanes running side by side the suite should take about as long as its slowest <test> block
+    private void logLaneTimes(ISuite suite) {
+        long first = Long.MAX_VALUE;
+        long last = Long.MIN_VALUE;
+        long slowest = 0;
+        for (ISuiteResult lane : suite.getResults().values()) {
+            ITestContext context = lane.getTestContext();
+            first = Math.min(first, context.getStartDate().getTime());
+            last = Math.max(last, context.getEndDate().getTime());
+            slowest = Math.max(slowest, context.getEndDate().getTime() - context.getStartDate().getTime());
+        }
+        if (suite.getResults().size() > 1) {
+            LoggerUtil.info(String.format("Suite wall time %.1fs, slowest <test> block %.1fs", (last - first) / 1000.0, slowest / 1000.0));
+        }
+    }
+
+    // Writes the failed test's buffered DEBUG/TRACE log to the failure log directory and attaches it to Allure
+    private void saveDebugLog(ITestResult result) {
+        String debugLog = DebugRingBufferAppender.dump();
+        if (debugLog.isEmpty()) {
+            return;
+        }
+        Allure.addAttachment("Debug log", "text/plain", debugLog, ".log");
+
+        try {
+            String timestamp = new SimpleDateFormat("yyyyMMdd_HHmmss").format(new Date());
+            Path directory = Paths.get(ConfigManager.getFailureLogPath(), ConfigManager.getBrowser());
+            Files.createDirectories(directory);
+            Path logFile = directory.resolve(result.getTestClass().getRealClass().getSimpleName() + "."
+                    + result.getName() + "_" + timestamp + ".log");
+            Files.write(logFile, debugLog.getBytes(StandardCharsets.UTF_8));
+            LoggerUtil.info("Debug log has been saved: " + logFile.toAbsolutePath());
+        } catch (IOException e) {
+            LoggerUtil.error("Failed to save the debug log: " + e.getMessage());
+        }
+    }
+
+    // Adds the test's duration to the per-test latency histogram and the baseline samples, and closes its trace span
+    private void recordDuration(ITestResult result, String status, long durationMillis) {
+        String testName = result.getTestClass().getRealClass().getSimpleName() + "." + result.getMethod().getMethodName();
+        if (ConfigManager.snapshot().isMetricsEnabled()) {
+            MetricsRegistry.recordTest(testName, status, durationMillis * 1_000_000L);
+        }
+        if (!"skipped".equals(status)) {
+            TestDurations.record(ConfigManager.getBrowser(), testName, durationMillis);
+        }
+        if ("passed".equals(status) && PerformanceBaseline.isEnabled()) {
+            PerformanceBaseline.recordTest(ConfigManager.getBrowser(), testName, durationMillis * 1_000_000L);
+        }
+        Long startNanos = (Long) result.getAttribute("startNanos");
+        if (startNanos != null) {
+            Map<String, Object> args = new LinkedHashMap<>();
+            args.put("status", status);
+            if (result.getParameters().length > 0) {
+                args.put("parameters", Arrays.toString(result.getParameters()));
+            }
+            Tracer.record(testName, Tracer.CATEGORY_TEST, startNanos, System.nanoTime(), args);
+        }
+    }
+
+    // Takes a screenshot and attaches it to the current Allure test before returning; failures go through
+    // ScreenshotUtil.capture instead, which saves the file as well and attaches in the background
     @Attachment(value = "Screenshot", type = "image/png")
     public byte[] attachScreenshot(WebDriver driver) {
         return ((TakesScreenshot) driver).getScreenshotAs(OutputType.BYTES);
     }
-    
+
     // Calculates how long a test took to execute in milliseconds
     private long calculateDuration(ITestResult result) {
         Long startTime = (Long) result.getAttribute("startTime");
@@ -0,0 +1,75 @@
+package com.coffeecart.metrics;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+//Unit tests for the Mann-Whitney comparison behind the performance regression gate; no browser involved.
+
+public class PerformanceBaselineTest {
+
+    private static List<Double> range(double from, int count, double step) {
+        List<Double> values = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            values.add(from + i * step);
+        }
+        return values;
+    }
+
+    @Test(description = "A current run slower than every baseline sample gets the smallest exact p-value, 1 / C(10,5)")
+    public void clearlySlowerRunIsSignificant() {
+        double p = PerformanceBaseline.mannWhitneyGreaterPValue(range(200, 5, 1), range(100, 5, 1));
+
+        Assert.assertEquals(p, 1.0 / 252, 1e-12);
+    }
+
+    @Test(description = "A current run faster than every baseline sample is not a regression")
+    public void fasterRunIsNotSignificant() {
+        double p = PerformanceBaseline.mannWhitneyGreaterPValue(range(50, 5, 1), range(100, 5, 1));
+
+        Assert.assertEquals(p, 1.0, 1e-12);
+    }
+
+    @Test(description = "A single sample slower than 19 baseline runs gives p = 1/20")
+    public void singleSampleAgainstHistory() {
+        double p = PerformanceBaseline.mannWhitneyGreaterPValue(List.of(500.0), range(100, 19, 10));
+
+        Assert.assertEquals(p, 1.0 / 20, 1e-12);
+    }
+
+    @Test(description = "Identical samples are all ties and give no evidence of a regression")
+    public void tiesAreNotSignificant() {
+        double p = PerformanceBaseline.mannWhitneyGreaterPValue(List.of(100.0, 100.0, 100.0), List.of(100.0, 100.0, 100.0));
+
+        Assert.assertTrue(p >= 0.5, "p = " + p);
+    }
+
+    @Test(description = "Large samples use the normal approximation and still separate a shift from noise")
+    public void normalApproximationForLargeSamples() {
+        List<Double> baseline = range(100, 150, 1);
+        List<Double> shifted = range(130, 150, 1);
+        List<Double> interleaved = range(100.5, 150, 1);
+
+        Assert.assertTrue(PerformanceBaseline.mannWhitneyGreaterPValue(shifted, baseline) < 0.01);
+        Assert.assertTrue(PerformanceBaseline.mannWhitneyGreaterPValue(interleaved, baseline) > 0.05);
+    }
+
+    @Test(description = "Empty samples never fail the gate")
+    public void emptySamplesAreNotSignificant() {
+        Assert.assertEquals(PerformanceBaseline.mannWhitneyGreaterPValue(List.of(), range(100, 5, 1)), 1.0);
+        Assert.assertEquals(PerformanceBaseline.mannWhitneyGreaterPValue(range(100, 5, 1), List.of()), 1.0);
+    }
+
+    @Test(description = "compare reports the nearest-rank p95 of both runs and the change between them")
+    public void compareReportsP95Change() {
+        PerformanceBaseline.Regression regression = PerformanceBaseline.compare("chrome/test", range(110, 20, 1), range(100, 20, 1));
+
+        Assert.assertEquals(regression.getBaselineP95(), 118.0);
+        Assert.assertEquals(regression.getCurrentP95(), 128.0);
+        Assert.assertEquals(regression.getP95ChangePercent(), 10 / 118.0 * 100, 1e-9);
+        Assert.assertEquals(regression.getSamples(), 20);
+        Assert.assertEquals(regression.getBaselineSamples(), 20);
+    }
+}
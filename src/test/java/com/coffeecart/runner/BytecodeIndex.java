@@ -0,0 +1,400 @@
+package com.coffeecart.runner;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import net.bytebuddy.jar.asm.AnnotationVisitor;
+import net.bytebuddy.jar.asm.ClassReader;
+import net.bytebuddy.jar.asm.ClassVisitor;
+import net.bytebuddy.jar.asm.FieldVisitor;
+import net.bytebuddy.jar.asm.Handle;
+import net.bytebuddy.jar.asm.Label;
+import net.bytebuddy.jar.asm.MethodVisitor;
+import net.bytebuddy.jar.asm.Opcodes;
+import net.bytebuddy.jar.asm.Type;
+
+/**
+ * Method-level view of compiled page and test classes for the watch mode. Every method body and every field
+ * field (its initializer and annotations, e.g. @FindBy) is a unit with a hash, and each method records the methods and fields it uses. Comparing hashes
+ * before and after a recompile gives the changed units; a test is affected when it, or the setup methods of its
+ * class, can reach one of them. Line numbers are left out of the hashes, so reformatting a file changes nothing.
+ * Class files are read with the ASM copy bundled in byte-buddy, which the page instrumentation already uses.
+ */
+final class BytecodeIndex {
+
+    private static final String TEST_ANNOTATION = "Lorg/testng/annotations/Test;";
+    private static final String CONFIGURATION_ANNOTATION_PREFIX = "Lorg/testng/annotations/";
+    private static final String PRESERVE_ORDER_ANNOTATION = "Lcom/coffeecart/listeners/PreserveOrder;";
+
+    // Newest class file major version the bundled ASM reads (Java 17); see readable()
+    private static final int READABLE_MAJOR_VERSION = 61;
+
+    private final Map<String, ClassInfo> classes = new HashMap<>();
+
+    // Indexes every class file below the directory, e.g. target/classes/com/coffeecart/pages
+    void indexAll(Path directory) {
+        if (!Files.isDirectory(directory)) {
+            return;
+        }
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path file : files.filter(path -> path.toString().endsWith(".class")).collect(Collectors.toList())) {
+                reindex(file);
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to index classes in " + directory, e);
+        }
+    }
+
+    // Re-reads one class file and returns the units that were added, removed or changed since it was last read
+    Set<String> reindex(Path classFile) {
+        ClassInfo info;
+        try {
+            info = read(Files.readAllBytes(classFile));
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to read " + classFile, e);
+        }
+        ClassInfo previous = classes.put(info.name, info);
+        Map<String, Integer> before = previous == null ? Map.of() : previous.hashes;
+        Set<String> changed = new LinkedHashSet<>();
+        for (Map.Entry<String, Integer> unit : info.hashes.entrySet()) {
+            if (!unit.getValue().equals(before.get(unit.getKey()))) {
+                changed.add(unit.getKey());
+            }
+        }
+        for (String unit : before.keySet()) {
+            if (!info.hashes.containsKey(unit)) {
+                changed.add(unit);
+            }
+        }
+        return changed;
+    }
+
+    Collection<ClassInfo> classes() {
+        return classes.values();
+    }
+
+    // Test methods of the class that reach a changed unit, directly or through the setup methods of the class
+    Set<String> affectedTests(ClassInfo testClass, Set<String> changed) {
+        List<String> configuration = new ArrayList<>();
+        for (ClassInfo type = testClass; type != null; type = classes.get(type.superName)) {
+            configuration.addAll(type.configurationUnits);
+        }
+        if (reaches(configuration, changed)) {
+            return new LinkedHashSet<>(testClass.testMethods.values());
+        }
+        Set<String> affected = new LinkedHashSet<>();
+        testClass.testMethods.forEach((unit, method) -> {
+            if (reaches(List.of(unit), changed)) {
+                affected.add(method);
+            }
+        });
+        return affected;
+    }
+
+    // Breadth-first walk over the recorded references, resolving inherited members to the class that declares them
+    private boolean reaches(Collection<String> starts, Set<String> changed) {
+        Set<String> visited = new HashSet<>();
+        Deque<String> pending = new ArrayDeque<>(starts);
+        while (!pending.isEmpty()) {
+            String unit = resolve(pending.poll());
+            if (unit == null || !visited.add(unit)) {
+                continue;
+            }
+            if (changed.contains(unit)) {
+                return true;
+            }
+            pending.addAll(classes.get(owner(unit)).references.getOrDefault(unit, Set.of()));
+        }
+        return false;
+    }
+
+    private String resolve(String unit) {
+        String owner = owner(unit);
+        String member = unit.substring(owner.length());
+        for (ClassInfo type = classes.get(owner); type != null; type = classes.get(type.superName)) {
+            if (type.hashes.containsKey(type.name + member)) {
+                return type.name + member;
+            }
+        }
+        return null;
+    }
+
+    private static String owner(String unit) {
+        int field = unit.indexOf('#');
+        return unit.substring(0, field >= 0 ? field : unit.indexOf('.'));
+    }
+
+    private static ClassInfo read(byte[] bytes) {
+        ClassInfo info = new ClassInfo();
+        new ClassReader(readable(bytes)).accept(new ClassVisitor(Opcodes.ASM9) {
+            @Override
+            public void visit(int version, int access, String name, String signature, String superName, String[] interfaces) {
+                info.name = name;
+                info.superName = superName;
+            }
+
+            @Override
+            public AnnotationVisitor visitAnnotation(String descriptor, boolean visible) {
+                if (PRESERVE_ORDER_ANNOTATION.equals(descriptor)) {
+                    info.preserveOrder = true;
+                }
+                return null;
+            }
+
+            // @FindBy locators are field annotations; they are hashed into the field's unit
+            @Override
+            public FieldVisitor visitField(int access, String name, String descriptor, String signature, Object value) {
+                StringBuilder text = new StringBuilder(descriptor).append('=').append(value).append(';');
+                return new FieldVisitor(Opcodes.ASM9) {
+                    @Override
+                    public AnnotationVisitor visitAnnotation(String annotation, boolean visible) {
+                        text.append('@').append(annotation);
+                        return new AnnotationText(text);
+                    }
+
+                    @Override
+                    public void visitEnd() {
+                        info.hashes.merge(info.name + "#" + name, text.toString().hashCode(), (a, b) -> 31 * a + b);
+                    }
+                };
+            }
+
+            @Override
+            public MethodVisitor visitMethod(int access, String name, String descriptor, String signature, String[] exceptions) {
+                return new UnitRecorder(info, name, info.name + "." + name + descriptor);
+            }
+        }, ClassReader.SKIP_DEBUG | ClassReader.SKIP_FRAMES);
+        return info;
+    }
+
+    // The bundled ASM refuses class files newer than it knows; only instructions are read, which newer class file
+    // versions leave unchanged, so the version field of a copy is lowered instead
+    private static byte[] readable(byte[] bytes) {
+        int major = ((bytes[6] & 0xff) << 8) | (bytes[7] & 0xff);
+        if (major <= READABLE_MAJOR_VERSION) {
+            return bytes;
+        }
+        byte[] copy = bytes.clone();
+        copy[6] = (byte) (READABLE_MAJOR_VERSION >> 8);
+        copy[7] = (byte) READABLE_MAJOR_VERSION;
+        return copy;
+    }
+
+    /**
+     * What the index knows about one class: unit hashes, references per method, and its TestNG methods.
+     */
+    static final class ClassInfo {
+        String name;
+        String superName;
+        boolean preserveOrder;
+        final Map<String, Integer> hashes = new HashMap<>();
+        final Map<String, Set<String>> references = new HashMap<>();
+        // Unit of each @Test method to its method name
+        final Map<String, String> testMethods = new HashMap<>();
+        final List<String> configurationUnits = new ArrayList<>();
+
+        // Binary name, e.g. com.coffeecart.tests.CartTests
+        String className() {
+            return name.replace('/', '.');
+        }
+    }
+
+    /**
+     * Writes a method's annotations and instructions to text, hashes it and records what it references.
+     * In constructors and static initializers each field assignment ends a segment that becomes the unit of that
+     * field (Owner#field), so changing one locator only affects the methods that read it.
+     */
+    private static final class UnitRecorder extends MethodVisitor {
+        private final ClassInfo info;
+        private final String methodName;
+        private final String unit;
+        private final boolean initializer;
+        private final Map<Label, Integer> labels = new HashMap<>();
+        private final Set<String> references = new LinkedHashSet<>();
+        private StringBuilder body = new StringBuilder();
+
+        UnitRecorder(ClassInfo info, String methodName, String unit) {
+            super(Opcodes.ASM9);
+            this.info = info;
+            this.methodName = methodName;
+            this.unit = unit;
+            this.initializer = "<init>".equals(methodName) || "<clinit>".equals(methodName);
+        }
+
+        @Override
+        public AnnotationVisitor visitAnnotation(String descriptor, boolean visible) {
+            if (TEST_ANNOTATION.equals(descriptor)) {
+                info.testMethods.put(unit, methodName);
+            } else if (descriptor.startsWith(CONFIGURATION_ANNOTATION_PREFIX + "Before")
+                    || descriptor.startsWith(CONFIGURATION_ANNOTATION_PREFIX + "After")) {
+                info.configurationUnits.add(unit);
+            }
+            body.append('@').append(descriptor);
+            return new AnnotationText(body);
+        }
+
+        @Override
+        public void visitInsn(int opcode) {
+            body.append(opcode).append(';');
+        }
+
+        @Override
+        public void visitIntInsn(int opcode, int operand) {
+            body.append(opcode).append(' ').append(operand).append(';');
+        }
+
+        @Override
+        public void visitVarInsn(int opcode, int varIndex) {
+            body.append(opcode).append(' ').append(varIndex).append(';');
+        }
+
+        @Override
+        public void visitTypeInsn(int opcode, String type) {
+            body.append(opcode).append(' ').append(type).append(';');
+        }
+
+        @Override
+        public void visitFieldInsn(int opcode, String owner, String name, String descriptor) {
+            body.append(opcode).append(' ').append(owner).append('#').append(name).append(';');
+            if (opcode == Opcodes.GETFIELD || opcode == Opcodes.GETSTATIC) {
+                references.add(owner + "#" + name);
+            } else if (initializer && owner.equals(info.name)) {
+                info.hashes.merge(owner + "#" + name, body.toString().hashCode(), (a, b) -> 31 * a + b);
+                body = new StringBuilder();
+            }
+        }
+
+        @Override
+        public void visitMethodInsn(int opcode, String owner, String name, String descriptor, boolean isInterface) {
+            body.append(opcode).append(' ').append(owner).append('.').append(name).append(descriptor).append(';');
+            references.add(owner + "." + name + descriptor);
+        }
+
+        @Override
+        public void visitInvokeDynamicInsn(String name, String descriptor, Handle bootstrapMethodHandle, Object... bootstrapMethodArguments) {
+            body.append("indy ").append(name).append(descriptor).append(Arrays.toString(bootstrapMethodArguments)).append(';');
+            // Lambda bodies live in synthetic methods reached through the bootstrap arguments
+            for (Object argument : bootstrapMethodArguments) {
+                if (argument instanceof Handle) {
+                    Handle handle = (Handle) argument;
+                    references.add(handle.getOwner() + "." + handle.getName() + handle.getDesc());
+                }
+            }
+        }
+
+        @Override
+        public void visitJumpInsn(int opcode, Label label) {
+            body.append(opcode).append(" L").append(label(label)).append(';');
+        }
+
+        @Override
+        public void visitLabel(Label label) {
+            body.append('L').append(label(label)).append(':');
+        }
+
+        @Override
+        public void visitLdcInsn(Object value) {
+            body.append("ldc ").append(value).append(';');
+            // Tests create pages with Pages.create(SomePage.class), which reaches the page's constructor reflectively
+            if (value instanceof Type && ((Type) value).getSort() == Type.OBJECT) {
+                references.add(((Type) value).getInternalName() + ".<init>()V");
+            }
+        }
+
+        @Override
+        public void visitIincInsn(int varIndex, int increment) {
+            body.append("iinc ").append(varIndex).append(' ').append(increment).append(';');
+        }
+
+        @Override
+        public void visitTableSwitchInsn(int min, int max, Label dflt, Label... targets) {
+            body.append("tableswitch ").append(min).append(' ').append(max).append(" L").append(label(dflt));
+            for (Label target : targets) {
+                body.append(" L").append(label(target));
+            }
+            body.append(';');
+        }
+
+        @Override
+        public void visitLookupSwitchInsn(Label dflt, int[] keys, Label[] targets) {
+            body.append("lookupswitch L").append(label(dflt)).append(' ').append(Arrays.toString(keys));
+            for (Label target : targets) {
+                body.append(" L").append(label(target));
+            }
+            body.append(';');
+        }
+
+        @Override
+        public void visitMultiANewArrayInsn(String descriptor, int numDimensions) {
+            body.append("multianewarray ").append(descriptor).append(' ').append(numDimensions).append(';');
+        }
+
+        @Override
+        public void visitTryCatchBlock(Label start, Label end, Label handler, String type) {
+            body.append("try L").append(label(start)).append(" L").append(label(end)).append(" L").append(label(handler))
+                    .append(' ').append(type).append(';');
+        }
+
+        @Override
+        public void visitEnd() {
+            info.hashes.merge(unit, body.toString().hashCode(), (a, b) -> 31 * a + b);
+            info.references.put(unit, references);
+        }
+
+        // Labels are numbered in order of appearance so the text does not depend on object identity
+        private int label(Label label) {
+            return labels.computeIfAbsent(label, key -> labels.size());
+        }
+    }
+
+    // Appends annotation values, so changing e.g. a @Test priority or a @PerformanceBudget counts as a change
+    private static final class AnnotationText extends AnnotationVisitor {
+        private final StringBuilder body;
+
+        AnnotationText(StringBuilder body) {
+            super(Opcodes.ASM9);
+            this.body = body;
+        }
+
+        @Override
+        public void visit(String name, Object value) {
+            body.append(name).append('=').append(Arrays.deepToString(new Object[] { value })).append(',');
+        }
+
+        @Override
+        public void visitEnum(String name, String descriptor, String value) {
+            body.append(name).append('=').append(descriptor).append('.').append(value).append(',');
+        }
+
+        @Override
+        public AnnotationVisitor visitAnnotation(String name, String descriptor) {
+            body.append(name).append("=@").append(descriptor).append(',');
+            return this;
+        }
+
+        @Override
+        public AnnotationVisitor visitArray(String name) {
+            body.append(name).append("=[");
+            return this;
+        }
+
+        @Override
+        public void visitEnd() {
+            body.append(';');
+        }
+    }
+}
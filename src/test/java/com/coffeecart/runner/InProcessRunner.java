@@ -0,0 +1,104 @@
+package com.coffeecart.runner;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.testng.TestNG;
+import org.testng.xml.XmlClass;
+import org.testng.xml.XmlSuite;
+import org.testng.xml.XmlTest;
+import org.testng.xml.internal.Parser;
+
+import com.coffeecart.managers.DriverManager;
+import com.coffeecart.metrics.MetricsRegistry;
+import com.coffeecart.metrics.PerformanceBaseline;
+import com.coffeecart.metrics.RunContext;
+import com.coffeecart.tracing.Tracer;
+import com.coffeecart.utils.LoggerUtil;
+
+/**
+ * Runs TestNG suites inside the current JVM, so a long-lived process (CoffeeCartApp) can run suite after suite
+ * without paying for a Maven and JVM start-up each time. The JIT, loaded classes and the config cache stay warm,
+ * and with driver pooling on, browsers started by one run are cleaned and reused by the next. It lives with the tests
+ * because the suites it runs do; CoffeeCartApp looks it up by name when the test classes are on the classpath.
+ */
+public class InProcessRunner {
+
+    public static final String ALL_BROWSERS_SUITE = "testng-optimized.xml";
+    public static final String CHROME_SUITE = "testng-chrome-only.xml";
+    public static final String FIREFOX_SUITE = "testng-firefox-only.xml";
+
+    private static final String OUTPUT_DIRECTORY = "test-output";
+
+    // Runs the given suite file, optionally keeping only the named test classes (simple names, e.g. CartTests).
+    // Returns TestNG's exit status, 0 when everything passed.
+    public static synchronized int run(String suiteFile, String... testClasses) {
+        List<XmlSuite> suites = parse(suiteFile);
+        if (testClasses.length > 0) {
+            suites.forEach(suite -> keepClasses(suite, Arrays.asList(testClasses)));
+        }
+        return run(suites, suiteFile + (testClasses.length > 0 ? " " + Arrays.toString(testClasses) : ""));
+    }
+
+    // Runs already prepared suites; the description only appears in the log
+    public static synchronized int run(List<XmlSuite> suites, String description) {
+        // Each run gets its own id and starts with empty in-memory metrics, like a fresh Maven run would
+        RunContext.startNewRun();
+        MetricsRegistry.reset();
+        PerformanceBaseline.reset();
+        Tracer.reset();
+
+        TestNG testNG = new TestNG();
+        testNG.setXmlSuites(suites);
+        testNG.setOutputDirectory(OUTPUT_DIRECTORY);
+        LoggerUtil.info("Running {} in-process as run {}", description, RunContext.getRunId());
+
+        long start = System.nanoTime();
+        try {
+            testNG.run();
+        } catch (RuntimeException e) {
+            // A failing suite listener (e.g. the regression gate) fails the run but must not end the process
+            LoggerUtil.error("Run {} failed: {}", RunContext.getRunId(), e.getMessage());
+            return 1;
+        }
+        LoggerUtil.info("Run {} finished in {}s with status {}", RunContext.getRunId(),
+                TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - start), testNG.getStatus());
+        return testNG.getStatus();
+    }
+
+    // Quits the browsers kept between runs
+    public static void shutdown() {
+        DriverManager.quitPooledDrivers();
+    }
+
+    static List<XmlSuite> parse(String suiteFile) {
+        try {
+            return new Parser(suiteFile).parseToList();
+        } catch (Exception e) {
+            throw new IllegalStateException("Failed to read suite file " + suiteFile, e);
+        }
+    }
+
+    // Keeps the named classes in every <test> block and drops blocks left without classes
+    private static void keepClasses(XmlSuite suite, List<String> simpleNames) {
+        Iterator<XmlTest> tests = suite.getTests().iterator();
+        while (tests.hasNext()) {
+            XmlTest test = tests.next();
+            List<XmlClass> kept = test.getXmlClasses().stream()
+                    .filter(xmlClass -> simpleNames.contains(simpleName(xmlClass.getName())))
+                    .collect(Collectors.toList());
+            if (kept.isEmpty()) {
+                tests.remove();
+            } else {
+                test.setXmlClasses(kept);
+            }
+        }
+    }
+
+    private static String simpleName(String className) {
+        return className.substring(className.lastIndexOf('.') + 1);
+    }
+}
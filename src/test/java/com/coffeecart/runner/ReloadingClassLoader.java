@@ -0,0 +1,52 @@
+package com.coffeecart.runner;
+
+import java.net.URL;
+import java.net.URLClassLoader;
+
+/**
+ * Loads the page objects and test classes from the output directories again instead of asking the parent, so a
+ * watch-mode rerun sees the classes that were just recompiled. Everything else (drivers, config, metrics, listeners)
+ * comes from the parent and keeps its state. BaseTest stays with the parent because TestListener casts to it.
+ */
+final class ReloadingClassLoader extends URLClassLoader {
+
+    private static final String[] RELOADED_PACKAGES = { "com.coffeecart.pages.", "com.coffeecart.tests." };
+    static final String BASE_TEST = "com.coffeecart.tests.BaseTest";
+
+    ReloadingClassLoader(URL[] outputDirectories, ClassLoader parent) {
+        super(outputDirectories, parent);
+    }
+
+    @Override
+    protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+        if (!isReloaded(name)) {
+            return super.loadClass(name, resolve);
+        }
+        synchronized (getClassLoadingLock(name)) {
+            Class<?> type = findLoadedClass(name);
+            if (type == null) {
+                try {
+                    type = findClass(name);
+                } catch (ClassNotFoundException e) {
+                    type = super.loadClass(name, false);
+                }
+            }
+            if (resolve) {
+                resolveClass(type);
+            }
+            return type;
+        }
+    }
+
+    static boolean isReloaded(String className) {
+        if (BASE_TEST.equals(className)) {
+            return false;
+        }
+        for (String prefix : RELOADED_PACKAGES) {
+            if (className.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,270 @@
+package com.coffeecart.runner;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+
+import org.testng.xml.XmlClass;
+import org.testng.xml.XmlInclude;
+import org.testng.xml.XmlSuite;
+import org.testng.xml.XmlTest;
+
+import com.coffeecart.managers.DriverManager;
+import com.coffeecart.utils.LoggerUtil;
+
+/**
+ * Watch mode: recompiles edited page objects and test classes inside this JVM and reruns only the test methods
+ * that reach a changed method or locator, on a browser kept open between runs.
+ * Start with mvn test-compile exec:java -P watch (optionally -Dexec.args=testng-firefox-only.xml).
+ */
+public class TestWatcher {
+
+    private static final Path PAGE_SOURCES = Paths.get("src/main/java/com/coffeecart/pages");
+    private static final Path TEST_SOURCES = Paths.get("src/test/java/com/coffeecart/tests");
+    private static final Path MAIN_CLASSES = Paths.get("target/classes");
+    private static final Path TEST_CLASSES = Paths.get("target/test-classes");
+
+    // Editors save with several file events; changes are collected until the directories stay quiet this long
+    private static final long SETTLE_MILLIS = 200;
+
+    private final String suiteFile;
+    private final BytecodeIndex index = new BytecodeIndex();
+
+    public TestWatcher(String suiteFile) {
+        this.suiteFile = suiteFile;
+    }
+
+    public static void main(String[] args) throws Exception {
+        DriverManager.setPooling(true);
+        Runtime.getRuntime().addShutdownHook(new Thread(InProcessRunner::shutdown));
+        new TestWatcher(args.length > 0 ? args[0] : InProcessRunner.CHROME_SUITE).watch();
+    }
+
+    public void watch() throws IOException, InterruptedException {
+        index.indexAll(outputDirectory(PAGE_SOURCES));
+        index.indexAll(outputDirectory(TEST_SOURCES));
+        openBrowser();
+
+        try (WatchService watcher = FileSystems.getDefault().newWatchService()) {
+            PAGE_SOURCES.register(watcher, ENTRY_CREATE, ENTRY_MODIFY);
+            TEST_SOURCES.register(watcher, ENTRY_CREATE, ENTRY_MODIFY);
+            LoggerUtil.info("Watching {} and {}; affected tests run from {}", PAGE_SOURCES, TEST_SOURCES, suiteFile);
+            while (true) {
+                Set<Path> sources = new LinkedHashSet<>();
+                collect(watcher.take(), sources);
+                WatchKey key;
+                while ((key = watcher.poll(SETTLE_MILLIS, TimeUnit.MILLISECONDS)) != null) {
+                    collect(key, sources);
+                }
+                if (!sources.isEmpty()) {
+                    rerun(sources);
+                }
+            }
+        }
+    }
+
+    // Recompiles the edited sources, works out the affected test methods and runs them
+    void rerun(Set<Path> sources) {
+        long start = System.nanoTime();
+        LoggerUtil.info("Changed: {}", sources.stream().map(Path::getFileName).collect(Collectors.toList()));
+
+        List<Path> pages = sources.stream().filter(path -> path.startsWith(PAGE_SOURCES)).collect(Collectors.toList());
+        List<Path> tests = sources.stream().filter(path -> path.startsWith(TEST_SOURCES)).collect(Collectors.toList());
+        // Pages first, so edited tests compile against the edited pages
+        if (!compile(pages, MAIN_CLASSES) || !compile(tests, TEST_CLASSES)) {
+            return;
+        }
+
+        Set<String> changed = new LinkedHashSet<>();
+        for (Path source : sources) {
+            if (ReloadingClassLoader.BASE_TEST.endsWith("." + source.getFileName().toString().replaceFirst("\\.java$", ""))) {
+                LoggerUtil.warn("BaseTest changed; restart the watcher to pick it up");
+            }
+            for (Path classFile : classFiles(source)) {
+                changed.addAll(index.reindex(classFile));
+            }
+        }
+        if (changed.isEmpty()) {
+            LoggerUtil.info("No code or locator changes after recompiling, nothing to run");
+            return;
+        }
+
+        Map<String, Set<String>> selection = select(changed);
+        if (selection.isEmpty()) {
+            LoggerUtil.info("No test reaches the {} changed methods and fields", changed.size());
+            return;
+        }
+        LoggerUtil.info("Rerunning {}", selection);
+
+        ClassLoader previous = Thread.currentThread().getContextClassLoader();
+        try (URLClassLoader loader = new ReloadingClassLoader(outputUrls(), TestWatcher.class.getClassLoader())) {
+            Thread.currentThread().setContextClassLoader(loader);
+            InProcessRunner.run(suites(selection, loader), "affected tests");
+        } catch (IOException | ClassNotFoundException e) {
+            LoggerUtil.error("Failed to load the recompiled classes: {}", e.getMessage());
+        } finally {
+            Thread.currentThread().setContextClassLoader(previous);
+        }
+        LoggerUtil.info("Edit to result in {} ms", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    // Affected test methods per test class; classes marked @PreserveOrder build on earlier tests and rerun whole
+    private Map<String, Set<String>> select(Set<String> changed) {
+        Map<String, Set<String>> selection = new LinkedHashMap<>();
+        for (BytecodeIndex.ClassInfo testClass : index.classes()) {
+            if (testClass.testMethods.isEmpty() || !ReloadingClassLoader.isReloaded(testClass.className())) {
+                continue;
+            }
+            Set<String> affected = index.affectedTests(testClass, changed);
+            if (!affected.isEmpty()) {
+                selection.put(testClass.className(), testClass.preserveOrder ? Set.of() : affected);
+            }
+        }
+        return selection;
+    }
+
+    // The watched suite file narrowed to the selected methods, with classes taken from the reloading loader
+    private List<XmlSuite> suites(Map<String, Set<String>> selection, ClassLoader loader) throws ClassNotFoundException {
+        List<XmlSuite> suites = InProcessRunner.parse(suiteFile);
+        for (XmlSuite suite : suites) {
+            Iterator<XmlTest> tests = suite.getTests().iterator();
+            while (tests.hasNext()) {
+                XmlTest test = tests.next();
+                List<XmlClass> classes = new ArrayList<>();
+                for (XmlClass declared : test.getXmlClasses()) {
+                    Set<String> methods = selection.get(declared.getName());
+                    if (methods == null) {
+                        continue;
+                    }
+                    XmlClass xmlClass = new XmlClass(loader.loadClass(declared.getName()), false);
+                    if (!methods.isEmpty()) {
+                        xmlClass.setIncludedMethods(methods.stream().map(XmlInclude::new).collect(Collectors.toList()));
+                    }
+                    classes.add(xmlClass);
+                }
+                if (classes.isEmpty()) {
+                    tests.remove();
+                } else {
+                    test.setXmlClasses(classes);
+                }
+            }
+        }
+        return suites;
+    }
+
+    private boolean compile(List<Path> sources, Path outputDirectory) {
+        if (sources.isEmpty()) {
+            return true;
+        }
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        if (compiler == null) {
+            throw new IllegalStateException("Watch mode recompiles sources and needs to run on a JDK");
+        }
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        try (StandardJavaFileManager files = compiler.getStandardFileManager(diagnostics, null, StandardCharsets.UTF_8)) {
+            List<String> options = Arrays.asList("-d", outputDirectory.toString(), "-classpath", classpath(), "-proc:none");
+            if (compiler.getTask(null, files, diagnostics, options, null, files.getJavaFileObjectsFromPaths(sources)).call()) {
+                return true;
+            }
+        } catch (IOException e) {
+            LoggerUtil.error("Failed to compile {}: {}", sources, e.getMessage());
+            return false;
+        }
+        for (Diagnostic<? extends JavaFileObject> diagnostic : diagnostics.getDiagnostics()) {
+            if (diagnostic.getKind() == Diagnostic.Kind.ERROR) {
+                LoggerUtil.error("{}:{}: {}", diagnostic.getSource() == null ? "" : diagnostic.getSource().getName(),
+                        diagnostic.getLineNumber(), diagnostic.getMessage(null));
+            }
+        }
+        LoggerUtil.warn("Compilation failed, waiting for the next change");
+        return false;
+    }
+
+    // Under exec:java the application classpath lives in the context class loader, not in java.class.path
+    private static String classpath() {
+        Set<String> entries = new LinkedHashSet<>(Arrays.asList(MAIN_CLASSES.toString(), TEST_CLASSES.toString()));
+        ClassLoader loader = Thread.currentThread().getContextClassLoader();
+        if (loader instanceof URLClassLoader) {
+            for (URL url : ((URLClassLoader) loader).getURLs()) {
+                entries.add(url.getPath());
+            }
+        }
+        entries.addAll(Arrays.asList(System.getProperty("java.class.path").split(File.pathSeparator)));
+        return String.join(File.pathSeparator, entries);
+    }
+
+    // Outer class plus its nested and anonymous classes, e.g. MenuPage.class and MenuPage$1.class
+    private static List<Path> classFiles(Path source) {
+        String name = source.getFileName().toString().replaceFirst("\\.java$", "");
+        List<Path> classFiles = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(outputDirectory(source.getParent()),
+                file -> file.getFileName().toString().equals(name + ".class") || file.getFileName().toString().startsWith(name + "$"))) {
+            files.forEach(classFiles::add);
+        } catch (IOException e) {
+            LoggerUtil.warn("Failed to list classes of {}: {}", source, e.getMessage());
+        }
+        return classFiles;
+    }
+
+    private static Path outputDirectory(Path sourceDirectory) {
+        return sourceDirectory.startsWith(PAGE_SOURCES)
+                ? MAIN_CLASSES.resolve(Paths.get("src/main/java").relativize(sourceDirectory))
+                : TEST_CLASSES.resolve(Paths.get("src/test/java").relativize(sourceDirectory));
+    }
+
+    private static URL[] outputUrls() throws MalformedURLException {
+        return new URL[] { MAIN_CLASSES.toUri().toURL(), TEST_CLASSES.toUri().toURL() };
+    }
+
+    private static void collect(WatchKey key, Set<Path> sources) {
+        Path directory = (Path) key.watchable();
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.context() instanceof Path && event.context().toString().endsWith(".java")) {
+                sources.add(directory.resolve((Path) event.context()));
+            }
+        }
+        key.reset();
+    }
+
+    // Starts the browser of the watched suite up front so the first rerun does not pay for it
+    private void openBrowser() {
+        String browser = InProcessRunner.parse(suiteFile).get(0).getTests().get(0).getParameter("browser");
+        try {
+            DriverManager.getDriver(browser);
+            DriverManager.closeDriver();
+        } catch (RuntimeException e) {
+            LoggerUtil.warn("Could not open {} ahead of the first run: {}", browser, e.getMessage());
+        }
+    }
+}
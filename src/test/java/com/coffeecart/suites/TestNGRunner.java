@@ -1,6 +1,7 @@
 package com.coffeecart.suites;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 import org.testng.TestNG;
@@ -10,8 +11,10 @@ import org.testng.TestNG;
 public class TestNGRunner {
     public static void main(String[] args) {
         TestNG testNG = new TestNG();
-        List<String> suites = new ArrayList<>();
-        suites.add("src/test/resources/testng.xml");
+        List<String> suites = new ArrayList<>(Arrays.asList(args));
+        if (suites.isEmpty()) {
+            suites.add("testng-optimized.xml");
+        }
         testNG.setTestSuites(suites);
         testNG.run();
     }
@@ -1,26 +1,43 @@
 package com.coffeecart.tests;
 
-import java.time.Duration;
+import java.lang.reflect.Method;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 import org.openqa.selenium.WebDriver;
+import org.testng.IHookCallBack;
+import org.testng.IHookable;
+import org.testng.ITestResult;
 import org.testng.annotations.AfterClass;
 import org.testng.annotations.AfterMethod;
 import org.testng.annotations.AfterSuite;
+import org.testng.annotations.AfterTest;
 import org.testng.annotations.BeforeClass;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Optional;
 import org.testng.annotations.Parameters;
 
+import com.coffeecart.fixtures.RequiresState;
+import com.coffeecart.fixtures.StateFixtures;
 import com.coffeecart.managers.ConfigManager;
+import com.coffeecart.managers.ConfigOverride;
+import com.coffeecart.metrics.NavigationTiming;
+import com.coffeecart.metrics.RunContext;
 import com.coffeecart.managers.DriverManager;
 import com.coffeecart.utils.LoggerUtil;
 
 //Base class for all test classes providing common setup, teardown, and utility methods.
+//@RequiresState states are built here, in @BeforeMethod, so they also work when a class is run from the IDE or with
+//-Dtest= and their build time is not part of the test's duration or budget. FixtureScheduler (suite files only)
+//just orders the tests so that states are shared.
 
-public class BaseTest {
-    protected static WebDriver driver;
+public class BaseTest implements IHookable {
+    // The browser of the current lane: each <test> block runs on its own thread, and DriverManager keeps one
+    // driver per thread, so Chrome and Firefox lanes can run side by side (testng-matrix.xml)
+    private static final String FIXTURE_FAILURE = "fixtureFailure";
+
+    protected WebDriver driver;
     protected String browserType;
-    private static boolean isInitialized = false;
 
     // Sets up the browser and navigates to the application
     @Parameters("browser")
@@ -28,17 +45,17 @@ public class BaseTest {
     public void setupClass(@Optional("chrome") String browserParam) {
         try {
             browserType = browserParam.trim().toLowerCase();
-            if (!isInitialized) {
-                if (driver != null) {
-                    DriverManager.closeDriver();
-                }
-                driver = DriverManager.getDriver(browserType);
+            RunContext.setBrowser(browserType);
+            RunContext.setCurrentTest(getClass().getSimpleName() + ".setupClass");
+            ConfigManager.useBrowserProfile(browserType);
+            boolean newSession = !DriverManager.hasDriver();
+            driver = DriverManager.getDriver(browserType);
+            if (newSession) {
                 driver.manage().window().maximize();
-                driver.manage().timeouts().implicitlyWait(Duration.ofSeconds(ConfigManager.getImplicitWait()));
-                driver.manage().timeouts().pageLoadTimeout(Duration.ofSeconds(ConfigManager.getPageLoadTimeout()));
+                driver.manage().timeouts().implicitlyWait(ConfigManager.snapshot().getImplicitWait());
+                driver.manage().timeouts().pageLoadTimeout(ConfigManager.snapshot().getPageLoadTimeout());
 
                 navigateWithRetry();
-                isInitialized = true;
             }
 
             LoggerUtil.info("Test setup has been initialized with browser: " + browserType);
@@ -62,6 +79,7 @@ public class BaseTest {
                         + maxRetries + ")");
                 driver.get(ConfigManager.getBaseUrl());
                 LoggerUtil.info("Successfully navigated to the coffee cart application");
+                NavigationTiming.capture(driver, "initial");
                 return;
             } catch (Exception e) {
                 LoggerUtil.error("Navigation attempt " + (i + 1) + " has been failed: " + e.getMessage());
@@ -77,16 +95,48 @@ public class BaseTest {
         }
     }
 
-    // Runs before each test method
+    // Runs before each test method, applies any @ConfigOverride values for this test only and prepares its @RequiresState
     @BeforeMethod(alwaysRun = true)
-    public void setupMethod() {
-        // Override in subclasses if specific setup is needed
+    public void setupMethod(Method method, ITestResult result) {
+        RunContext.setCurrentTest(getClass().getSimpleName() + "." + method.getName());
+        ConfigOverride[] overrides = method.getAnnotationsByType(ConfigOverride.class);
+        if (overrides.length > 0) {
+            Map<String, String> values = new LinkedHashMap<>();
+            for (ConfigOverride override : overrides) {
+                values.put(override.key(), override.value());
+            }
+            ConfigManager.setThreadOverrides(values);
+            LoggerUtil.info("Applied configuration overrides for " + method.getName() + ": " + values);
+        }
+        RequiresState requires = method.getAnnotation(RequiresState.class);
+        if (requires != null) {
+            try {
+                StateFixtures.ensure(getClass(), requires.value());
+            } catch (RuntimeException e) {
+                // Thrown from the test instead, so a failed build fails this test only rather than skipping the class
+                result.setAttribute(FIXTURE_FAILURE, e);
+            }
+        }
+    }
+
+    // Fails the test without running it when its state could not be built
+    @Override
+    public void run(IHookCallBack callBack, ITestResult result) {
+        RuntimeException failure = (RuntimeException) result.getAttribute(FIXTURE_FAILURE);
+        if (failure != null) {
+            result.removeAttribute(FIXTURE_FAILURE);
+            throw failure;
+        }
+        callBack.runTestMethod(result);
     }
 
     // Runs after each test method for cleanup like closing popups or resetting state
     @AfterMethod(alwaysRun = true)
-    public void tearDownMethod() {
-        // Override in subclasses if specific cleanup is needed
+    public void tearDownMethod(Method method, ITestResult result) {
+        ConfigManager.clearThreadOverrides();
+        RequiresState requires = method.getAnnotation(RequiresState.class);
+        // Only a passed test that promised not to change the page leaves its state for the next one
+        StateFixtures.finish(requires != null && !requires.mutates() && result.isSuccess());
     }
 
     // Logs completion of test class execution for the current browser
@@ -95,15 +145,25 @@ public class BaseTest {
         LoggerUtil.info("Test class completed for browser: " + browserType);
     }
 
-    // Closes all browser instances and cleans up resources
+    // Closes the lane's browser once every class of its <test> block has run, so the next block starts its own
+    @AfterTest(alwaysRun = true)
+    public void tearDownLane() {
+        try {
+            DriverManager.closeDriver();
+            driver = null;
+            LoggerUtil.info("Browser session closed after the " + browserType + " tests");
+        } catch (Exception e) {
+            LoggerUtil.error("Failed to close browser session: " + e.getMessage());
+        } finally {
+            RunContext.clearBrowser();
+        }
+    }
+
+    // Closes a browser still open on the suite thread and cleans up resources
     @AfterSuite(alwaysRun = true)
     public static void tearDownSuite() {
         try {
-            if (driver != null) {
-                DriverManager.closeDriver();
-                driver = null;
-            }
-            isInitialized = false;
+            DriverManager.closeDriver();
             LoggerUtil.info("Browser session closed after all tests");
         } catch (Exception e) {
             LoggerUtil.error("Failed to close browser session: " + e.getMessage());
@@ -5,16 +5,21 @@ import org.testng.annotations.AfterClass;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 
+import com.coffeecart.listeners.PreserveOrder;
 import com.coffeecart.managers.ConfigManager;
 import com.coffeecart.managers.DriverManager;
+import com.coffeecart.metrics.PerformanceBudget;
 import com.coffeecart.pages.CartPage;
 import com.coffeecart.pages.CheckoutPage;
 import com.coffeecart.pages.MenuPage;
+import com.coffeecart.pages.Pages;
 import com.coffeecart.utils.LoggerUtil;
 
 //Tests shopping cart functionality including item addition, quantity management, and cart operations.
 //Includes browser-specific handling for Firefox hover limitations.
+//Tests build on each other's cart state (the first one expects an empty cart), so they keep their priority order.
 
+@PreserveOrder
 public class CartTests extends BaseTest {
     private CartPage cartPage;
     private MenuPage menuPage;
@@ -24,9 +29,9 @@ public class CartTests extends BaseTest {
 
     @BeforeMethod
     public void setup() {
-        cartPage = new CartPage();
-        menuPage = new MenuPage();
-        checkoutPage = new CheckoutPage();
+        cartPage = Pages.create(CartPage.class);
+        menuPage = Pages.create(MenuPage.class);
+        checkoutPage = Pages.create(CheckoutPage.class);
         menuPage.navigateToMenuPage();
         
         // Ensure clean state for cart page tests
@@ -65,6 +70,7 @@ public class CartTests extends BaseTest {
 
     //Add single item to cart
     @Test(priority = 2, description = "Verify single item addition to cart", groups = {"cart"})
+    @PerformanceBudget(maxMillis = 10000)
     public void testAddSingleItemToCart() {
         String testItem = ConfigManager.getTestCoffeeItem();
         int testQuantity = 1;
@@ -76,6 +82,7 @@ public class CartTests extends BaseTest {
 
     //Add multiple quantity
     @Test(priority = 3, description = "Verify multiple quantity addition", groups = {"cart"})
+    @PerformanceBudget(maxMillis = 12000, browsers = @PerformanceBudget.Browser(name = "firefox", maxMillis = 18000))
     public void testAddMultipleQuantity() {
         String testItem = ConfigManager.getTestCoffeeItem();
         
@@ -86,6 +93,7 @@ public class CartTests extends BaseTest {
 
     //Verifies that cart total calculations are accurate and display properly.
     @Test(priority = 4, description = "Verify cart total calculation", groups = {"cart"})
+    @PerformanceBudget(maxMillis = 12000, browsers = @PerformanceBudget.Browser(name = "firefox", maxMillis = 18000))
     public void testCartTotalCalculation() {
         String testItem = ConfigManager.getTestCoffeeItem();
         
@@ -103,6 +111,7 @@ public class CartTests extends BaseTest {
      * Firefox has known hover limitations in headless mode, so we expect different behavior.
      */
     @Test(priority = 5, description = "Verify cart preview functionality", groups = {"cart"})
+    @PerformanceBudget(maxMillis = 15000, browsers = @PerformanceBudget.Browser(name = "firefox", maxMillis = 55000))
     public void testCartPreview() {
         String testItem = ConfigManager.getTestCoffeeItem();
         
@@ -129,6 +138,7 @@ public class CartTests extends BaseTest {
 
     //Validates the complete cart workflow with special offers and discounted items.
     @Test(priority = 7, groups = {"regression"})
+    @PerformanceBudget(maxMillis = 30000)
     public void testCartOperations() {
         LoggerUtil.info("Starting cart operations sequence");
         Assert.assertTrue(menuPage.addThreeItemsForPromo(ConfigManager.getPromoTriggerItem()), "Promo should be triggered");
@@ -3,70 +3,50 @@ package com.coffeecart.tests;
 import java.util.Map;
 
 import org.testng.Assert;
-import org.testng.ITestResult;
-import org.testng.annotations.AfterMethod;
+import org.testng.annotations.AfterClass;
 import org.testng.annotations.BeforeClass;
-import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 
 import com.coffeecart.data.TestDataProvider;
+import com.coffeecart.fixtures.AppState;
+import com.coffeecart.fixtures.RequiresState;
 import com.coffeecart.managers.ConfigManager;
 import com.coffeecart.pages.CheckoutPage;
-import com.coffeecart.pages.MenuPage;
+import com.coffeecart.pages.Pages;
 import com.coffeecart.utils.ExcelUtil;
-import com.coffeecart.utils.ScreenshotUtil;
 
 //Tests checkout form functionality including customer details entry, validation, and order submission.
 
 public class CheckoutTests extends BaseTest {
     private CheckoutPage checkoutPage;
-    private MenuPage menuPage;
 
 
     @BeforeClass
     public void classSetup() {
-        checkoutPage = new CheckoutPage();
-        menuPage = new MenuPage();
+        checkoutPage = Pages.create(CheckoutPage.class);
     }
     
 
-    @BeforeMethod
-    public void setup() {
+    // Leaves the menu usable for the next class of the lane; tests share the open form, so it is closed only here
+    @AfterClass
+    public void classCleanup() {
         try {
             if (checkoutPage.ischeckoutFormdisplayed()) {
                 checkoutPage.closeCheckout();
             }
         } catch (Exception e) {
         }
-        menuPage.navigateToMenuPage();
-        String testItem = ConfigManager.getTestCoffeeItem();
-        int testQuantity = 1;
-        
-        menuPage.addItemToCart(testItem, testQuantity);
-        menuPage.clickTotalButton();
-    }
-
-
-    @AfterMethod
-    public void tearDown(ITestResult result) {
-        try {
-            if (checkoutPage.ischeckoutFormdisplayed()) {
-                checkoutPage.closeCheckout();
-            }
-        } catch (Exception e) {
-        }
-        if (result.getStatus() == ITestResult.FAILURE) {
-            ScreenshotUtil.captureScreenshot(driver, result.getName());
-        }
     }
 
     @Test(priority = 1)
+    @RequiresState(value = AppState.CHECKOUT_OPEN, mutates = false)
     public void testCheckoutFormDisplay() {
         boolean isDisplayed = checkoutPage.ischeckoutFormdisplayed();
         Assert.assertTrue(isDisplayed, "Checkout form should be displayed after clicking the total button");
     }
 
     @Test(priority = 2)
+    @RequiresState(value = AppState.CHECKOUT_OPEN, mutates = false)
     public void testInitialFormState() {
         boolean isInitialState = checkoutPage.isFormInInitialState();
         boolean areFieldsEmpty = checkoutPage.isEmptyField();
@@ -76,6 +56,7 @@ public class CheckoutTests extends BaseTest {
     }
 
     @Test(priority = 3)
+    @RequiresState(AppState.CHECKOUT_OPEN)
     public void testEnterCustomerDetails() {
         Map<String, String> testData = ExcelUtil.getTestData("resources/testdata.csv", "TestData", "testEnterCustomerDetails");
         String testName = testData.getOrDefault("Name", ConfigManager.getDefaultTestName());
@@ -93,6 +74,7 @@ public class CheckoutTests extends BaseTest {
     }
 
     @Test(priority = 4)
+    @RequiresState(AppState.CHECKOUT_OPEN)
     public void testPromoOfferToggle() {
         boolean initialState = checkoutPage.isPromoOfferSelected();
         Assert.assertFalse(initialState, "Promo offer should be unchecked initially");
@@ -107,6 +89,7 @@ public class CheckoutTests extends BaseTest {
     }
 
     @Test(priority = 5)
+    @RequiresState(AppState.CHECKOUT_OPEN)
     public void testEmailValidation() {
         String invalidEmail = "invalid-email-format";
         checkoutPage.enterEmailid(invalidEmail);
@@ -118,6 +101,7 @@ public class CheckoutTests extends BaseTest {
     }
 
     @Test(priority = 6)
+    @RequiresState(AppState.CHECKOUT_OPEN)
     public void testFillPaymentForm() {
         Map<String, String> testData = ExcelUtil.getTestData("resources/testdata.csv", "TestData", "testFillPaymentForm");
         String testName = testData.getOrDefault("Name", ConfigManager.getDefaultTestName());
@@ -132,6 +116,7 @@ public class CheckoutTests extends BaseTest {
     }
 
     @Test(priority = 7)
+    @RequiresState(AppState.CHECKOUT_OPEN)
     public void testSubmitButtonState() {
         checkoutPage.fillPaymentForm(ConfigManager.getDefaultTestName(), ConfigManager.getDefaultTestEmail(), false);
         boolean afterFilling = checkoutPage.isSubmitButtonEnabled();
@@ -139,6 +124,7 @@ public class CheckoutTests extends BaseTest {
     }
 
     @Test(priority = 8)
+    @RequiresState(value = AppState.CHECKOUT_OPEN, mutates = false)
     public void testGetTotalAmount() {
         String totalAmount = checkoutPage.getTotalAmount();
         Assert.assertFalse(totalAmount.isEmpty(), "Total amount should not be empty");
@@ -149,6 +135,7 @@ public class CheckoutTests extends BaseTest {
     }
 
     @Test(priority = 9)
+    @RequiresState(AppState.CHECKOUT_OPEN)
     public void testPlaceOrder() {
         Map<String, String> testData = ExcelUtil.getTestData("resources/testdata.csv", "TestData", "testPlaceOrder");
         String testName = testData.getOrDefault("Name", ConfigManager.getDefaultTestName());
@@ -161,6 +148,7 @@ public class CheckoutTests extends BaseTest {
     }
 
     @Test(priority = 10, dataProvider = "userDetails", dataProviderClass = TestDataProvider.class)
+    @RequiresState(AppState.CHECKOUT_OPEN)
     public void testUserDetailsWithDataProvider(String userName, String userEmail) {
         checkoutPage.enterCustomername(userName);
         checkoutPage.enterEmailid(userEmail);
@@ -174,6 +162,7 @@ public class CheckoutTests extends BaseTest {
     }
 
     @Test(priority = 11, dataProvider = "csvUserData", dataProviderClass = TestDataProvider.class)
+    @RequiresState(AppState.CHECKOUT_OPEN)
     public void testUserDetailsFromCsv(String userName, String userEmail) {
         checkoutPage.enterCustomername(userName);
         checkoutPage.enterEmailid(userEmail);
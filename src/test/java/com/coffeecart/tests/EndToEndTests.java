@@ -1,14 +1,20 @@
 package com.coffeecart.tests;
 
+import java.util.Locale;
 import java.util.Map;
 
 import org.testng.Assert;
 import org.testng.annotations.BeforeClass;
 import org.testng.annotations.Test;
 
+import com.coffeecart.data.TestDataProvider;
+import com.coffeecart.fixtures.AppState;
+import com.coffeecart.fixtures.RequiresState;
 import com.coffeecart.managers.ConfigManager;
+import com.coffeecart.metrics.PerformanceBudget;
 import com.coffeecart.pages.CheckoutPage;
 import com.coffeecart.pages.MenuPage;
+import com.coffeecart.pages.Pages;
 import com.coffeecart.utils.ExcelUtil;
 import com.coffeecart.utils.LoggerUtil;
 
@@ -20,11 +26,12 @@ public class EndToEndTests extends BaseTest {
 
     @BeforeClass
     public void classSetup() {
-        menuPage = new MenuPage();
-        checkoutPage = new CheckoutPage();
+        menuPage = Pages.create(MenuPage.class);
+        checkoutPage = Pages.create(CheckoutPage.class);
     }
 
     @Test(description = "Complete end-to-end coffee ordering workflow", groups = {"regression"})
+    @PerformanceBudget(maxMillis = 30000, browsers = @PerformanceBudget.Browser(name = "firefox", maxMillis = 45000))
     public void testCompleteOrderWorkflow() {
         LoggerUtil.info("Starting complete order to check workflow test");
 
@@ -90,4 +97,24 @@ public class EndToEndTests extends BaseTest {
 
         LoggerUtil.info(" successfully completed end-to-end workflow test");
     }
-}
\ No newline at end of file
+
+    //Places one order per row of the covering set of coffee, quantity, customer and promo opt-in
+    @Test(description = "Order combinations of coffee, quantity, customer and promo", groups = {"regression"},
+            dataProvider = "orderCombinations", dataProviderClass = TestDataProvider.class)
+    @RequiresState(AppState.MENU)
+    public void testOrderCombinations(String coffeeName, double price, int quantity, String customerName,
+            String customerEmail, boolean promo) {
+        menuPage.addItemToCart(coffeeName, quantity);
+        menuPage.clickTotalButton();
+        Assert.assertTrue(checkoutPage.ischeckoutFormdisplayed(), "Checkout form should be displayed");
+
+        String expectedTotal = String.format(Locale.US, "$%.2f", price * quantity);
+        Assert.assertTrue(checkoutPage.getTotalAmount().contains(expectedTotal),
+                "Checkout total should be " + expectedTotal + " for " + quantity + " " + coffeeName);
+
+        checkoutPage.fillPaymentForm(customerName, customerEmail, promo);
+        Assert.assertEquals(checkoutPage.isPromoOfferSelected(), promo, "Promo opt-in should match the combination");
+        checkoutPage.placeOrder();
+        Assert.assertFalse(checkoutPage.ischeckoutFormdisplayed(), "Checkout form should close after placing order");
+    }
+}
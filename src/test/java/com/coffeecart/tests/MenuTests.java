@@ -11,10 +11,13 @@ import org.testng.annotations.Listeners;
 import org.testng.annotations.Test;
 
 import com.coffeecart.data.TestDataProvider;
+import com.coffeecart.fixtures.AppState;
+import com.coffeecart.fixtures.RequiresState;
 import com.coffeecart.listeners.TestListener;
 import com.coffeecart.managers.ConfigManager;
 import com.coffeecart.managers.DriverManager;
 import com.coffeecart.pages.MenuPage;
+import com.coffeecart.pages.Pages;
 import com.coffeecart.utils.LoggerUtil;
 
 //Test the functionalities related to menu page
@@ -28,7 +31,7 @@ public class MenuTests extends BaseTest {
 
     @BeforeMethod
     public void setup() {
-        menuPage = new MenuPage();
+        menuPage = Pages.create(MenuPage.class);
     }
     
 
@@ -183,11 +186,8 @@ public class MenuTests extends BaseTest {
 
     //Check the special promo offer is displaying
     @Test(priority = 16, description = "Verify special promo text and image", groups = {"non-functional"})
+    @RequiresState(value = AppState.PROMO_VISIBLE, mutates = false)
     public void testSpecialPromoDisplay() {
-        resetCartIfNeeded();
-        String promoItem = ConfigManager.getPromoTriggerItem();
-        Assert.assertTrue(menuPage.addThreeItemsForPromo(promoItem),
-                "Failed to trigger special promo");
         Assert.assertTrue(menuPage.isSpecialOfferTextDisplayed(),
                 "Special promo text not displayed correctly");
         Assert.assertTrue(menuPage.isSpecialOfferImageDisplayed(),
@@ -196,10 +196,8 @@ public class MenuTests extends BaseTest {
 
     //Verify if the offer is able to accept
     @Test(priority = 17, description = "Verify special promo acceptance")
+    @RequiresState(AppState.PROMO_VISIBLE)
     public void testSpecialPromoAcceptance() {
-        resetCartIfNeeded();
-        String promoItem = ConfigManager.getPromoTriggerItem();
-        Assert.assertTrue(menuPage.addThreeItemsForPromo(promoItem), "Failed to trigger special promo");
         Assert.assertTrue(menuPage.isAcceptOfferClickable(), "Accept offer button not clickable");
         menuPage.acceptPromoOffer();
         Assert.assertTrue(menuPage.isSpecialOfferGone(), "Special promo still displayed after accepting");
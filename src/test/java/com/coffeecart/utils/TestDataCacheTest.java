@@ -0,0 +1,82 @@
+package com.coffeecart.utils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+//Unit tests for the compiled, memory-mapped test data cache; no browser involved.
+
+public class TestDataCacheTest {
+
+    private Path csv;
+
+    @BeforeClass
+    public void writeCsv() throws IOException {
+        csv = Files.createTempFile("testdatacachetest", ".csv");
+        Files.write(csv, String.join("\n",
+                "# CoffeeData",
+                "name, price",
+                "Espresso, $10.00",
+                "Café Latte, $16.00",
+                "",
+                "# UserData, unused trailing column",
+                "name,email",
+                "Jeevan,jeevan@example.com").getBytes(StandardCharsets.UTF_8));
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void deleteFiles() throws IOException {
+        String baseName = csv.getFileName().toString().replace(".csv", "");
+        Path cacheDirectory = Paths.get("target/testdata-cache");
+        if (Files.isDirectory(cacheDirectory)) {
+            try (DirectoryStream<Path> compiled = Files.newDirectoryStream(cacheDirectory, baseName + "-*.bin")) {
+                for (Path file : compiled) {
+                    Files.deleteIfExists(file);
+                }
+            }
+        }
+        Files.deleteIfExists(csv);
+    }
+
+    @Test(description = "Sheets, headers and rows read back from the compiled file as they were in the CSV")
+    public void roundTripsEverySheet() {
+        TestDataCache cache = TestDataCache.forCsv(csv.toString());
+
+        TestDataCache.Sheet coffee = cache.sheet("CoffeeData");
+        Assert.assertEquals(coffee.getHeaders(), new String[] { "name", "price" });
+        Assert.assertEquals(coffee.getRowCount(), 2);
+        Assert.assertEquals(coffee.getRow(0), new String[] { "Espresso", "$10.00" });
+        Assert.assertEquals(coffee.getRow(1), new String[] { "Café Latte", "$16.00" });
+
+        TestDataCache.Sheet users = cache.sheet("UserData");
+        Assert.assertEquals(users.getRowCount(), 1);
+        Assert.assertEquals(users.getRow(0), new String[] { "Jeevan", "jeevan@example.com" });
+        Assert.assertNull(cache.sheet("Missing"));
+    }
+
+    @Test(description = "findRow matches the first column and reports -1 when nothing matches")
+    public void findsRowsByKey() {
+        TestDataCache.Sheet coffee = TestDataCache.forCsv(csv.toString()).sheet("CoffeeData");
+
+        Assert.assertEquals(coffee.findRow("Café Latte"), 1);
+        Assert.assertEquals(coffee.findRow("Mocha"), -1);
+    }
+
+    @Test(description = "Rows outside the sheet are rejected", expectedExceptions = IndexOutOfBoundsException.class)
+    public void rejectsRowsOutsideTheSheet() {
+        TestDataCache.forCsv(csv.toString()).sheet("CoffeeData").getRow(2);
+    }
+
+    @Test(description = "Lookups return the same mapped copy while the CSV is unchanged")
+    public void reusesTheCompiledCopy() {
+        Assert.assertSame(TestDataCache.forCsv(csv.toString()), TestDataCache.forCsv(csv.toString()));
+    }
+}